@@ -12,6 +12,8 @@ public final class AppendOptions {
     private final String note;
     private final String token;
     private final List<PublishTarget> publishTargets;
+    private final Long expectedVersion;
+    private final String idempotencyKey;
 
     private AppendOptions(Builder builder) {
         this.payload = builder.payload;
@@ -19,6 +21,8 @@ public final class AppendOptions {
         this.note = builder.note;
         this.token = builder.token;
         this.publishTargets = List.copyOf(builder.publishTargets);
+        this.expectedVersion = builder.expectedVersion;
+        this.idempotencyKey = builder.idempotencyKey;
     }
 
     public Optional<JsonNode> payload() {
@@ -41,6 +45,34 @@ public final class AppendOptions {
         return publishTargets;
     }
 
+    /**
+     * Version the aggregate must be at for the write to be accepted; otherwise it fails with
+     * {@link EventDbxConflictException}.
+     */
+    public Optional<Long> expectedVersion() {
+        return Optional.ofNullable(expectedVersion);
+    }
+
+    /**
+     * Key the server uses to apply this write at most once, however often it is retried. Writes
+     * made through {@link EventDbxClient} get one from {@link IdempotencyKeys#next()} when none is
+     * set.
+     */
+    public Optional<String> idempotencyKey() {
+        return Optional.ofNullable(idempotencyKey);
+    }
+
+    public Builder toBuilder() {
+        return new Builder()
+                .payload(payload)
+                .metadata(metadata)
+                .note(note)
+                .token(token)
+                .publishTargets(publishTargets)
+                .expectedVersion(expectedVersion)
+                .idempotencyKey(idempotencyKey);
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -51,6 +83,8 @@ public final class AppendOptions {
         private String note;
         private String token;
         private final List<PublishTarget> publishTargets = new ArrayList<>();
+        private Long expectedVersion;
+        private String idempotencyKey;
 
         public Builder payload(JsonNode payload) {
             this.payload = payload;
@@ -94,7 +128,20 @@ public final class AppendOptions {
             return this;
         }
 
+        public Builder expectedVersion(Long expectedVersion) {
+            this.expectedVersion = expectedVersion;
+            return this;
+        }
+
+        public Builder idempotencyKey(String idempotencyKey) {
+            this.idempotencyKey = idempotencyKey;
+            return this;
+        }
+
         public AppendOptions build() {
+            if (expectedVersion != null && expectedVersion < 0) {
+                throw new IllegalArgumentException("expectedVersion must be >= 0");
+            }
             return new AppendOptions(this);
         }
     }
@@ -0,0 +1,59 @@
+package com.eventdbx.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Collects operations to send in one round trip; obtained from {@link EventDbxClient#batch()}.
+ * Items run in order but independently: a failed item is reported in its {@link BatchResult}
+ * and does not stop or undo the others.
+ */
+public final class Batch {
+    private final Function<List<BatchOperation>, List<BatchResult>> executor;
+    private final List<BatchOperation> operations = new ArrayList<>();
+
+    Batch(Function<List<BatchOperation>, List<BatchResult>> executor) {
+        this.executor = executor;
+    }
+
+    public Batch append(String aggregateType, String aggregateId, String eventType, AppendOptions options) {
+        return add(BatchOperation.append(aggregateType, aggregateId, eventType, options));
+    }
+
+    public Batch create(String aggregateType, String aggregateId, String eventType, CreateAggregateOptions options) {
+        return add(BatchOperation.create(aggregateType, aggregateId, eventType, options));
+    }
+
+    public Batch patch(String aggregateType, String aggregateId, String eventType, List<JsonPatchOperation> operations, PatchOptions options) {
+        return add(BatchOperation.patch(aggregateType, aggregateId, eventType, operations, options));
+    }
+
+    public Batch archive(String aggregateType, String aggregateId, ArchiveOptions options) {
+        return add(BatchOperation.archive(aggregateType, aggregateId, options));
+    }
+
+    public Batch restore(String aggregateType, String aggregateId, ArchiveOptions options) {
+        return add(BatchOperation.restore(aggregateType, aggregateId, options));
+    }
+
+    public Batch get(String aggregateType, String aggregateId) {
+        return add(BatchOperation.get(aggregateType, aggregateId));
+    }
+
+    public Batch add(BatchOperation operation) {
+        operations.add(operation);
+        return this;
+    }
+
+    public int size() {
+        return operations.size();
+    }
+
+    /**
+     * Send the collected operations and return one result per item, in the order added.
+     */
+    public List<BatchResult> execute() {
+        return executor.apply(List.copyOf(operations));
+    }
+}
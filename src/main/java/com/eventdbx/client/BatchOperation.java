@@ -0,0 +1,126 @@
+package com.eventdbx.client;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One item of a batch; see {@link EventDbxClient#batch()}. Missing options are replaced with
+ * their defaults, and appends and creates without an idempotency key are given one, so every
+ * attempt at sending the item carries the same key.
+ */
+public final class BatchOperation {
+    public enum Kind {
+        APPEND,
+        CREATE,
+        PATCH,
+        ARCHIVE,
+        RESTORE,
+        GET
+    }
+
+    private final Kind kind;
+    private final String aggregateType;
+    private final String aggregateId;
+    private final String eventType;
+    private final Object options;
+    private final List<JsonPatchOperation> operations;
+
+    private BatchOperation(Kind kind, String aggregateType, String aggregateId, String eventType, Object options, List<JsonPatchOperation> operations) {
+        this.kind = kind;
+        this.aggregateType = Objects.requireNonNull(aggregateType, "aggregateType");
+        this.aggregateId = Objects.requireNonNull(aggregateId, "aggregateId");
+        this.eventType = eventType;
+        this.options = options;
+        this.operations = operations;
+    }
+
+    public static BatchOperation append(String aggregateType, String aggregateId, String eventType, AppendOptions options) {
+        return new BatchOperation(Kind.APPEND, aggregateType, aggregateId, Objects.requireNonNull(eventType, "eventType"),
+                keyed(options == null ? AppendOptions.builder().build() : options), null);
+    }
+
+    public static BatchOperation create(String aggregateType, String aggregateId, String eventType, CreateAggregateOptions options) {
+        return new BatchOperation(Kind.CREATE, aggregateType, aggregateId, Objects.requireNonNull(eventType, "eventType"),
+                keyed(options == null ? CreateAggregateOptions.builder().build() : options), null);
+    }
+
+    public static BatchOperation patch(String aggregateType, String aggregateId, String eventType, List<JsonPatchOperation> operations, PatchOptions options) {
+        return new BatchOperation(Kind.PATCH, aggregateType, aggregateId, Objects.requireNonNull(eventType, "eventType"),
+                options == null ? PatchOptions.builder().build() : options, List.copyOf(operations));
+    }
+
+    public static BatchOperation archive(String aggregateType, String aggregateId, ArchiveOptions options) {
+        return new BatchOperation(Kind.ARCHIVE, aggregateType, aggregateId, null,
+                options == null ? ArchiveOptions.builder().build() : options, null);
+    }
+
+    public static BatchOperation restore(String aggregateType, String aggregateId, ArchiveOptions options) {
+        return new BatchOperation(Kind.RESTORE, aggregateType, aggregateId, null,
+                options == null ? ArchiveOptions.builder().build() : options, null);
+    }
+
+    public static BatchOperation get(String aggregateType, String aggregateId) {
+        return new BatchOperation(Kind.GET, aggregateType, aggregateId, null, null, null);
+    }
+
+    public Kind kind() {
+        return kind;
+    }
+
+    public String aggregateType() {
+        return aggregateType;
+    }
+
+    public String aggregateId() {
+        return aggregateId;
+    }
+
+    /**
+     * Event type for appends, creates and patches, otherwise {@code null}.
+     */
+    public String eventType() {
+        return eventType;
+    }
+
+    AppendOptions appendOptions() {
+        return (AppendOptions) options;
+    }
+
+    CreateAggregateOptions createOptions() {
+        return (CreateAggregateOptions) options;
+    }
+
+    PatchOptions patchOptions() {
+        return (PatchOptions) options;
+    }
+
+    ArchiveOptions archiveOptions() {
+        return (ArchiveOptions) options;
+    }
+
+    List<JsonPatchOperation> operations() {
+        return operations;
+    }
+
+    private static AppendOptions keyed(AppendOptions options) {
+        return options.idempotencyKey().isPresent() ? options : options.toBuilder().idempotencyKey(IdempotencyKeys.next()).build();
+    }
+
+    private static CreateAggregateOptions keyed(CreateAggregateOptions options) {
+        return options.idempotencyKey().isPresent() ? options : options.toBuilder().idempotencyKey(IdempotencyKeys.next()).build();
+    }
+
+    /**
+     * Run this item as a single request.
+     */
+    Object execute(ControlClient client) {
+        return switch (kind) {
+            case APPEND -> client.apply(aggregateType, aggregateId, eventType, appendOptions());
+            case CREATE -> client.create(aggregateType, aggregateId, eventType, createOptions());
+            case PATCH -> client.patch(aggregateType, aggregateId, eventType, operations, patchOptions());
+            case ARCHIVE -> client.archive(aggregateType, aggregateId, archiveOptions());
+            case RESTORE -> client.restore(aggregateType, aggregateId, archiveOptions());
+            case GET -> client.get(aggregateType, aggregateId);
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.eventdbx.client;
+
+/**
+ * Outcome of one {@link BatchOperation}: its value, or the error the server reported for it.
+ */
+public final class BatchResult {
+    private final BatchOperation operation;
+    private final Object value;
+    private final EventDbxException error;
+
+    private BatchResult(BatchOperation operation, Object value, EventDbxException error) {
+        this.operation = operation;
+        this.value = value;
+        this.error = error;
+    }
+
+    static BatchResult success(BatchOperation operation, Object value) {
+        return new BatchResult(operation, value, null);
+    }
+
+    static BatchResult failure(BatchOperation operation, EventDbxException error) {
+        return new BatchResult(operation, null, error);
+    }
+
+    public BatchOperation operation() {
+        return operation;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * Error for a failed item, otherwise {@code null}.
+     */
+    public EventDbxException error() {
+        return error;
+    }
+
+    /**
+     * Appended event of an {@link BatchOperation.Kind#APPEND} item.
+     *
+     * @throws EventDbxException the item's error if it failed
+     */
+    public EventRecord event() {
+        if (operation.kind() != BatchOperation.Kind.APPEND) {
+            throw new IllegalStateException(operation.kind() + " items do not produce an event");
+        }
+        return (EventRecord) orThrow();
+    }
+
+    /**
+     * Resulting snapshot of any item other than an append; {@code null} when a get found nothing.
+     *
+     * @throws EventDbxException the item's error if it failed
+     */
+    public AggregateSnapshot aggregate() {
+        if (operation.kind() == BatchOperation.Kind.APPEND) {
+            throw new IllegalStateException("APPEND items produce an event, not a snapshot");
+        }
+        return (AggregateSnapshot) orThrow();
+    }
+
+    private Object orThrow() {
+        if (error != null) {
+            throw error;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,258 @@
+package com.eventdbx.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Write-behind front for appends, creates and patches; obtained from
+ * {@link EventDbxClient#bufferedAppender(BufferedAppenderOptions)}.
+ * <p>
+ * Submitting queues the write and returns a future straight away. Each lane thread collects its
+ * queued writes into a {@link Batch} once {@link BufferedAppenderOptions#maxBatchSize()} are
+ * waiting or the oldest has waited {@link BufferedAppenderOptions#maxDelay()}, so callers only
+ * wait for the round trip when they join the future. Writes are assigned to lanes by aggregate,
+ * which keeps writes to one aggregate in submission order. Futures complete on the lane thread,
+ * so dependent actions attached without an executor should be quick. With a write spool
+ * configured, a write that cannot reach the server completes with {@code null} once spooled.
+ */
+public final class BufferedAppender implements AutoCloseable {
+    private final EventDbxClient client;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Semaphore space;
+    private final Lane[] lanes;
+    private final AtomicInteger submitting = new AtomicInteger();
+    private final Object submitted = new Object();
+    private final AtomicInteger flushing = new AtomicInteger();
+    private volatile boolean closed;
+    private volatile boolean stopping;
+
+    BufferedAppender(EventDbxClient client, int laneCount, BufferedAppenderOptions options) {
+        this.client = Objects.requireNonNull(client, "client");
+        this.maxBatchSize = options.maxBatchSize();
+        this.maxDelayNanos = options.maxDelay().toNanos();
+        this.space = new Semaphore(options.capacity());
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane("eventdbx-appender-" + (i + 1));
+        }
+        for (Lane lane : lanes) {
+            lane.thread.start();
+        }
+    }
+
+    public CompletableFuture<EventRecord> append(String aggregateType, String aggregateId, String eventType, AppendOptions options) {
+        return submit(BatchOperation.append(aggregateType, aggregateId, eventType, options), BatchResult::event);
+    }
+
+    public CompletableFuture<AggregateSnapshot> create(String aggregateType, String aggregateId, String eventType, CreateAggregateOptions options) {
+        return submit(BatchOperation.create(aggregateType, aggregateId, eventType, options), BatchResult::aggregate);
+    }
+
+    public CompletableFuture<AggregateSnapshot> patch(String aggregateType, String aggregateId, String eventType, List<JsonPatchOperation> operations, PatchOptions options) {
+        return submit(BatchOperation.patch(aggregateType, aggregateId, eventType, operations, options), BatchResult::aggregate);
+    }
+
+    /**
+     * Send everything submitted so far without waiting for {@link BufferedAppenderOptions#maxDelay()},
+     * and block until those writes have completed.
+     */
+    public void flush() {
+        flushing.incrementAndGet();
+        try {
+            for (Lane lane : lanes) {
+                long target = lane.submitted.get();
+                LockSupport.unpark(lane.thread);
+                lane.awaitCompleted(target);
+            }
+        } finally {
+            flushing.decrementAndGet();
+        }
+    }
+
+    /**
+     * Stop accepting writes, send and wait for everything already queued, then stop the lanes.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        // Submitters may be blocked on queue space, which the lanes free as they drain.
+        synchronized (submitted) {
+            while (submitting.get() > 0) {
+                try {
+                    submitted.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        try {
+            flush();
+        } finally {
+            stopping = true;
+            for (Lane lane : lanes) {
+                LockSupport.unpark(lane.thread);
+            }
+            for (Lane lane : lanes) {
+                try {
+                    lane.thread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(BatchOperation operation, Function<BatchResult, T> value) {
+        submitting.incrementAndGet();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Appender already closed");
+            }
+            try {
+                space.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new EventDbxException("Interrupted while waiting for appender queue space", e);
+            }
+            Pending<T> pending = new Pending<>(operation, value, System.nanoTime());
+            lanes[OrderedExecutor.stripe(operation.aggregateType(), operation.aggregateId(), lanes.length)].enqueue(pending);
+            return pending.future;
+        } finally {
+            if (submitting.decrementAndGet() == 0 && closed) {
+                synchronized (submitted) {
+                    submitted.notifyAll();
+                }
+            }
+        }
+    }
+
+    private static final class Pending<T> {
+        final BatchOperation operation;
+        final Function<BatchResult, T> value;
+        final long enqueuedAt;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+
+        Pending(BatchOperation operation, Function<BatchResult, T> value, long enqueuedAt) {
+            this.operation = operation;
+            this.value = value;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        void complete(BatchResult result) {
+            try {
+                future.complete(value.apply(result));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private final class Lane implements Runnable {
+        final ConcurrentLinkedQueue<Pending<?>> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger queued = new AtomicInteger();
+        final AtomicLong submitted = new AtomicLong();
+        final Thread thread;
+        private long completed;
+
+        Lane(String name) {
+            thread = new Thread(this, name);
+            thread.setDaemon(true);
+        }
+
+        void enqueue(Pending<?> pending) {
+            submitted.incrementAndGet();
+            queue.add(pending);
+            int size = queued.incrementAndGet();
+            if (size == 1 || size >= maxBatchSize) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public void run() {
+            List<Pending<?>> batch = new ArrayList<>(maxBatchSize);
+            while (true) {
+                Pending<?> first = take();
+                if (first == null) {
+                    if (stopping) {
+                        return;
+                    }
+                    LockSupport.park(this);
+                    continue;
+                }
+                batch.add(first);
+                long deadline = first.enqueuedAt + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    Pending<?> next = take();
+                    if (next != null) {
+                        batch.add(next);
+                        continue;
+                    }
+                    long wait = deadline - System.nanoTime();
+                    if (wait <= 0 || flushing.get() > 0 || stopping) {
+                        break;
+                    }
+                    LockSupport.parkNanos(this, wait);
+                }
+                send(batch);
+                batch.clear();
+            }
+        }
+
+        private Pending<?> take() {
+            Pending<?> pending = queue.poll();
+            if (pending != null) {
+                queued.decrementAndGet();
+            }
+            return pending;
+        }
+
+        private void send(List<Pending<?>> batch) {
+            try {
+                Batch request = client.batch();
+                for (Pending<?> pending : batch) {
+                    request.add(pending.operation);
+                }
+                List<BatchResult> results = request.execute();
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).complete(results.get(i));
+                }
+            } catch (RuntimeException e) {
+                for (Pending<?> pending : batch) {
+                    pending.future.completeExceptionally(e);
+                }
+            } finally {
+                space.release(batch.size());
+                synchronized (this) {
+                    completed += batch.size();
+                    notifyAll();
+                }
+            }
+        }
+
+        synchronized void awaitCompleted(long target) {
+            while (completed < target) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new EventDbxException("Interrupted while flushing appender", e);
+                }
+            }
+        }
+    }
+}
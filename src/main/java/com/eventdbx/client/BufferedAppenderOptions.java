@@ -0,0 +1,104 @@
+package com.eventdbx.client;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Controls how a {@link BufferedAppender} queues writes and groups them into batches.
+ */
+public final class BufferedAppenderOptions {
+    private final int capacity;
+    private final int maxBatchSize;
+    private final Duration maxDelay;
+    private final Integer lanes;
+
+    private BufferedAppenderOptions(Builder builder) {
+        this.capacity = builder.capacity;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.maxDelay = builder.maxDelay;
+        this.lanes = builder.lanes;
+    }
+
+    public static BufferedAppenderOptions defaults() {
+        return builder().build();
+    }
+
+    /**
+     * Writes that may be queued or in flight at once; submitting blocks while the queue is full.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Largest number of writes sent in one batch. A lane sends as soon as this many are queued.
+     */
+    public int maxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Longest a queued write waits for its batch to fill before the batch is sent anyway.
+     */
+    public Duration maxDelay() {
+        return maxDelay;
+    }
+
+    /**
+     * Number of lanes sending batches concurrently. Writes are assigned to lanes by aggregate, so
+     * writes to one aggregate keep their order. Defaults to
+     * {@link EventDbxConfig#connectionPoolSize()}.
+     */
+    public Optional<Integer> lanes() {
+        return Optional.ofNullable(lanes);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private int capacity = 10_000;
+        private int maxBatchSize = 100;
+        private Duration maxDelay = Duration.ofMillis(5);
+        private Integer lanes;
+
+        public Builder capacity(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("capacity must be > 0");
+            }
+            this.capacity = capacity;
+            return this;
+        }
+
+        public Builder maxBatchSize(int maxBatchSize) {
+            if (maxBatchSize <= 0) {
+                throw new IllegalArgumentException("maxBatchSize must be > 0");
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        public Builder maxDelay(Duration maxDelay) {
+            Objects.requireNonNull(maxDelay, "maxDelay");
+            if (maxDelay.isNegative()) {
+                throw new IllegalArgumentException("maxDelay must not be negative");
+            }
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        public Builder lanes(int lanes) {
+            if (lanes <= 0) {
+                throw new IllegalArgumentException("lanes must be > 0");
+            }
+            this.lanes = lanes;
+            return this;
+        }
+
+        public BufferedAppenderOptions build() {
+            return new BufferedAppenderOptions(this);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.eventdbx.client;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Controls how {@link EventDbxClient#archiveWhere(String, String, BulkArchiveOptions)} and
+ * {@link EventDbxClient#restoreWhere(String, String, BulkArchiveOptions)} work through the
+ * matching aggregates.
+ */
+public final class BulkArchiveOptions {
+    private final ArchiveOptions archiveOptions;
+    private final Integer parallelism;
+    private final Double maxPerSecond;
+    private final int pageSize;
+    private final Consumer<BulkArchiveResult> progress;
+
+    private BulkArchiveOptions(Builder builder) {
+        this.archiveOptions = builder.archiveOptions;
+        this.parallelism = builder.parallelism;
+        this.maxPerSecond = builder.maxPerSecond;
+        this.pageSize = builder.pageSize;
+        this.progress = builder.progress;
+    }
+
+    public static BulkArchiveOptions defaults() {
+        return builder().build();
+    }
+
+    /**
+     * Note and token sent with every archive or restore request.
+     */
+    public ArchiveOptions archiveOptions() {
+        return archiveOptions;
+    }
+
+    /**
+     * Requests in flight at once. Defaults to {@link EventDbxConfig#connectionPoolSize()}, which
+     * is also the most that helps.
+     */
+    public Optional<Integer> parallelism() {
+        return Optional.ofNullable(parallelism);
+    }
+
+    /**
+     * Upper bound on requests started per second; unlimited when empty.
+     */
+    public Optional<Double> maxPerSecond() {
+        return Optional.ofNullable(maxPerSecond);
+    }
+
+    /**
+     * Aggregates listed per page.
+     */
+    public int pageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Called on the calling thread with running totals after each page, or {@code null}.
+     */
+    public Consumer<BulkArchiveResult> progress() {
+        return progress;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private ArchiveOptions archiveOptions = ArchiveOptions.builder().build();
+        private Integer parallelism;
+        private Double maxPerSecond;
+        private int pageSize = 500;
+        private Consumer<BulkArchiveResult> progress;
+
+        public Builder archiveOptions(ArchiveOptions archiveOptions) {
+            this.archiveOptions = Objects.requireNonNull(archiveOptions, "archiveOptions");
+            return this;
+        }
+
+        public Builder parallelism(int parallelism) {
+            if (parallelism <= 0) {
+                throw new IllegalArgumentException("parallelism must be > 0");
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        public Builder maxPerSecond(double maxPerSecond) {
+            if (!(maxPerSecond > 0)) {
+                throw new IllegalArgumentException("maxPerSecond must be > 0");
+            }
+            this.maxPerSecond = maxPerSecond;
+            return this;
+        }
+
+        public Builder pageSize(int pageSize) {
+            if (pageSize <= 0) {
+                throw new IllegalArgumentException("pageSize must be > 0");
+            }
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        public Builder progress(Consumer<BulkArchiveResult> progress) {
+            this.progress = progress;
+            return this;
+        }
+
+        public BulkArchiveOptions build() {
+            return new BulkArchiveOptions(this);
+        }
+    }
+}
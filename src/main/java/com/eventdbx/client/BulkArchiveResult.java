@@ -0,0 +1,50 @@
+package com.eventdbx.client;
+
+import java.util.List;
+
+/**
+ * Totals for {@link EventDbxClient#archiveWhere(String, String, BulkArchiveOptions)} and
+ * {@link EventDbxClient#restoreWhere(String, String, BulkArchiveOptions)}, either final or, when
+ * passed to {@link BulkArchiveOptions#progress()}, so far.
+ */
+public final class BulkArchiveResult {
+    private final long matched;
+    private final long changed;
+    private final long skipped;
+    private final List<BatchResult> failures;
+
+    BulkArchiveResult(long matched, long changed, long skipped, List<BatchResult> failures) {
+        this.matched = matched;
+        this.changed = changed;
+        this.skipped = skipped;
+        this.failures = List.copyOf(failures);
+    }
+
+    /**
+     * Aggregates the filter matched.
+     */
+    public long matched() {
+        return matched;
+    }
+
+    /**
+     * Aggregates archived (or restored).
+     */
+    public long changed() {
+        return changed;
+    }
+
+    /**
+     * Matching aggregates that were already archived (or not archived) and were left alone.
+     */
+    public long skipped() {
+        return skipped;
+    }
+
+    /**
+     * Aggregates the server refused to change, with the error for each.
+     */
+    public List<BatchResult> failures() {
+        return failures;
+    }
+}
@@ -0,0 +1,115 @@
+package com.eventdbx.client;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Archives or restores every aggregate of a type matching a list filter.
+ * <p>
+ * Aggregates are listed with archived ones included, so changing them does not move later items
+ * between pages; those already in the target state are skipped. Requests for a page run on the
+ * given executor with at most {@code parallelism} in flight and, when limited, are started no
+ * faster than {@link BulkArchiveOptions#maxPerSecond()}. A page is finished before the next is
+ * listed. A connection failure stops the run after the current page.
+ */
+final class BulkArchiver {
+    private final EventDbxClient client;
+    private final Executor executor;
+    private final int parallelism;
+    private final BulkArchiveOptions options;
+    private final RateLimiter rateLimiter;
+    private final AtomicLong changed = new AtomicLong();
+    private final ConcurrentLinkedQueue<BatchResult> failures = new ConcurrentLinkedQueue<>();
+    private long matched;
+    private long skipped;
+
+    BulkArchiver(EventDbxClient client, Executor executor, int parallelism, BulkArchiveOptions options) {
+        this.client = client;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.options = options;
+        this.rateLimiter = options.maxPerSecond().map(RateLimiter::new).orElse(null);
+    }
+
+    BulkArchiveResult run(String aggregateType, String filter, boolean archive) {
+        PageOptions list = PageOptions.builder().filter(filter).includeArchived(true).take(options.pageSize()).build();
+        Semaphore inFlight = new Semaphore(parallelism);
+        String cursor = null;
+        while (true) {
+            Page<AggregateSnapshot> page = client.list(aggregateType, list.toBuilder().cursor(cursor).build());
+            for (AggregateSnapshot aggregate : page.items()) {
+                matched++;
+                if (aggregate.archived() == archive) {
+                    skipped++;
+                    continue;
+                }
+                inFlight.acquireUninterruptibly();
+                if (rateLimiter != null) {
+                    try {
+                        rateLimiter.acquire();
+                    } catch (EventDbxException e) {
+                        inFlight.release();
+                        throw e;
+                    }
+                }
+                try {
+                    executor.execute(() -> {
+                        try {
+                            change(aggregate, archive);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    inFlight.release();
+                    throw e;
+                }
+            }
+            inFlight.acquireUninterruptibly(parallelism);
+            inFlight.release(parallelism);
+            BulkArchiveResult progress = result();
+            if (options.progress() != null) {
+                options.progress().accept(progress);
+            }
+            for (BatchResult failure : progress.failures()) {
+                if (failure.error() instanceof EventDbxConnectionException) {
+                    throw failure.error();
+                }
+            }
+            cursor = page.nextCursor();
+            if (cursor == null || page.items().isEmpty()) {
+                return progress;
+            }
+        }
+    }
+
+    private void change(AggregateSnapshot aggregate, boolean archive) {
+        String type = aggregate.aggregateType();
+        String id = aggregate.aggregateId();
+        try {
+            if (archive) {
+                client.archive(type, id, options.archiveOptions());
+            } else {
+                client.restore(type, id, options.archiveOptions());
+            }
+            changed.incrementAndGet();
+        } catch (RuntimeException e) {
+            // Anything escaping here would be lost in the executor, leaving the aggregate uncounted.
+            EventDbxException error = e instanceof EventDbxException failure
+                    ? failure
+                    : new EventDbxException("Failed to " + (archive ? "archive " : "restore ") + type + "/" + id, e);
+            BatchOperation operation = archive
+                    ? BatchOperation.archive(type, id, options.archiveOptions())
+                    : BatchOperation.restore(type, id, options.archiveOptions());
+            failures.add(BatchResult.failure(operation, error));
+        }
+    }
+
+    private BulkArchiveResult result() {
+        return new BulkArchiveResult(matched, changed.get(), skipped, List.copyOf(failures));
+    }
+}
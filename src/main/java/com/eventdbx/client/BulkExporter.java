@@ -0,0 +1,224 @@
+package com.eventdbx.client;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Writes every event of the aggregates of one type to an NDJSON file, one event per line in the
+ * shape the server sends, ordered by aggregate in list order and then by version.
+ * <p>
+ * Aggregates are listed a page at a time; the events of up to {@link ExportOptions#window()}
+ * aggregates are fetched concurrently on the given executor while the writer drains them in
+ * order. Each page is written as its own gzip member and followed by a checkpoint of the output
+ * length and the next list cursor, so a resumed export truncates whatever a crashed run wrote
+ * after the last checkpoint and carries on from there. Concatenated members read back as one
+ * gzip stream. A checkpoint is only resumed into the output it was written for, and only while
+ * that output still holds everything the checkpoint covers.
+ */
+final class BulkExporter {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final EventDbxClient client;
+    private final Executor executor;
+    private final ExportOptions options;
+    private final RecordEncoder encoder = new RecordEncoder(MAPPER);
+
+    BulkExporter(EventDbxClient client, Executor executor, ExportOptions options) {
+        this.client = client;
+        this.executor = executor;
+        this.options = options;
+    }
+
+    ExportResult run(String aggregateType, Path output) throws IOException {
+        String outputPath = output.toAbsolutePath().normalize().toString();
+        Checkpoint checkpoint = readCheckpoint(aggregateType, outputPath, output);
+        boolean resumed = checkpoint != null;
+        if (checkpoint == null) {
+            checkpoint = new Checkpoint(aggregateType, outputPath, null, 0, 0, 0, false);
+        }
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.truncate(checkpoint.bytes);
+            channel.position(checkpoint.bytes);
+            OutputStream file = Channels.newOutputStream(channel);
+            String cursor = checkpoint.cursor;
+            long aggregates = checkpoint.aggregates;
+            long events = checkpoint.events;
+            while (true) {
+                Page<AggregateSnapshot> page = client.list(aggregateType,
+                        options.listOptions().toBuilder().cursor(cursor).take(options.pageSize()).build());
+                events += writePage(page, file);
+                aggregates += page.items().size();
+                channel.force(false);
+                cursor = page.nextCursor();
+                boolean complete = cursor == null || page.items().isEmpty();
+                writeCheckpoint(new Checkpoint(aggregateType, outputPath, cursor, channel.position(), aggregates, events, complete));
+                if (complete) {
+                    return new ExportResult(aggregates, events, resumed);
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the events of {@code page}'s aggregates as one unit and return how many there were.
+     */
+    private long writePage(Page<AggregateSnapshot> page, OutputStream file) throws IOException {
+        // Closing the member finishes it (and frees the deflater) without closing the file.
+        OutputStream member = new FilterOutputStream(file) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+        ArrayDeque<CompletableFuture<Encoded>> window = new ArrayDeque<>(options.window());
+        long events = 0;
+        try (OutputStream out = options.gzip() ? new GZIPOutputStream(member, 1 << 16) : new BufferedOutputStream(member, 1 << 16)) {
+            for (AggregateSnapshot aggregate : page.items()) {
+                if (window.size() >= options.window()) {
+                    events += write(window.poll(), out);
+                }
+                window.add(CompletableFuture.supplyAsync(() -> encode(aggregate), executor));
+            }
+            while (!window.isEmpty()) {
+                events += write(window.poll(), out);
+            }
+        } finally {
+            // After a failure, fetches still in flight finish without anyone waiting on them.
+            window.forEach(pending -> pending.cancel(false));
+        }
+        return events;
+    }
+
+    private static long write(CompletableFuture<Encoded> pending, OutputStream out) throws IOException {
+        Encoded encoded;
+        try {
+            encoded = pending.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        encoded.lines.writeTo(out);
+        return encoded.count;
+    }
+
+    private Encoded encode(AggregateSnapshot aggregate) {
+        Encoded encoded = new Encoded();
+        String cursor = null;
+        try (JsonGenerator generator = MAPPER.createGenerator(encoded.lines)) {
+            generator.setRootValueSeparator(null);
+            do {
+                Page<EventRecord> page = client.events(aggregate.aggregateType(), aggregate.aggregateId(),
+                        PageOptions.builder().cursor(cursor).build());
+                for (EventRecord event : page.items()) {
+                    encoder.writeEvent(generator, event);
+                    generator.writeRaw('\n');
+                    encoded.count++;
+                }
+                cursor = page.items().isEmpty() ? null : page.nextCursor();
+            } while (cursor != null);
+        } catch (IOException e) {
+            throw new EventDbxException("Failed to encode events of " + aggregate.aggregateId(), e);
+        }
+        return encoded;
+    }
+
+    /**
+     * The checkpoint to resume from, or {@code null} to start over: there is none, or it records
+     * a finished export.
+     */
+    private Checkpoint readCheckpoint(String aggregateType, String outputPath, Path output) throws IOException {
+        Path checkpointFile = options.checkpointFile().orElse(null);
+        if (checkpointFile == null || !Files.exists(checkpointFile)) {
+            return null;
+        }
+        JsonNode node = MAPPER.readTree(checkpointFile.toFile());
+        String type = node.path("aggregateType").asText();
+        if (!type.equals(aggregateType)) {
+            throw new EventDbxException("Checkpoint " + checkpointFile + " belongs to an export of " + type + ", not " + aggregateType);
+        }
+        if (node.path("complete").asBoolean()) {
+            return null;
+        }
+        String recorded = node.path("output").asText();
+        if (!recorded.equals(outputPath)) {
+            throw new EventDbxException("Checkpoint " + checkpointFile + " belongs to an export to " + recorded + ", not " + outputPath);
+        }
+        long bytes = node.path("bytes").asLong();
+        long length = Files.exists(output) ? Files.size(output) : -1;
+        if (length < bytes) {
+            throw new EventDbxException("Checkpoint " + checkpointFile + " covers " + bytes + " bytes of " + outputPath
+                    + ", but the file " + (length < 0 ? "is missing" : "has " + length));
+        }
+        return new Checkpoint(type, outputPath, node.hasNonNull("cursor") ? node.get("cursor").asText() : null,
+                bytes, node.path("aggregates").asLong(), node.path("events").asLong(), false);
+    }
+
+    private void writeCheckpoint(Checkpoint checkpoint) throws IOException {
+        Path checkpointFile = options.checkpointFile().orElse(null);
+        if (checkpointFile == null) {
+            return;
+        }
+        ObjectNode node = MAPPER.createObjectNode();
+        node.put("aggregateType", checkpoint.aggregateType);
+        node.put("output", checkpoint.output);
+        node.put("cursor", checkpoint.cursor);
+        node.put("bytes", checkpoint.bytes);
+        node.put("aggregates", checkpoint.aggregates);
+        node.put("events", checkpoint.events);
+        node.put("complete", checkpoint.complete);
+        Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        Files.write(temp, MAPPER.writeValueAsBytes(node));
+        Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static final class Encoded {
+        final ByteArrayOutputStream lines = new ByteArrayOutputStream(1 << 12);
+        long count;
+    }
+
+    private static final class Checkpoint {
+        final String aggregateType;
+        final String output;
+        final String cursor;
+        final long bytes;
+        final long aggregates;
+        final long events;
+        final boolean complete;
+
+        Checkpoint(String aggregateType, String output, String cursor, long bytes, long aggregates, long events, boolean complete) {
+            this.aggregateType = aggregateType;
+            this.output = output;
+            this.cursor = cursor;
+            this.bytes = bytes;
+            this.aggregates = aggregates;
+            this.events = events;
+            this.complete = complete;
+        }
+    }
+}
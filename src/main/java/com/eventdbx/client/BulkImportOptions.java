@@ -0,0 +1,118 @@
+package com.eventdbx.client;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Controls how {@link EventDbxClient#importEvents(Path, BulkImportOptions)} sends a file and
+ * records its progress.
+ */
+public final class BulkImportOptions {
+    private final Integer lanes;
+    private final int batchSize;
+    private final Path checkpointFile;
+    private final long checkpointInterval;
+    private final Path rejectedFile;
+
+    private BulkImportOptions(Builder builder) {
+        this.lanes = builder.lanes;
+        this.batchSize = builder.batchSize;
+        this.checkpointFile = builder.checkpointFile;
+        this.checkpointInterval = builder.checkpointInterval;
+        this.rejectedFile = builder.rejectedFile;
+    }
+
+    public static BulkImportOptions defaults() {
+        return builder().build();
+    }
+
+    /**
+     * Number of lanes sending batches concurrently; records are assigned to lanes by aggregate.
+     * Defaults to {@link EventDbxConfig#connectionPoolSize()}.
+     */
+    public Optional<Integer> lanes() {
+        return Optional.ofNullable(lanes);
+    }
+
+    /**
+     * Largest number of records sent in one batch.
+     */
+    public int batchSize() {
+        return batchSize;
+    }
+
+    /**
+     * File recording how far the import got. When it exists at the start, the import resumes
+     * from it; when absent, nothing is recorded and every run starts at the top of the file.
+     * Resuming fails if the checkpoint was written for another file, or for this one before it
+     * changed size or modification time.
+     */
+    public Optional<Path> checkpointFile() {
+        return Optional.ofNullable(checkpointFile);
+    }
+
+    /**
+     * Records between checkpoints. Each checkpoint waits for the records before it to complete.
+     */
+    public long checkpointInterval() {
+        return checkpointInterval;
+    }
+
+    /**
+     * NDJSON file that records the server rejects, or that cannot be parsed, are written to.
+     * Without one, the first such record stops the import.
+     */
+    public Optional<Path> rejectedFile() {
+        return Optional.ofNullable(rejectedFile);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private Integer lanes;
+        private int batchSize = 100;
+        private Path checkpointFile;
+        private long checkpointInterval = 10_000;
+        private Path rejectedFile;
+
+        public Builder lanes(int lanes) {
+            if (lanes <= 0) {
+                throw new IllegalArgumentException("lanes must be > 0");
+            }
+            this.lanes = lanes;
+            return this;
+        }
+
+        public Builder batchSize(int batchSize) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("batchSize must be > 0");
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public Builder checkpointFile(Path checkpointFile) {
+            this.checkpointFile = checkpointFile;
+            return this;
+        }
+
+        public Builder checkpointInterval(long checkpointInterval) {
+            if (checkpointInterval <= 0) {
+                throw new IllegalArgumentException("checkpointInterval must be > 0");
+            }
+            this.checkpointInterval = checkpointInterval;
+            return this;
+        }
+
+        public Builder rejectedFile(Path rejectedFile) {
+            this.rejectedFile = rejectedFile;
+            return this;
+        }
+
+        public BulkImportOptions build() {
+            return new BulkImportOptions(this);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.eventdbx.client;
+
+/**
+ * Outcome of {@link EventDbxClient#importEvents(java.nio.file.Path, BulkImportOptions)}.
+ */
+public final class BulkImportResult {
+    private final long resumedAtLine;
+    private final long lines;
+    private final long imported;
+    private final long rejected;
+
+    BulkImportResult(long resumedAtLine, long lines, long imported, long rejected) {
+        this.resumedAtLine = resumedAtLine;
+        this.lines = lines;
+        this.imported = imported;
+        this.rejected = rejected;
+    }
+
+    /**
+     * Lines skipped because an earlier run had checkpointed past them.
+     */
+    public long resumedAtLine() {
+        return resumedAtLine;
+    }
+
+    /**
+     * Lines in the file, including resumed and blank ones.
+     */
+    public long lines() {
+        return lines;
+    }
+
+    /**
+     * Records written (or spooled) by this run.
+     */
+    public long imported() {
+        return imported;
+    }
+
+    /**
+     * Records this run wrote to {@link BulkImportOptions#rejectedFile()}.
+     */
+    public long rejected() {
+        return rejected;
+    }
+}
@@ -0,0 +1,342 @@
+package com.eventdbx.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Streams an NDJSON file of events into the server through a {@link BufferedAppender}.
+ * <p>
+ * Each line is one object with {@code aggregateType}, {@code aggregateId} and {@code eventType},
+ * optionally {@code payload}, {@code metadata}, {@code note} and {@code idempotencyKey}, and
+ * {@code "op": "create"} for a line that creates its aggregate (the default is {@code "append"}).
+ * Files starting with the gzip magic number are decompressed on the fly.
+ * <p>
+ * A checkpoint records the line and byte offset reached once every record before it has
+ * completed, so a crashed import resumes there. The checkpoint also holds the file's name, size
+ * and modification time, and an import refuses to resume from one written for a different file.
+ * Records after the checkpoint are sent again on resume; lines without an idempotency key get one
+ * derived from a random id stored with the checkpoint and the line number, so the server drops
+ * the repeats but a later import of a file with the same name is not mistaken for them.
+ */
+final class BulkImporter {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int READ_BUFFER = 1 << 20;
+
+    private final EventDbxClient client;
+    private final int lanes;
+    private final BulkImportOptions options;
+    private final ConcurrentLinkedQueue<Failure> failures = new ConcurrentLinkedQueue<>();
+    private final AtomicLong imported = new AtomicLong();
+    private long rejected;
+
+    BulkImporter(EventDbxClient client, int lanes, BulkImportOptions options) {
+        this.client = client;
+        this.lanes = lanes;
+        this.options = options;
+    }
+
+    BulkImportResult run(Path file) throws IOException {
+        Checkpoint start = readCheckpoint(Identity.of(file));
+        BufferedAppenderOptions appenderOptions = BufferedAppenderOptions.builder()
+                .lanes(lanes)
+                .maxBatchSize(options.batchSize())
+                .capacity(lanes * options.batchSize() * 4)
+                .build();
+        try (LineReader reader = LineReader.open(file, start.offset);
+             BufferedAppender appender = client.bufferedAppender(appenderOptions)) {
+            long line = start.line;
+            long sinceCheckpoint = 0;
+            boolean stopOnFailure = options.rejectedFile().isEmpty();
+            byte[] record;
+            while ((record = reader.next()) != null) {
+                line++;
+                submit(appender, start.importId, line, record);
+                if (++sinceCheckpoint >= options.checkpointInterval() || (stopOnFailure && !failures.isEmpty())) {
+                    checkpoint(appender, start, line, reader.offset());
+                    sinceCheckpoint = 0;
+                }
+            }
+            checkpoint(appender, start, line, reader.offset());
+            return new BulkImportResult(start.line, line, imported.get(), rejected);
+        }
+    }
+
+    private void submit(BufferedAppender appender, String importId, long line, byte[] record) {
+        if (blank(record)) {
+            return;
+        }
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(record);
+            if (!node.isObject()) {
+                throw new IOException("expected a JSON object");
+            }
+        } catch (IOException e) {
+            failures.add(new Failure(line, record, new EventDbxException("Malformed record: " + e.getMessage(), e)));
+            return;
+        }
+        String aggregateType = node.path("aggregateType").asText("");
+        String aggregateId = node.path("aggregateId").asText("");
+        String eventType = node.path("eventType").asText("");
+        if (aggregateType.isEmpty() || aggregateId.isEmpty() || eventType.isEmpty()) {
+            failures.add(new Failure(line, record, new EventDbxException("Record needs aggregateType, aggregateId and eventType")));
+            return;
+        }
+        JsonNode metadata = node.get("metadata");
+        String note = node.hasNonNull("note") ? node.get("note").asText() : null;
+        String key = node.hasNonNull("idempotencyKey")
+                ? node.get("idempotencyKey").asText()
+                : UUID.nameUUIDFromBytes((importId + ":" + line).getBytes(StandardCharsets.UTF_8)).toString();
+        CompletableFuture<?> future = "create".equals(node.path("op").asText())
+                ? appender.create(aggregateType, aggregateId, eventType, CreateAggregateOptions.builder()
+                        .payload(node.get("payload")).metadata(metadata).note(note).idempotencyKey(key).build())
+                : appender.append(aggregateType, aggregateId, eventType, AppendOptions.builder()
+                        .payload(node.get("payload")).metadata(metadata).note(note).idempotencyKey(key).build());
+        future.whenComplete((value, error) -> {
+            if (error == null) {
+                imported.incrementAndGet();
+            } else {
+                failures.add(new Failure(line, record, error instanceof CompletionException ? error.getCause() : error));
+            }
+        });
+    }
+
+    /**
+     * Wait for everything submitted so far, deal with failed records, then record {@code line}
+     * and {@code offset} as the place to resume from.
+     */
+    private void checkpoint(BufferedAppender appender, Checkpoint start, long line, long offset) throws IOException {
+        appender.flush();
+        Failure failure;
+        while ((failure = failures.poll()) != null) {
+            reject(failure);
+        }
+        Path checkpointFile = options.checkpointFile().orElse(null);
+        if (checkpointFile == null) {
+            return;
+        }
+        ObjectNode node = MAPPER.createObjectNode();
+        node.put("importId", start.importId);
+        node.put("file", start.identity.name);
+        node.put("size", start.identity.size);
+        node.put("modified", start.identity.modified);
+        node.put("line", line);
+        node.put("offset", offset);
+        Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        Files.write(temp, MAPPER.writeValueAsBytes(node));
+        Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void reject(Failure failure) throws IOException {
+        Path rejectedFile = options.rejectedFile().orElse(null);
+        // A connection failure says nothing about the record, so it stops the import rather than
+        // being filed as rejected.
+        if (rejectedFile == null || !(failure.error instanceof EventDbxException) || failure.error instanceof EventDbxConnectionException) {
+            throw new EventDbxException("Import stopped at line " + failure.line + ": " + failure.error.getMessage(), failure.error);
+        }
+        ObjectNode line = MAPPER.createObjectNode();
+        line.put("line", failure.line);
+        line.put("error", failure.error.getMessage());
+        line.put("record", new String(failure.record, StandardCharsets.UTF_8));
+        Files.writeString(rejectedFile, MAPPER.writeValueAsString(line) + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        rejected++;
+    }
+
+    private Checkpoint readCheckpoint(Identity identity) throws IOException {
+        Path checkpointFile = options.checkpointFile().orElse(null);
+        if (checkpointFile == null || !Files.exists(checkpointFile)) {
+            return new Checkpoint(UUID.randomUUID().toString(), identity, 0, 0);
+        }
+        JsonNode node = MAPPER.readTree(checkpointFile.toFile());
+        Identity recorded = new Identity(node.path("file").asText(), node.path("size").asLong(-1), node.path("modified").asLong(-1));
+        String importId = node.path("importId").asText("");
+        if (importId.isEmpty() || !recorded.equals(identity)) {
+            throw new EventDbxException("Checkpoint " + checkpointFile + " belongs to " + recorded + ", not " + identity);
+        }
+        return new Checkpoint(importId, identity, node.path("line").asLong(), node.path("offset").asLong());
+    }
+
+    private static boolean blank(byte[] record) {
+        for (byte b : record) {
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Checkpoint {
+        final String importId;
+        final Identity identity;
+        final long line;
+        final long offset;
+
+        Checkpoint(String importId, Identity identity, long line, long offset) {
+            this.importId = importId;
+            this.identity = identity;
+            this.line = line;
+            this.offset = offset;
+        }
+    }
+
+    /**
+     * What a checkpoint knows its file by: the name, size and modification time in milliseconds.
+     */
+    private static final class Identity {
+        final String name;
+        final long size;
+        final long modified;
+
+        Identity(String name, long size, long modified) {
+            this.name = name;
+            this.size = size;
+            this.modified = modified;
+        }
+
+        static Identity of(Path file) throws IOException {
+            return new Identity(file.getFileName().toString(), Files.size(file), Files.getLastModifiedTime(file).toMillis());
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Identity that && name.equals(that.name) && size == that.size && modified == that.modified;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, size, modified);
+        }
+
+        @Override
+        public String toString() {
+            return name + " (" + size + " bytes, modified " + modified + ")";
+        }
+    }
+
+    private static final class Failure {
+        final long line;
+        final byte[] record;
+        final Throwable error;
+
+        Failure(long line, byte[] record, Throwable error) {
+            this.line = line;
+            this.record = record;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Splits a possibly gzipped file into lines, tracking the offset into the uncompressed bytes.
+     */
+    static final class LineReader implements AutoCloseable {
+        private final InputStream in;
+        private final byte[] buffer = new byte[READ_BUFFER];
+        private int position;
+        private int limit;
+        private long offset;
+
+        private LineReader(InputStream in, long offset) {
+            this.in = in;
+            this.offset = offset;
+        }
+
+        /**
+         * Open {@code file} positioned at {@code offset} uncompressed bytes.
+         */
+        static LineReader open(Path file, long offset) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            try {
+                ByteBuffer magic = ByteBuffer.allocate(2);
+                while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                    // Read until two bytes or end of file.
+                }
+                boolean gzip = magic.position() == 2 && (magic.get(0) & 0xff) == 0x1f && (magic.get(1) & 0xff) == 0x8b;
+                if (gzip) {
+                    channel.position(0);
+                    InputStream in = new GZIPInputStream(Channels.newInputStream(channel), 1 << 16);
+                    in.skipNBytes(offset);
+                    return new LineReader(in, offset);
+                }
+                channel.position(offset);
+                return new LineReader(Channels.newInputStream(channel), offset);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Next line without its terminator, or {@code null} at the end of the file.
+         */
+        byte[] next() throws IOException {
+            byte[] line = null;
+            int lineLength = 0;
+            while (true) {
+                if (position == limit) {
+                    int read = in.read(buffer, 0, buffer.length);
+                    if (read < 0) {
+                        return line == null ? null : Arrays.copyOf(line, lineLength);
+                    }
+                    position = 0;
+                    limit = read;
+                }
+                int end = position;
+                while (end < limit && buffer[end] != '\n') {
+                    end++;
+                }
+                int length = end - position;
+                if (line == null && end < limit) {
+                    // The whole line is in the buffer; copy it out once.
+                    byte[] whole = Arrays.copyOfRange(buffer, position, end);
+                    position = end + 1;
+                    offset += length + 1;
+                    return whole;
+                }
+                if (line == null) {
+                    line = new byte[Math.max(length, 64)];
+                } else if (lineLength + length > line.length) {
+                    line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+                }
+                System.arraycopy(buffer, position, line, lineLength, length);
+                lineLength += length;
+                offset += length;
+                position = end;
+                if (end < limit) {
+                    position++;
+                    offset++;
+                    return Arrays.copyOf(line, lineLength);
+                }
+            }
+        }
+
+        long offset() {
+            return offset;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.eventdbx.client;
+
+/**
+ * Point-in-time counters for a client-side cache.
+ */
+public final class CacheStats {
+    private final long hitCount;
+    private final long missCount;
+    private final long revalidationCount;
+    private final long evictionCount;
+    private final long entryCount;
+    private final long weightBytes;
+
+    CacheStats(long hitCount, long missCount, long revalidationCount, long evictionCount, long entryCount, long weightBytes) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.revalidationCount = revalidationCount;
+        this.evictionCount = evictionCount;
+        this.entryCount = entryCount;
+        this.weightBytes = weightBytes;
+    }
+
+    /**
+     * Reads served from the cache, including those confirmed by a not-modified revalidation.
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Reads that transferred a full document from the server.
+     */
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * Hits that needed a conditional round trip because the entry had aged past the revalidation
+     * interval.
+     */
+    public long revalidationCount() {
+        return revalidationCount;
+    }
+
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    public long entryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Estimated heap footprint of the cached entries.
+     */
+    public long weightBytes() {
+        return weightBytes;
+    }
+
+    public double hitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{hits=" + hitCount + ", misses=" + missCount + ", revalidations=" + revalidationCount
+                + ", evictions=" + evictionCount + ", entries=" + entryCount + ", bytes=" + weightBytes + '}';
+    }
+}
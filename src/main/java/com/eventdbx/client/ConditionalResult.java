@@ -0,0 +1,58 @@
+package com.eventdbx.client;
+
+/**
+ * Outcome of a conditional read: either the caller's copy is still current, or the fresh value
+ * (which is {@code null} when the aggregate no longer exists).
+ */
+public final class ConditionalResult<T> {
+    private static final ConditionalResult<?> NOT_MODIFIED = new ConditionalResult<>(true, null);
+
+    private final boolean notModified;
+    private final T value;
+
+    private ConditionalResult(boolean notModified, T value) {
+        this.notModified = notModified;
+        this.value = value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> ConditionalResult<T> notModified() {
+        return (ConditionalResult<T>) NOT_MODIFIED;
+    }
+
+    public static <T> ConditionalResult<T> modified(T value) {
+        return new ConditionalResult<>(false, value);
+    }
+
+    /**
+     * Compare a freshly fetched snapshot against the caller's validators, for servers that do
+     * not evaluate them.
+     */
+    static ConditionalResult<AggregateSnapshot> compare(AggregateSnapshot snapshot, Long knownVersion, String knownMerkleRoot) {
+        if (snapshot != null
+                && (knownVersion != null || knownMerkleRoot != null)
+                && (knownVersion == null || snapshot.version() == knownVersion)
+                && (knownMerkleRoot == null || knownMerkleRoot.equals(snapshot.merkleRoot()))) {
+            return notModified();
+        }
+        return modified(snapshot);
+    }
+
+    public boolean isNotModified() {
+        return notModified;
+    }
+
+    /**
+     * Fresh value, or {@code null} when not modified or not found.
+     */
+    public T value() {
+        return value;
+    }
+
+    /**
+     * {@code cached} when not modified, otherwise the fresh value.
+     */
+    public T orElse(T cached) {
+        return notModified ? cached : value;
+    }
+}
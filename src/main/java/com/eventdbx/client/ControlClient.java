@@ -2,6 +2,12 @@ package com.eventdbx.client;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 public interface ControlClient extends AutoCloseable {
     void connect();
 
@@ -13,6 +19,15 @@ public interface ControlClient extends AutoCloseable {
 
     Page<AggregateSnapshot> list(String aggregateType, PageOptions options);
 
+    /**
+     * Stream every page of aggregates from {@code options.cursor()} onward. {@code credit} is the
+     * number of pages the server may push ahead of the consumer. The default implementation
+     * issues one {@link #list(String, PageOptions)} request per page.
+     */
+    default PageStream<AggregateSnapshot> streamAggregatePages(String aggregateType, PageOptions options, int credit) {
+        return new CursorPageStream<>(cursor -> list(aggregateType, options.toBuilder().cursor(cursor).build()), options.cursor().orElse(null));
+    }
+
     AggregateSnapshot create(String aggregateType, String aggregateId, String eventType, CreateAggregateOptions options);
 
     AggregateSnapshot archive(String aggregateType, String aggregateId, ArchiveOptions options);
@@ -23,12 +38,96 @@ public interface ControlClient extends AutoCloseable {
 
     AggregateSnapshot get(String aggregateType, String aggregateId);
 
+    /**
+     * Fetch several aggregates of one type, keyed by id in request order; ids that do not exist
+     * are absent from the map. The default implementation issues one {@link #get(String, String)}
+     * per id.
+     */
+    default Map<String, AggregateSnapshot> getAll(String aggregateType, Collection<String> aggregateIds) {
+        Map<String, AggregateSnapshot> found = new LinkedHashMap<>();
+        for (String aggregateId : aggregateIds) {
+            AggregateSnapshot snapshot = get(aggregateType, aggregateId);
+            if (snapshot != null) {
+                found.put(aggregateId, snapshot);
+            }
+        }
+        return found;
+    }
+
     JsonNode select(String aggregateType, String aggregateId, Iterable<String> fields);
 
+    /**
+     * Ask the server to recompute an aggregate's hash chain and return the resulting merkle root.
+     * The default implementation throws, for transports without a verify request.
+     */
+    default String verify(String aggregateType, String aggregateId) {
+        throw new EventDbxException("verify not supported");
+    }
+
+    /**
+     * Fetch an aggregate unless it is still at {@code knownVersion} and {@code knownMerkleRoot}
+     * (either may be {@code null} to skip that check). The default implementation fetches the
+     * full snapshot and compares locally.
+     */
+    default ConditionalResult<AggregateSnapshot> getIfModified(String aggregateType, String aggregateId, Long knownVersion, String knownMerkleRoot) {
+        return ConditionalResult.compare(get(aggregateType, aggregateId), knownVersion, knownMerkleRoot);
+    }
+
+    /**
+     * Conditional {@link #select(String, String, Iterable)}; see
+     * {@link #getIfModified(String, String, Long, String)}. The default implementation always
+     * returns the fresh selection.
+     */
+    default ConditionalResult<JsonNode> selectIfModified(String aggregateType, String aggregateId, Iterable<String> fields, Long knownVersion, String knownMerkleRoot) {
+        return ConditionalResult.modified(select(aggregateType, aggregateId, fields));
+    }
+
     Page<EventRecord> events(String aggregateType, String aggregateId, PageOptions options);
 
+    /**
+     * Stream every page of an aggregate's events; see
+     * {@link #streamAggregatePages(String, PageOptions, int)}.
+     */
+    default PageStream<EventRecord> streamEventPages(String aggregateType, String aggregateId, PageOptions options, int credit) {
+        return new CursorPageStream<>(cursor -> events(aggregateType, aggregateId, options.toBuilder().cursor(cursor).build()), options.cursor().orElse(null));
+    }
+
+    /**
+     * Fetch a page of events in columnar form. The default implementation converts
+     * {@link #events(String, String, PageOptions)}; transports should decode directly.
+     */
+    default EventBatch eventBatch(String aggregateType, String aggregateId, PageOptions options) {
+        return EventBatch.fromPage(aggregateType, aggregateId, events(aggregateType, aggregateId, options));
+    }
+
     EventRecord apply(String aggregateType, String aggregateId, String eventType, AppendOptions options);
 
+    /**
+     * Run several operations and return one result per item, in order; a failed item does not
+     * stop the rest. The default implementation issues one request per item. After a connection
+     * failure it sends nothing more and fails the remaining items with the same error, so the
+     * items that went through are always a prefix of the batch.
+     */
+    default List<BatchResult> batch(List<BatchOperation> operations) {
+        List<BatchResult> results = new ArrayList<>(operations.size());
+        EventDbxConnectionException lost = null;
+        for (BatchOperation operation : operations) {
+            if (lost != null) {
+                results.add(BatchResult.failure(operation, lost));
+                continue;
+            }
+            try {
+                results.add(BatchResult.success(operation, operation.execute(this)));
+            } catch (EventDbxConnectionException e) {
+                lost = e;
+                results.add(BatchResult.failure(operation, e));
+            } catch (EventDbxException e) {
+                results.add(BatchResult.failure(operation, e));
+            }
+        }
+        return results;
+    }
+
     @Override
     default void close() {
         disconnect();
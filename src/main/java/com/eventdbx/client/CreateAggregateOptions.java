@@ -12,6 +12,7 @@ public final class CreateAggregateOptions {
     private final String note;
     private final String token;
     private final List<PublishTarget> publishTargets;
+    private final String idempotencyKey;
 
     private CreateAggregateOptions(Builder builder) {
         this.payload = builder.payload;
@@ -19,6 +20,7 @@ public final class CreateAggregateOptions {
         this.note = builder.note;
         this.token = builder.token;
         this.publishTargets = List.copyOf(builder.publishTargets);
+        this.idempotencyKey = builder.idempotencyKey;
     }
 
     public Optional<JsonNode> payload() {
@@ -41,6 +43,25 @@ public final class CreateAggregateOptions {
         return publishTargets;
     }
 
+    /**
+     * Key the server uses to apply this write at most once, however often it is retried. Writes
+     * made through {@link EventDbxClient} get one from {@link IdempotencyKeys#next()} when none is
+     * set.
+     */
+    public Optional<String> idempotencyKey() {
+        return Optional.ofNullable(idempotencyKey);
+    }
+
+    public Builder toBuilder() {
+        return new Builder()
+                .payload(payload)
+                .metadata(metadata)
+                .note(note)
+                .token(token)
+                .publishTargets(publishTargets)
+                .idempotencyKey(idempotencyKey);
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -51,6 +72,7 @@ public final class CreateAggregateOptions {
         private String note;
         private String token;
         private final List<PublishTarget> publishTargets = new ArrayList<>();
+        private String idempotencyKey;
 
         public Builder payload(JsonNode payload) {
             this.payload = payload;
@@ -94,6 +116,11 @@ public final class CreateAggregateOptions {
             return this;
         }
 
+        public Builder idempotencyKey(String idempotencyKey) {
+            this.idempotencyKey = idempotencyKey;
+            return this;
+        }
+
         public CreateAggregateOptions build() {
             return new CreateAggregateOptions(this);
         }
@@ -0,0 +1,45 @@
+package com.eventdbx.client;
+
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * {@link PageStream} that issues one request per page, following cursors. Used by transports
+ * without server-side streaming.
+ */
+final class CursorPageStream<T> implements PageStream<T> {
+    private final Function<String, Page<T>> fetcher;
+    private String cursor;
+    private boolean exhausted;
+
+    CursorPageStream(Function<String, Page<T>> fetcher, String initialCursor) {
+        this.fetcher = fetcher;
+        this.cursor = initialCursor;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !exhausted;
+    }
+
+    @Override
+    public Page<T> next() {
+        if (exhausted) {
+            throw new NoSuchElementException();
+        }
+        String used = cursor;
+        Page<T> page = fetcher.apply(used);
+        String nextCursor = page.nextCursor();
+        if (nextCursor == null || nextCursor.isBlank() || nextCursor.equals(used)) {
+            exhausted = true;
+        } else {
+            cursor = nextCursor;
+        }
+        return page;
+    }
+
+    @Override
+    public void close() {
+        exhausted = true;
+    }
+}
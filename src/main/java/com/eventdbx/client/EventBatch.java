@@ -0,0 +1,237 @@
+package com.eventdbx.client;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Columnar page of events for bulk replay.
+ * <p>
+ * Instead of one {@link EventRecord} per event, columns are held in primitive arrays: versions,
+ * sequences and creation times as {@code long[]}, event types as dictionary codes, and payloads as
+ * raw JSON bytes packed into one shared buffer addressed by offsets. Only the fields needed to
+ * drive projections are kept; use {@link EventDbxClient#events} for full records.
+ */
+public final class EventBatch {
+    /** Sequence value reported for events that carry no sequence number. */
+    public static final long NO_SEQUENCE = -1L;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String aggregateType;
+    private final String aggregateId;
+    private final int size;
+    private final long[] versions;
+    private final long[] sequences;
+    private final int[] eventTypeCodes;
+    private final List<String> eventTypes;
+    private final long[] createdAtMillis;
+    private final int[] payloadOffsets;
+    private final byte[] payloadBuffer;
+    private final String nextCursor;
+
+    private EventBatch(Builder builder, String nextCursor) {
+        this.aggregateType = builder.aggregateType;
+        this.aggregateId = builder.aggregateId;
+        this.size = builder.size;
+        this.versions = builder.versions;
+        this.sequences = builder.sequences;
+        this.eventTypeCodes = builder.eventTypeCodes;
+        this.eventTypes = List.copyOf(builder.eventTypes);
+        this.createdAtMillis = builder.createdAtMillis;
+        this.payloadOffsets = builder.payloadOffsets;
+        this.payloadBuffer = builder.payloadBuffer;
+        this.nextCursor = nextCursor;
+    }
+
+    public String aggregateType() {
+        return aggregateType;
+    }
+
+    public String aggregateId() {
+        return aggregateId;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long version(int index) {
+        return versions[checkIndex(index)];
+    }
+
+    /**
+     * Sequence number of the event at {@code index}, or {@link #NO_SEQUENCE} when absent.
+     */
+    public long sequence(int index) {
+        return sequences[checkIndex(index)];
+    }
+
+    public int eventTypeCode(int index) {
+        return eventTypeCodes[checkIndex(index)];
+    }
+
+    public String eventType(int index) {
+        return eventTypes.get(eventTypeCode(index));
+    }
+
+    /**
+     * Distinct event types in this batch, indexed by {@link #eventTypeCode(int)}.
+     */
+    public List<String> eventTypes() {
+        return eventTypes;
+    }
+
+    /**
+     * Creation time in epoch milliseconds, or {@code 0} when the event carries no metadata.
+     */
+    public long createdAtMillis(int index) {
+        return createdAtMillis[checkIndex(index)];
+    }
+
+    public int payloadOffset(int index) {
+        return payloadOffsets[checkIndex(index)];
+    }
+
+    public int payloadLength(int index) {
+        checkIndex(index);
+        return payloadOffsets[index + 1] - payloadOffsets[index];
+    }
+
+    /**
+     * Read-only view of the shared payload buffer; payload {@code i} spans
+     * {@code [payloadOffset(i), payloadOffset(i) + payloadLength(i))} and holds UTF-8 JSON.
+     */
+    public ByteBuffer payloadBuffer() {
+        return ByteBuffer.wrap(payloadBuffer, 0, payloadOffsets[size]).asReadOnlyBuffer();
+    }
+
+    /**
+     * Read-only view of a single event's payload JSON.
+     */
+    public ByteBuffer payload(int index) {
+        int offset = payloadOffset(index);
+        return ByteBuffer.wrap(payloadBuffer, offset, payloadLength(index)).slice().asReadOnlyBuffer();
+    }
+
+    public String nextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Build a batch from an already decoded page, for transports without a columnar decode path.
+     */
+    static EventBatch fromPage(String aggregateType, String aggregateId, Page<EventRecord> page) {
+        Builder builder = new Builder(aggregateType, aggregateId, page.items().size());
+        try {
+            for (EventRecord record : page.items()) {
+                byte[] payload = MAPPER.writeValueAsBytes(record.payload());
+                long sequence = record.sequence() == null ? NO_SEQUENCE : record.sequence();
+                EventMetadata metadata = record.metadata();
+                long createdAt = metadata == null || metadata.createdAt() == null ? 0L : metadata.createdAt().toEpochMilli();
+                builder.add(record.version(), sequence, record.eventType(), createdAt, payload, 0, payload.length);
+            }
+        } catch (IOException e) {
+            throw new EventDbxException("Failed to serialize event payload", e);
+        }
+        return builder.build(page.nextCursor());
+    }
+
+    /**
+     * This batch without events outside versions {@code from}..{@code to}; the batch itself when
+     * none fall outside.
+     */
+    EventBatch inRange(long from, long to) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (versions[i] >= from && versions[i] <= to) {
+                kept++;
+            }
+        }
+        if (kept == size) {
+            return this;
+        }
+        Builder builder = new Builder(aggregateType, aggregateId, kept);
+        for (int i = 0; i < size; i++) {
+            if (versions[i] >= from && versions[i] <= to) {
+                builder.add(versions[i], sequences[i], eventType(i), createdAtMillis[i], payloadBuffer, payloadOffsets[i], payloadLength(i));
+            }
+        }
+        return builder.build(nextCursor);
+    }
+
+    private int checkIndex(int index) {
+        return Objects.checkIndex(index, size);
+    }
+
+    /**
+     * Accumulates columns while decoding; not thread-safe.
+     */
+    static final class Builder {
+        private final String aggregateType;
+        private final String aggregateId;
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> eventTypes = new ArrayList<>();
+        private int size;
+        private long[] versions;
+        private long[] sequences;
+        private int[] eventTypeCodes;
+        private long[] createdAtMillis;
+        private int[] payloadOffsets;
+        private byte[] payloadBuffer;
+
+        Builder(String aggregateType, String aggregateId, int expectedSize) {
+            this.aggregateType = aggregateType;
+            this.aggregateId = aggregateId;
+            int capacity = Math.max(8, expectedSize);
+            this.versions = new long[capacity];
+            this.sequences = new long[capacity];
+            this.eventTypeCodes = new int[capacity];
+            this.createdAtMillis = new long[capacity];
+            this.payloadOffsets = new int[capacity + 1];
+            this.payloadBuffer = new byte[capacity * 64];
+        }
+
+        void add(long version, long sequence, String eventType, long createdAt, byte[] payload, int offset, int length) {
+            if (size == versions.length) {
+                int capacity = size << 1;
+                versions = Arrays.copyOf(versions, capacity);
+                sequences = Arrays.copyOf(sequences, capacity);
+                eventTypeCodes = Arrays.copyOf(eventTypeCodes, capacity);
+                createdAtMillis = Arrays.copyOf(createdAtMillis, capacity);
+                payloadOffsets = Arrays.copyOf(payloadOffsets, capacity + 1);
+            }
+            int start = payloadOffsets[size];
+            if (start + length > payloadBuffer.length) {
+                payloadBuffer = Arrays.copyOf(payloadBuffer, Math.max(start + length, payloadBuffer.length << 1));
+            }
+            System.arraycopy(payload, offset, payloadBuffer, start, length);
+            versions[size] = version;
+            sequences[size] = sequence;
+            eventTypeCodes[size] = code(eventType);
+            createdAtMillis[size] = createdAt;
+            payloadOffsets[size + 1] = start + length;
+            size++;
+        }
+
+        EventBatch build(String nextCursor) {
+            return new EventBatch(this, nextCursor);
+        }
+
+        private int code(String eventType) {
+            Integer code = codes.get(eventType);
+            if (code == null) {
+                code = eventTypes.size();
+                codes.put(eventType, code);
+                eventTypes.add(eventType);
+            }
+            return code;
+        }
+    }
+}
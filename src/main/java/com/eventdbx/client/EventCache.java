@@ -0,0 +1,132 @@
+package com.eventdbx.client;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Two-tier cache of raw event JSON keyed by aggregate type, id and version.
+ * <p>
+ * Events are append-only, so a cached event never goes stale and needs no revalidation. Lookups
+ * try the {@link OffHeapEventTier} first and fall back to the {@link MappedEventSegments} disk
+ * tier, copying disk hits back into memory. Either tier may be absent. The disk tier lives in a
+ * subdirectory per server and tenant, since it outlasts the client. All methods are
+ * synchronized.
+ */
+final class EventCache implements AutoCloseable {
+    private final OffHeapEventTier memory;
+    private MappedEventSegments disk;
+
+    EventCache(OffHeapEventTier memory, MappedEventSegments disk) {
+        this.memory = memory;
+        this.disk = disk;
+    }
+
+    /**
+     * Build the cache described by {@code config}, or return {@code null} when both tiers are
+     * disabled.
+     */
+    static EventCache open(EventDbxConfig config) {
+        OffHeapEventTier memory = config.eventCacheMemoryBytes() > 0 ? new OffHeapEventTier(config.eventCacheMemoryBytes()) : null;
+        MappedEventSegments disk = null;
+        if (config.eventCacheDirectory() != null && config.eventCacheDiskBytes() > 0) {
+            Path directory = directory(config);
+            try {
+                disk = new MappedEventSegments(directory, config.eventCacheDiskBytes());
+            } catch (IOException e) {
+                throw new EventDbxException("Failed to open event cache at " + directory, e);
+            }
+        }
+        return memory == null && disk == null ? null : new EventCache(memory, disk);
+    }
+
+    synchronized byte[] get(String aggregateType, String aggregateId, long version) {
+        String key = key(aggregateType, aggregateId, version);
+        byte[] json = memory == null ? null : memory.get(key);
+        if (json == null && disk != null) {
+            json = disk.get(key);
+            if (json != null && memory != null) {
+                memory.put(key, json, 0, json.length);
+            }
+        }
+        return json;
+    }
+
+    synchronized void put(String aggregateType, String aggregateId, long version, byte[] json, int offset, int length) {
+        String key = key(aggregateType, aggregateId, version);
+        if (memory != null) {
+            memory.put(key, json, offset, length);
+        }
+        if (disk != null) {
+            try {
+                disk.put(key, json, offset, length);
+            } catch (IOException e) {
+                throw new EventDbxException("Failed to write event cache", e);
+            }
+        }
+    }
+
+    /**
+     * Cached events for consecutive versions starting at {@code fromVersion}, stopping at the first
+     * gap, after {@code toVersion}, or after {@code limit} events.
+     */
+    synchronized List<byte[]> run(String aggregateType, String aggregateId, long fromVersion, long toVersion, int limit) {
+        List<byte[]> events = new ArrayList<>();
+        for (long version = fromVersion; version <= toVersion && events.size() < limit; version++) {
+            byte[] json = get(aggregateType, aggregateId, version);
+            if (json == null) {
+                break;
+            }
+            events.add(json);
+        }
+        return events;
+    }
+
+    synchronized void flush() {
+        if (disk != null) {
+            disk.flush();
+        }
+    }
+
+    /**
+     * Flush and close the disk tier, releasing its directory lock. Later lookups only see the
+     * memory tier.
+     */
+    @Override
+    public synchronized void close() {
+        if (disk == null) {
+            return;
+        }
+        try {
+            disk.close();
+        } catch (IOException e) {
+            throw new EventDbxException("Failed to close event cache", e);
+        } finally {
+            disk = null;
+        }
+    }
+
+    /**
+     * The disk tier's directory: a subdirectory of {@link EventDbxConfig#eventCacheDirectory()}
+     * named by a digest of the server address and tenant, so clients of different servers or
+     * tenants never read each other's events.
+     */
+    static Path directory(EventDbxConfig config) {
+        String scope = config.host() + ':' + config.port() + '\u0000' + (config.tenantId() == null ? "" : config.tenantId());
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(scope.getBytes(StandardCharsets.UTF_8));
+            return config.eventCacheDirectory().resolve(HexFormat.of().formatHex(digest, 0, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    private static String key(String aggregateType, String aggregateId, long version) {
+        return aggregateType + '\u0000' + aggregateId + '\u0000' + version;
+    }
+}
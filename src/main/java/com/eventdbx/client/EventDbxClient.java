@@ -2,15 +2,46 @@ package com.eventdbx.client;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * High-level control-socket client, mirroring the EventDBX JS client surface.
  */
 public class EventDbxClient implements AutoCloseable {
+    private static final int BULK_BATCH_SIZE = 100;
+
     private final EventDbxConfig config;
     private final ControlClient controlClient;
+    private final SnapshotCache snapshotCache;
+    private final SingleFlight reads = new SingleFlight();
+    private final WriteSpool spool;
+    private final SpoolReplayer replayer;
+    private ExecutorService fanOutExecutor;
+    private ExecutorService publishExecutor;
+    private MerkleVerifier merkleVerifier;
     private boolean closed;
 
     public EventDbxClient() {
@@ -18,22 +49,60 @@ public class EventDbxClient implements AutoCloseable {
     }
 
     public EventDbxClient(EventDbxConfig config) {
-        this(config, new NoiseControlClient(config));
+        this(config, transport(config));
     }
 
     public EventDbxClient(EventDbxConfig config, ControlClient controlClient) {
         this.config = Objects.requireNonNull(config, "config");
         this.controlClient = Objects.requireNonNull(controlClient, "controlClient");
+        this.snapshotCache = config.snapshotCacheMaxBytes() > 0
+                ? new SnapshotCache(config.snapshotCacheMaxBytes(), config.snapshotCacheRevalidateAfter())
+                : null;
+        if (config.spoolDirectory() != null) {
+            try {
+                this.spool = new WriteSpool(config.spoolDirectory(), config.spoolMaxBytes());
+            } catch (IOException e) {
+                throw new EventDbxException("Failed to open write spool at " + config.spoolDirectory(), e);
+            }
+            this.replayer = new SpoolReplayer(spool, controlClient, config.retryPolicy(),
+                    config.spoolDirectory().resolve("rejected.ndjson"), this::replayed);
+            if (spool.pending() > 0) {
+                replayer.wake();
+            }
+        } else {
+            this.spool = null;
+            this.replayer = null;
+        }
     }
 
     public void connect() {
         ensureOpen();
         controlClient.connect();
+        if (spool != null && spool.pending() > 0) {
+            replayer.wake();
+        }
     }
 
     public void disconnect() {
+        if (spool != null && !closed) {
+            replayer.stop();
+            try {
+                spool.close();
+            } catch (IOException ignored) {
+            }
+        }
         controlClient.disconnect();
         closed = true;
+        synchronized (this) {
+            if (fanOutExecutor != null) {
+                fanOutExecutor.shutdown();
+                fanOutExecutor = null;
+            }
+            if (publishExecutor != null) {
+                publishExecutor.shutdown();
+                publishExecutor = null;
+            }
+        }
     }
 
     public boolean isConnected() {
@@ -49,14 +118,153 @@ public class EventDbxClient implements AutoCloseable {
         return controlClient.list(aggregateType, options == null ? PageOptions.builder().build() : options);
     }
 
+    /**
+     * Stream every aggregate matching {@code options}, following page cursors automatically and
+     * prefetching the next page in the background. Close the stream to stop prefetching early.
+     */
+    public Stream<AggregateSnapshot> streamAggregates(String aggregateType, PageOptions options) {
+        return streamAggregates(aggregateType, options, StreamOptions.defaults());
+    }
+
+    public Stream<AggregateSnapshot> streamAggregates(String aggregateType, PageOptions options, StreamOptions streamOptions) {
+        ensureOpen();
+        PageOptions base = options == null ? PageOptions.builder().build() : options;
+        if (streamOptions != null && streamOptions.serverStreaming()) {
+            return flatten(controlClient.streamAggregatePages(aggregateType, base, Math.max(1, streamOptions.prefetchPages())));
+        }
+        return stream(cursor -> controlClient.list(aggregateType, base.toBuilder().cursor(cursor).build()), base, streamOptions);
+    }
+
+    /**
+     * Publish every aggregate matching {@code options}. Pages are fetched only as the subscriber
+     * requests items: outstanding demand becomes the page {@code take}, capped by
+     * {@code options.take()} (or {@value PagePublisher#DEFAULT_MAX_TAKE}). Page fetches block on
+     * the connection, so signals are delivered on daemon threads owned by this client rather than
+     * a shared pool.
+     */
+    public Flow.Publisher<AggregateSnapshot> publishAggregates(String aggregateType, PageOptions options) {
+        return publishAggregates(aggregateType, options, null);
+    }
+
+    public Flow.Publisher<AggregateSnapshot> publishAggregates(String aggregateType, PageOptions options, Executor executor) {
+        ensureOpen();
+        PageOptions base = options == null ? PageOptions.builder().build() : options;
+        return publisher((cursor, take) -> controlClient.list(aggregateType, base.toBuilder().cursor(cursor).take(take).build()), base, executor);
+    }
+
+    /**
+     * Concurrent calls for the same aggregate share one request and one decoded result, so the
+     * returned snapshot should be treated as read-only. A call made after a write through this
+     * client has returned never shares a request started before it.
+     */
     public AggregateSnapshot get(String aggregateType, String aggregateId) {
         ensureOpen();
-        return controlClient.get(aggregateType, aggregateId);
+        return reads.run(List.of("get", aggregateType, aggregateId), () -> {
+            if (snapshotCache != null) {
+                return snapshotCache.get(aggregateType, aggregateId, controlClient);
+            }
+            return controlClient.get(aggregateType, aggregateId);
+        });
     }
 
+    /**
+     * Conditional get: when the aggregate is still at {@code knownVersion} the server answers
+     * not-modified instead of resending the state.
+     */
+    public ConditionalResult<AggregateSnapshot> get(String aggregateType, String aggregateId, long knownVersion) {
+        ensureOpen();
+        return controlClient.getIfModified(aggregateType, aggregateId, knownVersion, null);
+    }
+
+    /**
+     * Revalidate a cached snapshot by version and merkle root, returning {@code cached} itself when
+     * it is still current and {@code null} when the aggregate is gone.
+     */
+    public AggregateSnapshot revalidate(AggregateSnapshot cached) {
+        ensureOpen();
+        Objects.requireNonNull(cached, "cached");
+        String merkleRoot = cached.merkleRoot() == null || cached.merkleRoot().isEmpty() ? null : cached.merkleRoot();
+        return controlClient.getIfModified(cached.aggregateType(), cached.aggregateId(), cached.version(), merkleRoot).orElse(cached);
+    }
+
+    /**
+     * Fetch several aggregates of one type, keyed by id in the order requested; ids that do not
+     * exist are left out. Ids are sent in batches of filtered list requests, spread over
+     * {@link EventDbxConfig#connectionPoolSize()} connections.
+     */
+    public Map<String, AggregateSnapshot> getAll(String aggregateType, Collection<String> aggregateIds) {
+        ensureOpen();
+        List<String> ids = List.copyOf(new LinkedHashSet<>(aggregateIds));
+        List<List<String>> batches = new ArrayList<>();
+        for (int start = 0; start < ids.size(); start += BULK_BATCH_SIZE) {
+            batches.add(ids.subList(start, Math.min(ids.size(), start + BULK_BATCH_SIZE)));
+        }
+        Map<String, AggregateSnapshot> found = new LinkedHashMap<>();
+        for (Map<String, AggregateSnapshot> batch : fanOut(batches, batch -> controlClient.getAll(aggregateType, batch))) {
+            found.putAll(batch);
+        }
+        if (snapshotCache != null) {
+            found.values().forEach(snapshotCache::update);
+        }
+        return found;
+    }
+
+    /**
+     * Coalesced like {@link #get(String, String)}; treat the returned node as read-only.
+     */
     public JsonNode select(String aggregateType, String aggregateId, List<String> fields) {
         ensureOpen();
-        return controlClient.select(aggregateType, aggregateId, fields);
+        return reads.run(List.of("select", aggregateType, aggregateId, List.copyOf(fields)), () -> {
+            if (snapshotCache != null) {
+                return snapshotCache.select(aggregateType, aggregateId, fields, controlClient);
+            }
+            return controlClient.select(aggregateType, aggregateId, fields);
+        });
+    }
+
+    /**
+     * Conditional select; see {@link #get(String, String, long)}.
+     */
+    public ConditionalResult<JsonNode> select(String aggregateType, String aggregateId, List<String> fields, long knownVersion) {
+        ensureOpen();
+        return controlClient.selectIfModified(aggregateType, aggregateId, fields, knownVersion, null);
+    }
+
+    /**
+     * {@link #select(String, String, List)} for several aggregates, keyed by id in the order
+     * requested; ids that do not exist are left out. Selections have no batched form, so they fan
+     * out with up to {@link EventDbxConfig#connectionPoolSize()} requests in flight.
+     */
+    public Map<String, JsonNode> selectAll(String aggregateType, Collection<String> aggregateIds, List<String> fields) {
+        ensureOpen();
+        List<String> ids = List.copyOf(new LinkedHashSet<>(aggregateIds));
+        List<JsonNode> selections = fanOut(ids, id -> select(aggregateType, id, fields));
+        Map<String, JsonNode> found = new LinkedHashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (selections.get(i) != null) {
+                found.put(ids.get(i), selections.get(i));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Have the server recompute the aggregate's hash chain and return its merkle root.
+     */
+    public String verify(String aggregateType, String aggregateId) {
+        ensureOpen();
+        return controlClient.verify(aggregateType, aggregateId);
+    }
+
+    /**
+     * Check the aggregate's events against its merkle root on this side of the connection,
+     * fetching event ranges over the pooled connections and hashing on
+     * {@link EventDbxConfig#decodePool()}. With {@link EventDbxConfig#merkleCacheMaxBytes()} set,
+     * verifying the same aggregate again only fetches and hashes events appended since.
+     */
+    public VerificationResult verifyLocally(String aggregateType, String aggregateId) {
+        ensureOpen();
+        return merkleVerifier().verify(aggregateType, aggregateId);
     }
 
     public Page<EventRecord> events(String aggregateType, String aggregateId, PageOptions options) {
@@ -64,34 +272,505 @@ public class EventDbxClient implements AutoCloseable {
         return controlClient.events(aggregateType, aggregateId, options == null ? PageOptions.builder().build() : options);
     }
 
+    /**
+     * Stream an aggregate's events, following page cursors automatically and prefetching the next
+     * page in the background. Close the stream to stop prefetching early.
+     */
+    public Stream<EventRecord> streamEvents(String aggregateType, String aggregateId, PageOptions options) {
+        return streamEvents(aggregateType, aggregateId, options, StreamOptions.defaults());
+    }
+
+    public Stream<EventRecord> streamEvents(String aggregateType, String aggregateId, PageOptions options, StreamOptions streamOptions) {
+        ensureOpen();
+        PageOptions base = options == null ? PageOptions.builder().build() : options;
+        if (streamOptions != null && streamOptions.serverStreaming()) {
+            return flatten(controlClient.streamEventPages(aggregateType, aggregateId, base, Math.max(1, streamOptions.prefetchPages())));
+        }
+        return stream(cursor -> controlClient.events(aggregateType, aggregateId, base.toBuilder().cursor(cursor).build()), base, streamOptions);
+    }
+
+    /**
+     * Publish an aggregate's events with demand-driven paging; see
+     * {@link #publishAggregates(String, PageOptions)}.
+     */
+    public Flow.Publisher<EventRecord> publishEvents(String aggregateType, String aggregateId, PageOptions options) {
+        return publishEvents(aggregateType, aggregateId, options, null);
+    }
+
+    public Flow.Publisher<EventRecord> publishEvents(String aggregateType, String aggregateId, PageOptions options, Executor executor) {
+        ensureOpen();
+        PageOptions base = options == null ? PageOptions.builder().build() : options;
+        return publisher((cursor, take) -> controlClient.events(aggregateType, aggregateId, base.toBuilder().cursor(cursor).take(take).build()), base, executor);
+    }
+
+    /**
+     * Columnar variant of {@link #events(String, String, PageOptions)} for bulk replay.
+     */
+    public EventBatch eventBatch(String aggregateType, String aggregateId, PageOptions options) {
+        ensureOpen();
+        return controlClient.eventBatch(aggregateType, aggregateId, options == null ? PageOptions.builder().build() : options);
+    }
+
+    /**
+     * Append an event. With {@link EventDbxConfig#spoolDirectory()} set, a write that cannot reach
+     * the server, or that follows still-spooled writes to the same aggregate, is spooled instead
+     * and {@code null} is returned; the same holds for {@code create} and {@code patch}. Writes
+     * with a per-call token, and patches without an expected version, are never spooled: they fail
+     * as they would without a spool.
+     * <p>
+     * Appends and creates carry an idempotency key, so when the connection fails they are retried
+     * up to {@link RetryPolicy#maxAttempts()} times without risk of being applied twice.
+     */
     public EventRecord apply(String aggregateType, String aggregateId, String eventType, AppendOptions options) {
         ensureOpen();
-        return controlClient.apply(aggregateType, aggregateId, eventType, options == null ? AppendOptions.builder().build() : options);
+        BatchOperation operation = BatchOperation.append(aggregateType, aggregateId, eventType, options);
+        EventRecord event = written(aggregateType, aggregateId, () -> spooling(operation,
+                () -> retrying(() -> controlClient.apply(aggregateType, aggregateId, eventType, operation.appendOptions()))));
+        if (snapshotCache != null && event != null) {
+            snapshotCache.onAppend(aggregateType, aggregateId, event);
+        }
+        return event;
     }
 
     public AggregateSnapshot create(String aggregateType, String aggregateId, String eventType, CreateAggregateOptions options) {
         ensureOpen();
-        return controlClient.create(aggregateType, aggregateId, eventType, options == null ? CreateAggregateOptions.builder().build() : options);
+        BatchOperation operation = BatchOperation.create(aggregateType, aggregateId, eventType, options);
+        return cached(written(aggregateType, aggregateId, () -> spooling(operation,
+                () -> retrying(() -> controlClient.create(aggregateType, aggregateId, eventType, operation.createOptions())))));
     }
 
     public AggregateSnapshot archive(String aggregateType, String aggregateId, ArchiveOptions options) {
         ensureOpen();
-        return controlClient.archive(aggregateType, aggregateId, options == null ? ArchiveOptions.builder().build() : options);
+        return cached(written(aggregateType, aggregateId,
+                () -> controlClient.archive(aggregateType, aggregateId, options == null ? ArchiveOptions.builder().build() : options)));
     }
 
     public AggregateSnapshot restore(String aggregateType, String aggregateId, ArchiveOptions options) {
         ensureOpen();
-        return controlClient.restore(aggregateType, aggregateId, options == null ? ArchiveOptions.builder().build() : options);
+        return cached(written(aggregateType, aggregateId,
+                () -> controlClient.restore(aggregateType, aggregateId, options == null ? ArchiveOptions.builder().build() : options)));
     }
 
     public AggregateSnapshot patch(String aggregateType, String aggregateId, String eventType, List<JsonPatchOperation> operations, PatchOptions options) {
         ensureOpen();
-        return controlClient.patch(aggregateType, aggregateId, eventType, operations, options == null ? PatchOptions.builder().build() : options);
+        PatchOptions opts = options == null ? PatchOptions.builder().build() : options;
+        BatchOperation operation = BatchOperation.patch(aggregateType, aggregateId, eventType, operations, opts);
+        return cached(written(aggregateType, aggregateId, () -> spooling(operation,
+                () -> controlClient.patch(aggregateType, aggregateId, eventType, operations, opts))));
+    }
+
+    /**
+     * Archive every aggregate of {@code aggregateType} matching {@code filter} (the
+     * {@link PageOptions#filter()} syntax), running requests in parallel over the pooled
+     * connections. Aggregates the server refuses are reported in the result rather than thrown.
+     */
+    public BulkArchiveResult archiveWhere(String aggregateType, String filter, BulkArchiveOptions options) {
+        return archiveWhere(aggregateType, filter, options, true);
+    }
+
+    /**
+     * Restore every archived aggregate of {@code aggregateType} matching {@code filter}; the
+     * counterpart of {@link #archiveWhere(String, String, BulkArchiveOptions)}.
+     */
+    public BulkArchiveResult restoreWhere(String aggregateType, String filter, BulkArchiveOptions options) {
+        return archiveWhere(aggregateType, filter, options, false);
+    }
+
+    /**
+     * Start a batch: operations added to it are sent together in one request frame, each with
+     * its own result.
+     */
+    public Batch batch() {
+        ensureOpen();
+        return new Batch(this::executeBatch);
+    }
+
+    /**
+     * Start a write-behind appender that queues writes and sends them in batches; close it to
+     * drain the queue. It does not close this client.
+     */
+    public BufferedAppender bufferedAppender(BufferedAppenderOptions options) {
+        ensureOpen();
+        BufferedAppenderOptions opts = options == null ? BufferedAppenderOptions.defaults() : options;
+        return new BufferedAppender(this, opts.lanes().orElse(config.connectionPoolSize()), opts);
+    }
+
+    /**
+     * Import an NDJSON (optionally gzipped) file of events, one object per line; see
+     * {@link BulkImportOptions} for checkpointing and rejected records. Records for one aggregate
+     * are written in file order, and different aggregates are written concurrently in batches.
+     */
+    public BulkImportResult importEvents(Path file, BulkImportOptions options) {
+        ensureOpen();
+        BulkImportOptions opts = options == null ? BulkImportOptions.defaults() : options;
+        try {
+            return new BulkImporter(this, opts.lanes().orElse(config.connectionPoolSize()), opts).run(file);
+        } catch (IOException e) {
+            throw new EventDbxException("Failed to import " + file, e);
+        }
+    }
+
+    /**
+     * Export every event of the aggregates of {@code aggregateType} to {@code output} as NDJSON,
+     * gzipped by default. Events of several aggregates are fetched concurrently over the pooled
+     * connections while the file is written in list order; see {@link ExportOptions} for resuming.
+     */
+    public ExportResult exportEvents(String aggregateType, Path output, ExportOptions options) {
+        ensureOpen();
+        ExportOptions opts = options == null ? ExportOptions.defaults() : options;
+        try {
+            return new BulkExporter(this, fanOutExecutor(), opts).run(aggregateType, output);
+        } catch (IOException e) {
+            throw new EventDbxException("Failed to export " + aggregateType + " to " + output, e);
+        }
+    }
+
+    /**
+     * Executor for running writes concurrently while keeping each aggregate's writes in order,
+     * with one thread per pooled connection. Close it when done; it does not close this client.
+     */
+    public OrderedExecutor orderedExecutor() {
+        ensureOpen();
+        return new OrderedExecutor(config.connectionPoolSize());
     }
 
+    /**
+     * Writes waiting in the spool, or zero when spooling is disabled.
+     */
+    public int spooledWrites() {
+        return spool == null ? 0 : spool.pending();
+    }
+
+    /**
+     * Counters for the snapshot cache, or {@code null} when
+     * {@link EventDbxConfig#snapshotCacheMaxBytes()} is zero.
+     */
+    public CacheStats snapshotCacheStats() {
+        return snapshotCache == null ? null : snapshotCache.stats();
+    }
+
+    /**
+     * Disconnect and release the transport's resources, such as the event cache directory.
+     */
     @Override
     public void close() {
         disconnect();
+        controlClient.close();
+    }
+
+    private static ControlClient transport(EventDbxConfig config) {
+        if (config.connectionPoolSize() == 1) {
+            return new NoiseControlClient(config);
+        }
+        EventCache eventCache = EventCache.open(config);
+        List<ControlClient> connections = new ArrayList<>(config.connectionPoolSize());
+        for (int i = 0; i < config.connectionPoolSize(); i++) {
+            connections.add(new NoiseControlClient(config, eventCache));
+        }
+        return new PooledControlClient(connections, config.requestTimeout(), eventCache);
+    }
+
+    /**
+     * Apply {@code call} to every item with at most {@link EventDbxConfig#connectionPoolSize()}
+     * calls in flight, returning results in item order. The first failure stops workers from
+     * taking further items and is rethrown.
+     */
+    private <I, R> List<R> fanOut(List<I> items, Function<I, R> call) {
+        int workers = Math.min(config.connectionPoolSize(), items.size());
+        List<R> results = new ArrayList<>(Collections.nCopies(items.size(), null));
+        if (workers <= 1) {
+            for (int i = 0; i < items.size(); i++) {
+                results.set(i, call.apply(items.get(i)));
+            }
+            return results;
+        }
+        AtomicInteger next = new AtomicInteger();
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[workers];
+        for (int w = 0; w < workers; w++) {
+            tasks[w] = CompletableFuture.runAsync(() -> {
+                for (int i = next.getAndIncrement(); i < items.size(); i = next.getAndIncrement()) {
+                    try {
+                        R result = call.apply(items.get(i));
+                        synchronized (results) {
+                            results.set(i, result);
+                        }
+                    } catch (RuntimeException e) {
+                        next.set(items.size());
+                        throw e;
+                    }
+                }
+            }, fanOutExecutor());
+        }
+        try {
+            CompletableFuture.allOf(tasks).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        synchronized (results) {
+            return results;
+        }
+    }
+
+    private synchronized ExecutorService fanOutExecutor() {
+        if (fanOutExecutor == null) {
+            AtomicInteger threads = new AtomicInteger();
+            fanOutExecutor = Executors.newFixedThreadPool(config.connectionPoolSize(), task -> {
+                Thread thread = new Thread(task, "eventdbx-fanout-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return fanOutExecutor;
+    }
+
+    /**
+     * Unbounded pool for publisher drain loops: each runs blocking fetches and subscriber
+     * callbacks, which may themselves call this client, so they must not share the bounded
+     * fan-out pool.
+     */
+    private synchronized ExecutorService publishExecutor() {
+        if (publishExecutor == null) {
+            AtomicInteger threads = new AtomicInteger();
+            publishExecutor = Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "eventdbx-publish-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return publishExecutor;
+    }
+
+    private BulkArchiveResult archiveWhere(String aggregateType, String filter, BulkArchiveOptions options, boolean archive) {
+        ensureOpen();
+        BulkArchiveOptions opts = options == null ? BulkArchiveOptions.defaults() : options;
+        return new BulkArchiver(this, fanOutExecutor(), opts.parallelism().orElse(config.connectionPoolSize()), opts)
+                .run(aggregateType, filter, archive);
+    }
+
+    private synchronized MerkleVerifier merkleVerifier() {
+        if (merkleVerifier == null) {
+            merkleVerifier = new MerkleVerifier(controlClient, fanOutExecutor(), config.decodePool(), config.merkleCacheMaxBytes());
+        }
+        return merkleVerifier;
+    }
+
+    private List<BatchResult> executeBatch(List<BatchOperation> operations) {
+        ensureOpen();
+        List<BatchResult> results;
+        try {
+            results = spool == null ? controlClient.batch(operations) : spoolingBatch(operations);
+        } finally {
+            operations.stream().filter(operation -> operation.kind() != BatchOperation.Kind.GET)
+                    .forEach(operation -> written(operation.aggregateType(), operation.aggregateId()));
+        }
+        results.forEach(this::remember);
+        return results;
+    }
+
+    /**
+     * Batch counterpart of {@link #spooling(BatchOperation, Supplier)}: spooled items succeed
+     * with a {@code null} value.
+     */
+    private List<BatchResult> spoolingBatch(List<BatchOperation> operations) {
+        BatchResult[] results = new BatchResult[operations.size()];
+        List<BatchOperation> send = new ArrayList<>();
+        List<Integer> sendIndexes = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            boolean pending = isWrite(operation.kind()) && spool.hasPending(operation.aggregateType(), operation.aggregateId());
+            if (pending && spoolable(operation)) {
+                results[i] = spoolResult(operation, null);
+            } else if (pending) {
+                results[i] = BatchResult.failure(operation, behindSpool(operation));
+            } else {
+                send.add(operation);
+                sendIndexes.add(i);
+            }
+        }
+        List<BatchResult> sent;
+        try {
+            sent = send.isEmpty() ? List.of() : controlClient.batch(send);
+        } catch (EventDbxConnectionException e) {
+            sent = send.stream().map(operation -> BatchResult.failure(operation, e)).toList();
+        }
+        for (int i = 0; i < sent.size(); i++) {
+            BatchResult result = sent.get(i);
+            if (result.error() instanceof EventDbxConnectionException cause && spoolable(result.operation())) {
+                result = spoolResult(result.operation(), cause);
+            }
+            results[sendIndexes.get(i)] = result;
+        }
+        return List.of(results);
+    }
+
+    private BatchResult spoolResult(BatchOperation operation, EventDbxConnectionException cause) {
+        try {
+            spool(operation, cause);
+            return BatchResult.success(operation, null);
+        } catch (EventDbxException e) {
+            return BatchResult.failure(operation, e);
+        }
+    }
+
+    /**
+     * Run a write, or spool it when spooling is enabled and either the server cannot be reached or
+     * earlier writes to the aggregate are still spooled. Returns {@code null} when spooled.
+     */
+    private <T> T spooling(BatchOperation operation, Supplier<T> call) {
+        if (spool == null) {
+            return call.get();
+        }
+        boolean pending = spool.hasPending(operation.aggregateType(), operation.aggregateId());
+        if (!spoolable(operation)) {
+            if (pending) {
+                throw behindSpool(operation);
+            }
+            return call.get();
+        }
+        if (!pending) {
+            try {
+                return call.get();
+            } catch (EventDbxConnectionException e) {
+                spool(operation, e);
+                return null;
+            }
+        }
+        spool(operation, null);
+        return null;
+    }
+
+    /**
+     * Run a keyed write, retrying connection failures with the configured backoff. Only for
+     * writes carrying an idempotency key: a failed attempt may still have been applied.
+     */
+    private <T> T retrying(Supplier<T> call) {
+        RetryPolicy policy = config.retryPolicy();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.get();
+            } catch (EventDbxConnectionException e) {
+                if (attempt >= policy.maxAttempts()) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(policy.delayForAttempt(attempt + 1).toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void spool(BatchOperation operation, EventDbxConnectionException cause) {
+        try {
+            spool.append(operation);
+        } catch (IOException | EventDbxException e) {
+            EventDbxException failure = e instanceof EventDbxException spoolError ? spoolError : new EventDbxException("Failed to spool write", e);
+            if (cause != null) {
+                failure.addSuppressed(cause);
+            }
+            throw failure;
+        }
+        if (snapshotCache != null) {
+            snapshotCache.invalidate(operation.aggregateType(), operation.aggregateId());
+        }
+        replayer.wake();
+    }
+
+    /**
+     * Whether a write can be spooled. Writes with a per-call token cannot, since the spool never
+     * stores credentials. Nor can patches without an expected version: they carry no idempotency
+     * key, and a connection failure may come after the server applied them, so replaying them
+     * could apply them twice.
+     */
+    private static boolean spoolable(BatchOperation operation) {
+        return switch (operation.kind()) {
+            case APPEND -> operation.appendOptions().token().isEmpty();
+            case CREATE -> operation.createOptions().token().isEmpty();
+            case PATCH -> operation.patchOptions().token().isEmpty() && operation.patchOptions().expectedVersion().isPresent();
+            default -> false;
+        };
+    }
+
+    private static boolean isWrite(BatchOperation.Kind kind) {
+        return kind == BatchOperation.Kind.APPEND || kind == BatchOperation.Kind.CREATE || kind == BatchOperation.Kind.PATCH;
+    }
+
+    private static EventDbxException behindSpool(BatchOperation operation) {
+        String reason = operation.kind() == BatchOperation.Kind.PATCH && operation.patchOptions().expectedVersion().isEmpty()
+                ? "has no expected version"
+                : "carries its own token";
+        return new EventDbxException("Write to " + operation.aggregateType() + "/" + operation.aggregateId()
+                + " " + reason + ", so it cannot be spooled behind the writes already spooled for the aggregate");
+    }
+
+    private void replayed(BatchResult result) {
+        written(result.operation().aggregateType(), result.operation().aggregateId());
+        remember(result);
+    }
+
+    private void remember(BatchResult result) {
+        if (snapshotCache == null || !result.isSuccess()) {
+            return;
+        }
+        BatchOperation operation = result.operation();
+        if (operation.kind() == BatchOperation.Kind.APPEND) {
+            if (result.event() != null) {
+                snapshotCache.onAppend(operation.aggregateType(), operation.aggregateId(), result.event());
+            }
+        } else if (result.aggregate() != null) {
+            snapshotCache.update(result.aggregate());
+        }
+    }
+
+    /**
+     * Run a write to the aggregate, then keep reads started before it from being shared with reads
+     * after it; also when the write fails, since it may still have been applied.
+     */
+    private <T> T written(String aggregateType, String aggregateId, Supplier<T> write) {
+        try {
+            return write.get();
+        } finally {
+            written(aggregateType, aggregateId);
+        }
+    }
+
+    private void written(String aggregateType, String aggregateId) {
+        reads.forget(key -> key instanceof List<?> parts && parts.get(1).equals(aggregateType) && parts.get(2).equals(aggregateId));
+    }
+
+    private AggregateSnapshot cached(AggregateSnapshot snapshot) {
+        if (snapshotCache != null) {
+            snapshotCache.update(snapshot);
+        }
+        return snapshot;
+    }
+
+    private <T> Stream<T> stream(Function<String, Page<T>> fetcher, PageOptions options, StreamOptions streamOptions) {
+        PageSpliterator<T> spliterator = new PageSpliterator<>(
+                fetcher,
+                options.cursor().orElse(null),
+                streamOptions == null ? StreamOptions.defaults() : streamOptions);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
+    private static <T> Stream<T> flatten(PageStream<T> pages) {
+        Spliterator<Page<T>> spliterator = Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false)
+                .onClose(pages::close)
+                .flatMap(page -> page.items().stream());
+    }
+
+    private <T> Flow.Publisher<T> publisher(BiFunction<String, Integer, Page<T>> fetcher, PageOptions options, Executor executor) {
+        return new PagePublisher<>(
+                fetcher,
+                options.cursor().orElse(null),
+                options.take().orElse(PagePublisher.DEFAULT_MAX_TAKE),
+                executor == null ? publishExecutor() : executor);
     }
 
     private void ensureOpen() {
@@ -1,7 +1,9 @@
 package com.eventdbx.client;
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Client configuration for the EventDBX control socket (Noise + Cap'n Proto).
@@ -16,6 +18,18 @@ public final class EventDbxConfig {
     private final boolean verbose;
     private final boolean noNoise;
     private final RetryPolicy retryPolicy;
+    private final int stringDictionarySize;
+    private final int parallelDecodeThreshold;
+    private final ForkJoinPool decodePool;
+    private final long snapshotCacheMaxBytes;
+    private final Duration snapshotCacheRevalidateAfter;
+    private final long eventCacheMemoryBytes;
+    private final Path eventCacheDirectory;
+    private final long eventCacheDiskBytes;
+    private final int connectionPoolSize;
+    private final Path spoolDirectory;
+    private final long spoolMaxBytes;
+    private final long merkleCacheMaxBytes;
 
     private EventDbxConfig(Builder builder) {
         this.host = builder.host;
@@ -27,6 +41,18 @@ public final class EventDbxConfig {
         this.verbose = builder.verbose;
         this.noNoise = builder.noNoise;
         this.retryPolicy = builder.retryPolicy;
+        this.stringDictionarySize = builder.stringDictionarySize;
+        this.parallelDecodeThreshold = builder.parallelDecodeThreshold;
+        this.decodePool = builder.decodePool;
+        this.snapshotCacheMaxBytes = builder.snapshotCacheMaxBytes;
+        this.snapshotCacheRevalidateAfter = builder.snapshotCacheRevalidateAfter;
+        this.eventCacheMemoryBytes = builder.eventCacheMemoryBytes;
+        this.eventCacheDirectory = builder.eventCacheDirectory;
+        this.eventCacheDiskBytes = builder.eventCacheDiskBytes;
+        this.connectionPoolSize = builder.connectionPoolSize;
+        this.spoolDirectory = builder.spoolDirectory;
+        this.spoolMaxBytes = builder.spoolMaxBytes;
+        this.merkleCacheMaxBytes = builder.merkleCacheMaxBytes;
     }
 
     public String host() {
@@ -65,6 +91,97 @@ public final class EventDbxConfig {
         return retryPolicy;
     }
 
+    /**
+     * Number of slots in the per-client dictionary used to dedupe aggregate types, event types and
+     * actor claims while decoding responses. Zero disables deduplication.
+     */
+    public int stringDictionarySize() {
+        return stringDictionarySize;
+    }
+
+    /**
+     * Size in bytes at which list/events responses are decoded in parallel. Zero disables
+     * parallel decoding.
+     */
+    public int parallelDecodeThreshold() {
+        return parallelDecodeThreshold;
+    }
+
+    public ForkJoinPool decodePool() {
+        return decodePool;
+    }
+
+    /**
+     * Approximate heap budget for the aggregate snapshot cache in front of {@code get}/{@code select}.
+     * Zero disables the cache.
+     */
+    public long snapshotCacheMaxBytes() {
+        return snapshotCacheMaxBytes;
+    }
+
+    /**
+     * Age after which a cached snapshot is revalidated with a conditional get before being served.
+     * Zero revalidates on every read.
+     */
+    public Duration snapshotCacheRevalidateAfter() {
+        return snapshotCacheRevalidateAfter;
+    }
+
+    /**
+     * Off-heap budget for cached raw event JSON consulted by {@code events()}. Zero disables the
+     * memory tier.
+     */
+    public long eventCacheMemoryBytes() {
+        return eventCacheMemoryBytes;
+    }
+
+    /**
+     * Directory for the memory-mapped event cache segments, kept across restarts. Each server and
+     * tenant gets a subdirectory of its own. {@code null} disables the disk tier.
+     */
+    public Path eventCacheDirectory() {
+        return eventCacheDirectory;
+    }
+
+    public long eventCacheDiskBytes() {
+        return eventCacheDiskBytes;
+    }
+
+    /**
+     * Number of control connections {@link EventDbxClient} opens. Bulk operations such as
+     * {@code getAll} run up to this many requests in parallel.
+     */
+    public int connectionPoolSize() {
+        return connectionPoolSize;
+    }
+
+    /**
+     * Directory for the write spool. When set, appends, creates and patches that fail because the
+     * server cannot be reached are spooled there and replayed in order once it is back, using the
+     * client's own token. Writes with a per-call token are not spooled. {@code null} disables
+     * spooling.
+     */
+    public Path spoolDirectory() {
+        return spoolDirectory;
+    }
+
+    /**
+     * Disk budget for the write spool. The spool is made of segments of at least 64 KiB, so this
+     * is at least that much.
+     */
+    public long spoolMaxBytes() {
+        return spoolMaxBytes;
+    }
+
+    /**
+     * Approximate heap budget for the merkle trees kept by
+     * {@link EventDbxClient#verifyLocally(String, String)} so that re-verifying an aggregate only
+     * hashes events appended since. Zero disables the cache.
+     */
+    public long merkleCacheMaxBytes() {
+        return merkleCacheMaxBytes;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -79,6 +196,18 @@ public final class EventDbxConfig {
         private Duration connectTimeout = Duration.ofSeconds(3);
         private Duration requestTimeout = Duration.ofSeconds(10);
         private RetryPolicy retryPolicy = RetryPolicy.defaultPolicy();
+        private int stringDictionarySize = 1024;
+        private int parallelDecodeThreshold;
+        private ForkJoinPool decodePool = ForkJoinPool.commonPool();
+        private long snapshotCacheMaxBytes;
+        private Duration snapshotCacheRevalidateAfter = Duration.ofSeconds(1);
+        private long eventCacheMemoryBytes;
+        private Path eventCacheDirectory;
+        private long eventCacheDiskBytes = 1024L * 1024 * 1024;
+        private int connectionPoolSize = 1;
+        private Path spoolDirectory;
+        private long spoolMaxBytes = 256L * 1024 * 1024;
+        private long merkleCacheMaxBytes = 32L * 1024 * 1024;
 
         private static String defaultHost() {
             return System.getenv().getOrDefault("EVENTDBX_HOST", "127.0.0.1");
@@ -169,6 +298,94 @@ public final class EventDbxConfig {
             return this;
         }
 
+        public Builder stringDictionarySize(int stringDictionarySize) {
+            if (stringDictionarySize < 0) {
+                throw new IllegalArgumentException("stringDictionarySize must be >= 0");
+            }
+            this.stringDictionarySize = stringDictionarySize;
+            return this;
+        }
+
+        public Builder parallelDecodeThreshold(int parallelDecodeThreshold) {
+            if (parallelDecodeThreshold < 0) {
+                throw new IllegalArgumentException("parallelDecodeThreshold must be >= 0");
+            }
+            this.parallelDecodeThreshold = parallelDecodeThreshold;
+            return this;
+        }
+
+        public Builder decodePool(ForkJoinPool decodePool) {
+            this.decodePool = Objects.requireNonNull(decodePool, "decodePool");
+            return this;
+        }
+
+        public Builder snapshotCacheMaxBytes(long snapshotCacheMaxBytes) {
+            if (snapshotCacheMaxBytes < 0) {
+                throw new IllegalArgumentException("snapshotCacheMaxBytes must be >= 0");
+            }
+            this.snapshotCacheMaxBytes = snapshotCacheMaxBytes;
+            return this;
+        }
+
+        public Builder snapshotCacheRevalidateAfter(Duration snapshotCacheRevalidateAfter) {
+            Objects.requireNonNull(snapshotCacheRevalidateAfter, "snapshotCacheRevalidateAfter");
+            if (snapshotCacheRevalidateAfter.isNegative()) {
+                throw new IllegalArgumentException("snapshotCacheRevalidateAfter must be >= 0");
+            }
+            this.snapshotCacheRevalidateAfter = snapshotCacheRevalidateAfter;
+            return this;
+        }
+
+        public Builder eventCacheMemoryBytes(long eventCacheMemoryBytes) {
+            if (eventCacheMemoryBytes < 0) {
+                throw new IllegalArgumentException("eventCacheMemoryBytes must be >= 0");
+            }
+            this.eventCacheMemoryBytes = eventCacheMemoryBytes;
+            return this;
+        }
+
+        public Builder eventCacheDirectory(Path eventCacheDirectory) {
+            this.eventCacheDirectory = eventCacheDirectory;
+            return this;
+        }
+
+        public Builder eventCacheDiskBytes(long eventCacheDiskBytes) {
+            if (eventCacheDiskBytes < 0) {
+                throw new IllegalArgumentException("eventCacheDiskBytes must be >= 0");
+            }
+            this.eventCacheDiskBytes = eventCacheDiskBytes;
+            return this;
+        }
+
+        public Builder connectionPoolSize(int connectionPoolSize) {
+            if (connectionPoolSize < 1) {
+                throw new IllegalArgumentException("connectionPoolSize must be >= 1");
+            }
+            this.connectionPoolSize = connectionPoolSize;
+            return this;
+        }
+
+        public Builder spoolDirectory(Path spoolDirectory) {
+            this.spoolDirectory = spoolDirectory;
+            return this;
+        }
+
+        public Builder spoolMaxBytes(long spoolMaxBytes) {
+            if (spoolMaxBytes < WriteSpool.MIN_SEGMENT_BYTES) {
+                throw new IllegalArgumentException("spoolMaxBytes must be >= " + WriteSpool.MIN_SEGMENT_BYTES);
+            }
+            this.spoolMaxBytes = spoolMaxBytes;
+            return this;
+        }
+
+        public Builder merkleCacheMaxBytes(long merkleCacheMaxBytes) {
+            if (merkleCacheMaxBytes < 0) {
+                throw new IllegalArgumentException("merkleCacheMaxBytes must be >= 0");
+            }
+            this.merkleCacheMaxBytes = merkleCacheMaxBytes;
+            return this;
+        }
+
         public EventDbxConfig build() {
             Objects.requireNonNull(host, "host");
             Objects.requireNonNull(connectTimeout, "connectTimeout");
@@ -0,0 +1,22 @@
+package com.eventdbx.client;
+
+/**
+ * The server rejected a write because the aggregate was not at the version given by
+ * {@link AppendOptions#expectedVersion()} or {@link PatchOptions#expectedVersion()}. Re-read the
+ * aggregate and decide whether to retry; nothing was written.
+ */
+public class EventDbxConflictException extends EventDbxException {
+    private final String code;
+
+    public EventDbxConflictException(String code, String message) {
+        super(message);
+        this.code = code;
+    }
+
+    /**
+     * Error code the server reported.
+     */
+    public String code() {
+        return code;
+    }
+}
@@ -0,0 +1,15 @@
+package com.eventdbx.client;
+
+/**
+ * The control connection could not be opened or failed mid-request. A write that failed this way
+ * may or may not have reached the server.
+ */
+public class EventDbxConnectionException extends EventDbxException {
+    public EventDbxConnectionException(String message) {
+        super(message);
+    }
+
+    public EventDbxConnectionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
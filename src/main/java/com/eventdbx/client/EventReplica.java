@@ -0,0 +1,175 @@
+package com.eventdbx.client;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Local mirror of the event histories of selected aggregate types, kept in an append-only,
+ * memory-mapped log on disk.
+ * <p>
+ * {@link #catchUp()} walks {@code list()} for each type and, for every aggregate whose server
+ * version is ahead of the local copy, fetches only the missing events with {@code events()}
+ * from the next version on. Each aggregate's replicated version is recovered from the log itself
+ * on open, and the {@code list()} cursor of an interrupted sweep is checkpointed next to it, so a
+ * restarted process resumes where it stopped instead of downloading full histories again. Reads
+ * are served from the local log without contacting the server.
+ * <pre>{@code
+ * try (EventReplica replica = EventReplica.open(client, Path.of("replica"), List.of("person"))) {
+ *     replica.catchUp();
+ *     List<EventRecord> history = replica.events("person", "p-1");
+ * }
+ * }</pre>
+ */
+public final class EventReplica implements AutoCloseable {
+    private static final String CURSORS_FILE = "cursors.json";
+    private static final int LIST_PAGE_SIZE = 100;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final EventDbxClient client;
+    private final List<String> aggregateTypes;
+    private final Path directory;
+    private final ReplicaLog log;
+    private final Map<String, String> listCursors;
+    private final RecordEncoder encoder = new RecordEncoder(MAPPER);
+    private final RecordDecoder decoder = new RecordDecoder(MAPPER, new StringDictionary(1024));
+
+    private EventReplica(EventDbxClient client, List<String> aggregateTypes, Path directory, ReplicaLog log, Map<String, String> listCursors) {
+        this.client = client;
+        this.aggregateTypes = aggregateTypes;
+        this.directory = directory;
+        this.log = log;
+        this.listCursors = listCursors;
+    }
+
+    /**
+     * Open (or create) the replica in {@code directory}. Only one process may hold a directory at
+     * a time.
+     */
+    public static EventReplica open(EventDbxClient client, Path directory, Collection<String> aggregateTypes) {
+        Objects.requireNonNull(client, "client");
+        Objects.requireNonNull(directory, "directory");
+        try {
+            ReplicaLog log = new ReplicaLog(directory);
+            Path cursors = directory.resolve(CURSORS_FILE);
+            Map<String, String> listCursors = Files.exists(cursors)
+                    ? MAPPER.readValue(cursors.toFile(), new TypeReference<HashMap<String, String>>() {})
+                    : new HashMap<>();
+            return new EventReplica(client, List.copyOf(aggregateTypes), directory, log, listCursors);
+        } catch (IOException e) {
+            throw new EventDbxException("Failed to open replica at " + directory, e);
+        }
+    }
+
+    /**
+     * Bring the replica up to date with the server and return the number of events appended.
+     */
+    public synchronized long catchUp() {
+        long appended = 0;
+        for (String aggregateType : aggregateTypes) {
+            String cursor = listCursors.get(aggregateType);
+            do {
+                Page<AggregateSnapshot> page = client.list(aggregateType, PageOptions.builder().cursor(cursor).take(LIST_PAGE_SIZE).build());
+                for (AggregateSnapshot aggregate : page.items()) {
+                    appended += catchUp(aggregateType, aggregate.aggregateId(), aggregate.version());
+                }
+                cursor = blankToNull(page.nextCursor());
+                checkpoint(aggregateType, cursor);
+            } while (cursor != null);
+        }
+        return appended;
+    }
+
+    public List<EventRecord> events(String aggregateType, String aggregateId) {
+        return events(aggregateType, aggregateId, 0);
+    }
+
+    /**
+     * Replicated events of an aggregate from {@code fromVersion} on, read from the local log.
+     */
+    public List<EventRecord> events(String aggregateType, String aggregateId, long fromVersion) {
+        List<byte[]> events = log.read(aggregateType, aggregateId, fromVersion);
+        if (events.isEmpty()) {
+            return List.of();
+        }
+        byte[] json = RecordDecoder.joinArray(events);
+        return decoder.decodeEvents(json, 0, json.length);
+    }
+
+    /**
+     * Highest replicated version of an aggregate, or {@code 0} when it is not held locally.
+     */
+    public long version(String aggregateType, String aggregateId) {
+        return log.lastVersion(aggregateType, aggregateId);
+    }
+
+    public Set<String> aggregateIds(String aggregateType) {
+        return log.aggregateIds(aggregateType);
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            log.close();
+        } catch (IOException e) {
+            throw new EventDbxException("Failed to close replica at " + directory, e);
+        }
+    }
+
+    private long catchUp(String aggregateType, String aggregateId, long serverVersion) {
+        long local = log.lastVersion(aggregateType, aggregateId);
+        if (local >= serverVersion) {
+            return 0;
+        }
+        PageOptions.Builder options = PageOptions.builder().fromVersion(local + 1);
+        long appended = 0;
+        String cursor = null;
+        do {
+            Page<EventRecord> page = client.events(aggregateType, aggregateId, options.cursor(cursor).build());
+            try {
+                for (EventRecord event : page.items()) {
+                    log.append(aggregateType, aggregateId, event.version(), encoder.encodeEvent(event));
+                    appended++;
+                }
+            } catch (IOException e) {
+                throw new EventDbxException("Failed to append to replica at " + directory, e);
+            }
+            cursor = page.items().isEmpty() ? null : blankToNull(page.nextCursor());
+        } while (cursor != null && log.lastVersion(aggregateType, aggregateId) < serverVersion);
+        return appended;
+    }
+
+    /**
+     * Make appended events durable before recording the {@code list()} position that depends on
+     * them.
+     */
+    private void checkpoint(String aggregateType, String cursor) {
+        log.flush();
+        if (cursor == null) {
+            listCursors.remove(aggregateType);
+        } else {
+            listCursors.put(aggregateType, cursor);
+        }
+        try {
+            Path temp = directory.resolve(CURSORS_FILE + ".tmp");
+            MAPPER.writeValue(temp.toFile(), listCursors);
+            Files.move(temp, directory.resolve(CURSORS_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new EventDbxException("Failed to checkpoint replica at " + directory, e);
+        }
+    }
+
+    private static String blankToNull(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : cursor;
+    }
+}
@@ -0,0 +1,116 @@
+package com.eventdbx.client;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Controls how {@link EventDbxClient#exportEvents(String, Path, ExportOptions)} selects, fetches
+ * and writes aggregates.
+ */
+public final class ExportOptions {
+    private final PageOptions listOptions;
+    private final int pageSize;
+    private final int window;
+    private final boolean gzip;
+    private final Path checkpointFile;
+
+    private ExportOptions(Builder builder) {
+        this.listOptions = builder.listOptions;
+        this.pageSize = builder.pageSize;
+        this.window = builder.window;
+        this.gzip = builder.gzip;
+        this.checkpointFile = builder.checkpointFile;
+    }
+
+    public static ExportOptions defaults() {
+        return builder().build();
+    }
+
+    /**
+     * Options for listing the aggregates to export, such as a filter or
+     * {@link PageOptions#includeArchived()}. The cursor and take are managed by the export.
+     */
+    public PageOptions listOptions() {
+        return listOptions;
+    }
+
+    /**
+     * Aggregates listed per page. Each page is written and checkpointed as a unit.
+     */
+    public int pageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Aggregates whose events may be fetched ahead of the one being written. This bounds memory
+     * to about this many aggregates' events.
+     */
+    public int window() {
+        return window;
+    }
+
+    /**
+     * Whether the output is gzip-compressed; on by default.
+     */
+    public boolean gzip() {
+        return gzip;
+    }
+
+    /**
+     * File recording the list cursor and output length after each page. When it exists at the
+     * start, the export truncates the output to the recorded length and resumes from the cursor;
+     * it fails if the checkpoint names another output file or the output is shorter than
+     * recorded. A checkpoint of a finished export starts the export over.
+     */
+    public Optional<Path> checkpointFile() {
+        return Optional.ofNullable(checkpointFile);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private PageOptions listOptions = PageOptions.builder().build();
+        private int pageSize = 500;
+        private int window = 64;
+        private boolean gzip = true;
+        private Path checkpointFile;
+
+        public Builder listOptions(PageOptions listOptions) {
+            this.listOptions = Objects.requireNonNull(listOptions, "listOptions");
+            return this;
+        }
+
+        public Builder pageSize(int pageSize) {
+            if (pageSize <= 0) {
+                throw new IllegalArgumentException("pageSize must be > 0");
+            }
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        public Builder window(int window) {
+            if (window <= 0) {
+                throw new IllegalArgumentException("window must be > 0");
+            }
+            this.window = window;
+            return this;
+        }
+
+        public Builder gzip(boolean gzip) {
+            this.gzip = gzip;
+            return this;
+        }
+
+        public Builder checkpointFile(Path checkpointFile) {
+            this.checkpointFile = checkpointFile;
+            return this;
+        }
+
+        public ExportOptions build() {
+            return new ExportOptions(this);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.eventdbx.client;
+
+/**
+ * Outcome of {@link EventDbxClient#exportEvents(String, java.nio.file.Path, ExportOptions)}.
+ * Counts include pages written by earlier runs the export resumed from.
+ */
+public final class ExportResult {
+    private final long aggregates;
+    private final long events;
+    private final boolean resumed;
+
+    ExportResult(long aggregates, long events, boolean resumed) {
+        this.aggregates = aggregates;
+        this.events = events;
+        this.resumed = resumed;
+    }
+
+    public long aggregates() {
+        return aggregates;
+    }
+
+    public long events() {
+        return events;
+    }
+
+    /**
+     * Whether this run continued from a checkpoint.
+     */
+    public boolean resumed() {
+        return resumed;
+    }
+}
@@ -0,0 +1,42 @@
+package com.eventdbx.client;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Generates the idempotency keys attached to appends and creates.
+ * <p>
+ * Keys are UUIDv7 strings: a millisecond timestamp followed by a random per-thread node and a
+ * per-thread sequence, so keys sort by creation time and those from one thread sort in the order
+ * they were made. Each thread keeps its own state, so generating a key takes no lock and shares
+ * nothing with other threads.
+ */
+public final class IdempotencyKeys {
+    private static final SecureRandom SEEDS = new SecureRandom();
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private IdempotencyKeys() {
+    }
+
+    public static String next() {
+        return STATE.get().next().toString();
+    }
+
+    private static final class State {
+        // 30 random bits identifying this thread, then a 44-bit sequence starting at a random
+        // 32-bit value so threads that happen to share a node still rarely meet.
+        private final long node = SEEDS.nextLong() & 0x3FFF_FFFFL;
+        private long sequence = SEEDS.nextInt() & 0xFFFF_FFFFL;
+        private long lastMillis;
+
+        UUID next() {
+            // Never step back with the wall clock, so one thread's keys stay ordered.
+            long millis = Math.max(System.currentTimeMillis(), lastMillis);
+            lastMillis = millis;
+            long seq = sequence++;
+            long high = (millis & 0xFFFF_FFFF_FFFFL) << 16 | 0x7000L | (seq >>> 32 & 0xFFFL);
+            long low = 0x8000_0000_0000_0000L | node << 32 | (seq & 0xFFFF_FFFFL);
+            return new UUID(high, low);
+        }
+    }
+}
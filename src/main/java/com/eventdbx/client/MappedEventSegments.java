@@ -0,0 +1,198 @@
+package com.eventdbx.client;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Disk tier of the event cache: raw event JSON appended to fixed-size, memory-mapped segment
+ * files.
+ * <p>
+ * Each record is {@code [int length][int crc32][short keyLength][key][json]}; the length is
+ * written last, so a torn write at the tail reads as the end of the segment. The in-memory index
+ * is rebuilt by scanning the segments on open, which is what lets cached history survive
+ * restarts. When the directory exceeds its byte budget the oldest segment is deleted as a whole.
+ * The directory is locked for the lifetime of the instance. Not thread-safe.
+ */
+final class MappedEventSegments implements Closeable {
+    private static final String SUFFIX = ".seg";
+    private static final int HEADER_BYTES = 10;
+    private static final int MAX_SEGMENT_BYTES = 64 * 1024 * 1024;
+    private static final int MIN_SEGMENT_BYTES = 64 * 1024;
+
+    private final Path directory;
+    private final long maxBytes;
+    private final int segmentBytes;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private final Map<String, Location> index = new HashMap<>();
+    private long nextSegmentId;
+
+    MappedEventSegments(Path directory, long maxBytes) throws IOException {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.segmentBytes = (int) Math.min(MAX_SEGMENT_BYTES, Math.max(MIN_SEGMENT_BYTES, maxBytes / 4));
+        Files.createDirectories(directory);
+        this.lockChannel = FileChannel.open(directory.resolve("lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock acquired = lockChannel.tryLock();
+        if (acquired == null) {
+            lockChannel.close();
+            throw new IOException("Event cache directory " + directory + " is in use by another process");
+        }
+        this.lock = acquired;
+        for (Path file : existingSegments()) {
+            Segment segment = map(file, Long.parseLong(file.getFileName().toString().replace(SUFFIX, "")));
+            scan(segment);
+            segments.addLast(segment);
+            nextSegmentId = segment.id + 1;
+        }
+    }
+
+    byte[] get(String key) {
+        Location location = index.get(key);
+        if (location == null) {
+            return null;
+        }
+        byte[] json = new byte[location.length];
+        location.segment.buffer.get(location.offset, json);
+        return json;
+    }
+
+    void put(String key, byte[] json, int offset, int length) throws IOException {
+        if (index.containsKey(key)) {
+            return;
+        }
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int recordBytes = HEADER_BYTES + keyBytes.length + length;
+        if (recordBytes > segmentBytes || keyBytes.length > Short.MAX_VALUE) {
+            return;
+        }
+        Segment segment = segments.peekLast();
+        if (segment == null || segment.writePosition + recordBytes > segment.buffer.capacity()) {
+            segment = roll();
+        }
+        MappedByteBuffer buffer = segment.buffer;
+        int position = segment.writePosition;
+        buffer.putShort(position + 8, (short) keyBytes.length);
+        buffer.put(position + HEADER_BYTES, keyBytes);
+        buffer.put(position + HEADER_BYTES + keyBytes.length, json, offset, length);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(position + 8, recordBytes - 8));
+        buffer.putInt(position + 4, (int) crc.getValue());
+        buffer.putInt(position, recordBytes - 8);
+        index.put(key, new Location(segment, position + HEADER_BYTES + keyBytes.length, length));
+        segment.keys.add(key);
+        segment.writePosition += recordBytes;
+    }
+
+    int size() {
+        return index.size();
+    }
+
+    void flush() {
+        for (Segment segment : segments) {
+            segment.buffer.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        segments.clear();
+        index.clear();
+        lock.release();
+        lockChannel.close();
+    }
+
+    private Segment roll() throws IOException {
+        Segment segment = map(directory.resolve(String.format("%016d%s", nextSegmentId, SUFFIX)), nextSegmentId);
+        nextSegmentId++;
+        segments.addLast(segment);
+        while (segments.size() > 1 && (long) segments.size() * segmentBytes > maxBytes) {
+            Segment oldest = segments.removeFirst();
+            for (String key : oldest.keys) {
+                index.remove(key);
+            }
+            Files.deleteIfExists(oldest.file);
+        }
+        return segment;
+    }
+
+    private Segment map(Path file, long id) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = Math.max(channel.size(), segmentBytes);
+            return new Segment(id, file, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+    }
+
+    private void scan(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        int position = 0;
+        while (position + HEADER_BYTES <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length < HEADER_BYTES - 8 || position + 8 + length > buffer.capacity()) {
+                break;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(position + 8, length));
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            int keyLength = buffer.getShort(position + 8);
+            byte[] keyBytes = new byte[keyLength];
+            buffer.get(position + HEADER_BYTES, keyBytes);
+            String key = new String(keyBytes, StandardCharsets.UTF_8);
+            int jsonOffset = position + HEADER_BYTES + keyLength;
+            index.put(key, new Location(segment, jsonOffset, position + 8 + length - jsonOffset));
+            segment.keys.add(key);
+            position += 8 + length;
+        }
+        segment.writePosition = position;
+    }
+
+    private List<Path> existingSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+    }
+
+    private static final class Segment {
+        private final long id;
+        private final Path file;
+        private final MappedByteBuffer buffer;
+        private final List<String> keys = new ArrayList<>();
+        private int writePosition;
+
+        private Segment(long id, Path file, MappedByteBuffer buffer) {
+            this.id = id;
+            this.file = file;
+            this.buffer = buffer;
+        }
+    }
+
+    private static final class Location {
+        private final Segment segment;
+        private final int offset;
+        private final int length;
+
+        private Location(Segment segment, int offset, int length) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
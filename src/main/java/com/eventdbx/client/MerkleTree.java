@@ -0,0 +1,111 @@
+package com.eventdbx.client;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Append-only merkle tree over event hashes that keeps every level, so appending only rehashes
+ * the right edge and the root of any prefix can be read back in logarithmic time.
+ * <p>
+ * A parent is the SHA-256 of its two children's digests concatenated; a node left without a
+ * sibling is carried up a level unchanged. Levels with many new nodes are hashed in parallel on
+ * the given pool. Not thread-safe.
+ */
+final class MerkleTree {
+    private static final int PARALLEL_THRESHOLD = 1024;
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    });
+
+    private final List<List<byte[]>> levels = new ArrayList<>();
+
+    MerkleTree() {
+        levels.add(new ArrayList<>());
+    }
+
+    int size() {
+        return levels.get(0).size();
+    }
+
+    /**
+     * Approximate heap footprint, for cache weighing.
+     */
+    long weight() {
+        long nodes = 0;
+        for (List<byte[]> level : levels) {
+            nodes += level.size();
+        }
+        return 64 + nodes * 56;
+    }
+
+    void append(List<byte[]> leaves, ForkJoinPool pool) {
+        int start = size();
+        levels.get(0).addAll(leaves);
+        for (int level = 1; levels.get(level - 1).size() > 1; level++) {
+            List<byte[]> below = levels.get(level - 1);
+            if (levels.size() == level) {
+                levels.add(new ArrayList<>());
+            }
+            List<byte[]> nodes = levels.get(level);
+            int from = start / 2;
+            int to = (below.size() + 1) / 2;
+            // The node at 'from' may have been carried up without its sibling; recompute it.
+            nodes.subList(Math.min(from, nodes.size()), nodes.size()).clear();
+            byte[][] computed = new byte[to - from][];
+            if (to - from >= PARALLEL_THRESHOLD) {
+                pool.submit(() -> IntStream.range(from, to).parallel().forEach(i -> computed[i - from] = parent(below, i))).join();
+            } else {
+                for (int i = from; i < to; i++) {
+                    computed[i - from] = parent(below, i);
+                }
+            }
+            nodes.addAll(Arrays.asList(computed));
+            start = from;
+        }
+    }
+
+    /**
+     * Root of the tree over the first {@code count} leaves.
+     */
+    byte[] root(int count) {
+        if (count <= 0 || count > size()) {
+            throw new IllegalArgumentException("count out of range: " + count);
+        }
+        // A prefix splits into perfect subtrees whose roots are already stored; fold them from the
+        // right, which is what carrying unpaired nodes upwards amounts to.
+        List<byte[]> subtrees = new ArrayList<>();
+        int offset = 0;
+        for (int level = 31 - Integer.numberOfLeadingZeros(count); level >= 0; level--) {
+            if ((count & (1 << level)) != 0) {
+                subtrees.add(levels.get(level).get(offset >> level));
+                offset += 1 << level;
+            }
+        }
+        byte[] root = subtrees.get(subtrees.size() - 1);
+        for (int i = subtrees.size() - 2; i >= 0; i--) {
+            root = hash(subtrees.get(i), root);
+        }
+        return root;
+    }
+
+    private static byte[] parent(List<byte[]> below, int index) {
+        int left = index * 2;
+        return left + 1 < below.size() ? hash(below.get(left), below.get(left + 1)) : below.get(left);
+    }
+
+    private static byte[] hash(byte[] left, byte[] right) {
+        MessageDigest digest = SHA256.get();
+        digest.update(left);
+        digest.update(right);
+        return digest.digest();
+    }
+}
@@ -0,0 +1,148 @@
+package com.eventdbx.client;
+
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Checks an aggregate's events against its merkle root on the client.
+ * <p>
+ * The event hashes are the leaves of a {@link MerkleTree}. Every event's recorded merkle root must
+ * equal the root over the events up to it, which ties each event to all those before it, and the
+ * root over all events must equal the snapshot's. Events are fetched in version ranges on
+ * {@code fetchExecutor}, one range per request, and the hashing and per-event checks run on the
+ * fork-join pool. Trees of aggregates that verified cleanly are cached, so verifying one again
+ * fetches and hashes only the events appended since.
+ * <p>
+ * The event hashes themselves are taken as the server reports them: recomputing one needs the
+ * server's canonical event encoding, which the control protocol does not describe.
+ */
+final class MerkleVerifier {
+    private static final int RANGE = 1000;
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final ControlClient client;
+    private final Executor fetchExecutor;
+    private final ForkJoinPool pool;
+    private final WTinyLfuCache<String, MerkleTree> trees;
+
+    MerkleVerifier(ControlClient client, Executor fetchExecutor, ForkJoinPool pool, long cacheMaxBytes) {
+        this.client = client;
+        this.fetchExecutor = fetchExecutor;
+        this.pool = pool;
+        this.trees = cacheMaxBytes > 0 ? new WTinyLfuCache<>(cacheMaxBytes, Math.max(16, cacheMaxBytes / (64 * 1024)), MerkleTree::weight) : null;
+    }
+
+    VerificationResult verify(String aggregateType, String aggregateId) {
+        AggregateSnapshot snapshot = client.get(aggregateType, aggregateId);
+        if (snapshot == null) {
+            throw new EventDbxException("Aggregate " + aggregateType + "/" + aggregateId + " not found");
+        }
+        String expected = snapshot.merkleRoot();
+        String key = aggregateType + '\u0000' + aggregateId;
+        // Take the tree out while extending it, so a concurrent verification starts its own.
+        MerkleTree tree = trees == null ? null : trees.take(key);
+        if (tree == null || tree.size() > snapshot.version()) {
+            tree = new MerkleTree();
+        }
+        long base = tree.size();
+        List<EventRecord> events = fetch(aggregateType, aggregateId, base + 1, snapshot.version());
+
+        List<byte[]> leaves = new ArrayList<>(events.size());
+        Long invalid = null;
+        for (int i = 0; i < events.size(); i++) {
+            EventRecord event = events.get(i);
+            byte[] leaf = event.version() == base + i + 1 ? leaf(event.hash()) : null;
+            if (leaf == null) {
+                invalid = base + i + 1;
+                break;
+            }
+            leaves.add(leaf);
+        }
+        if (invalid == null && base + events.size() < snapshot.version()) {
+            invalid = base + events.size() + 1;
+        }
+        tree.append(leaves, pool);
+        if (invalid == null) {
+            MerkleTree built = tree;
+            OptionalInt mismatch = pool.submit(() -> IntStream.range(0, leaves.size()).parallel()
+                    .filter(i -> !matches(events.get(i).merkleRoot(), built.root((int) base + i + 1)))
+                    .min()).join();
+            if (mismatch.isPresent()) {
+                invalid = base + mismatch.getAsInt() + 1;
+            }
+        }
+        String root = tree.size() == 0 ? "" : HEX.formatHex(tree.root(tree.size()));
+        if (invalid == null && !matches(expected, root)) {
+            invalid = snapshot.version();
+        }
+        if (invalid == null && trees != null) {
+            trees.put(key, tree);
+        }
+        return new VerificationResult(invalid == null, snapshot.version(), root, expected, invalid);
+    }
+
+    /**
+     * Events {@code from}..{@code to}, fetched as concurrent version ranges and returned in order.
+     */
+    private List<EventRecord> fetch(String aggregateType, String aggregateId, long from, long to) {
+        List<CompletableFuture<List<EventRecord>>> ranges = new ArrayList<>();
+        for (long start = from; start <= to; start += RANGE) {
+            long end = Math.min(to, start + RANGE - 1);
+            PageOptions options = PageOptions.builder().fromVersion(start).toVersion(end).build();
+            ranges.add(CompletableFuture.supplyAsync(() -> range(aggregateType, aggregateId, options), fetchExecutor));
+        }
+        List<EventRecord> events = new ArrayList<>((int) Math.max(0, to - from + 1));
+        try {
+            for (CompletableFuture<List<EventRecord>> range : ranges) {
+                events.addAll(range.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return events;
+    }
+
+    private List<EventRecord> range(String aggregateType, String aggregateId, PageOptions options) {
+        List<EventRecord> events = new ArrayList<>();
+        String cursor = null;
+        do {
+            Page<EventRecord> page = client.events(aggregateType, aggregateId, options.toBuilder().cursor(cursor).build());
+            events.addAll(page.items());
+            cursor = page.items().isEmpty() ? null : page.nextCursor();
+        } while (cursor != null);
+        return events;
+    }
+
+    private static byte[] leaf(String hash) {
+        if (hash == null || hash.isEmpty()) {
+            return null;
+        }
+        try {
+            return HEX.parseHex(hash);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Whether a recorded root agrees with the computed one; a missing recorded root is not
+     * checked.
+     */
+    private static boolean matches(String recorded, byte[] computed) {
+        return recorded == null || recorded.isEmpty() || recorded.equalsIgnoreCase(HEX.formatHex(computed));
+    }
+
+    private static boolean matches(String recorded, String computed) {
+        return recorded == null || recorded.isEmpty() || recorded.equalsIgnoreCase(computed);
+    }
+}
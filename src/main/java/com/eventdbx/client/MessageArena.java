@@ -0,0 +1,96 @@
+package com.eventdbx.client;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Per-connection encoding arena for control requests.
+ * <p>
+ * The Cap'n Proto Java runtime cannot reset a {@link org.capnproto.MessageBuilder}, so the arena
+ * does the next best thing: it sizes each message's first segment from recently encoded requests
+ * (so payloads stop spilling into extra segments) and serializes into a reusable output buffer
+ * instead of a fresh stream per call. The returned buffer is only valid until the next
+ * {@link #encode(org.capnproto.MessageBuilder)} call; callers must finish writing it first.
+ * Not thread-safe; confine to a single connection.
+ */
+final class MessageArena {
+    static final int DEFAULT_FIRST_SEGMENT_WORDS = 1024;
+    static final int MIN_FIRST_SEGMENT_WORDS = 64;
+    private static final int BYTES_PER_WORD = 8;
+
+    private final int maxFirstSegmentWords;
+    private int firstSegmentWords = DEFAULT_FIRST_SEGMENT_WORDS;
+    private byte[] buffer = new byte[DEFAULT_FIRST_SEGMENT_WORDS * BYTES_PER_WORD];
+    private ByteBuffer view = ByteBuffer.wrap(buffer).order(ByteOrder.LITTLE_ENDIAN);
+
+    MessageArena(int maxMessageBytes) {
+        this.maxFirstSegmentWords = Math.max(MIN_FIRST_SEGMENT_WORDS, maxMessageBytes / BYTES_PER_WORD);
+    }
+
+    /**
+     * Start a new message whose first segment is sized from recent requests.
+     */
+    org.capnproto.MessageBuilder newMessage() {
+        return new org.capnproto.MessageBuilder(firstSegmentWords);
+    }
+
+    /**
+     * Serialize {@code message} with the standard stream framing into the arena buffer.
+     * The returned buffer is positioned at zero with its limit at the encoded length.
+     */
+    ByteBuffer encode(org.capnproto.MessageBuilder message) {
+        ByteBuffer[] segments = message.getSegmentsForOutput();
+        int tableBytes = 4 * (segments.length + 1) + (segments.length % 2 == 0 ? 4 : 0);
+        int bodyBytes = 0;
+        for (ByteBuffer segment : segments) {
+            bodyBytes += segment.remaining();
+        }
+        ensureCapacity(tableBytes + bodyBytes);
+
+        view.clear();
+        view.putInt(segments.length - 1);
+        for (ByteBuffer segment : segments) {
+            view.putInt(segment.remaining() / BYTES_PER_WORD);
+        }
+        if (segments.length % 2 == 0) {
+            view.putInt(0);
+        }
+        for (ByteBuffer segment : segments) {
+            int position = segment.position();
+            view.put(segment);
+            segment.position(position);
+        }
+        view.flip();
+        record(bodyBytes / BYTES_PER_WORD);
+        return view;
+    }
+
+    int firstSegmentWords() {
+        return firstSegmentWords;
+    }
+
+    /**
+     * Grow quickly to the largest recent message (plus headroom) and shrink slowly back down, so a
+     * single oversized request does not pin a large first segment forever.
+     */
+    private void record(int words) {
+        if (words > firstSegmentWords) {
+            firstSegmentWords = Math.min(maxFirstSegmentWords, words + (words >> 2));
+        } else {
+            int decayed = firstSegmentWords - ((firstSegmentWords - words) >> 4);
+            firstSegmentWords = Math.max(MIN_FIRST_SEGMENT_WORDS, decayed);
+        }
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (bytes <= buffer.length) {
+            return;
+        }
+        int capacity = buffer.length;
+        while (capacity < bytes) {
+            capacity = capacity << 1;
+        }
+        buffer = new byte[capacity];
+        view = ByteBuffer.wrap(buffer).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
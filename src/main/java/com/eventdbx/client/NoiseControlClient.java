@@ -13,10 +13,18 @@ import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 
 import com.eventdbx.client.proto.ControlSchemas;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -30,10 +38,16 @@ import com.sun.jna.Pointer;
  * (pattern <code>Noise_NNpsk0_25519_ChaChaPoly_SHA256</code>). This stub wires
  * config and future retry handling but defers Cap'n Proto encoding/decoding
  * until the Java schema compiler (`capnpc-java`) is available locally.
+ * <p>
+ * A single connection carries one request at a time; operations are serialized on the client
+ * instance so it can be shared with background work such as page prefetching. A server-streamed
+ * listing occupies the connection until it ends or is closed.
  */
 public final class NoiseControlClient implements ControlClient {
     private static final String DEFAULT_NOISE_PATTERN = "Noise_NNpsk0_25519_ChaChaPoly_SHA256";
     private static final int MAX_FRAME_LEN = 16 * 1024 * 1024;
+    /** Error codes with which a server that predates batching rejects the batch frame. */
+    private static final Set<String> BATCH_UNSUPPORTED = Set.of("unsupported", "unknown_payload");
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
@@ -42,21 +56,48 @@ public final class NoiseControlClient implements ControlClient {
     private DataInputStream in;
     private DataOutputStream out;
     private final SnowNative snow;
+    private final RecordDecoder decoder;
+    private final EventCache eventCache;
+    private final boolean ownsEventCache;
     private Pointer noiseState;
     private volatile boolean connected;
     private long nextRequestId = 1;
+    private final MessageArena arena = new MessageArena(MAX_FRAME_LEN);
+    private byte[] cipherBuffer = new byte[0];
+    private byte[] frameBuffer = new byte[0];
+    private byte[] plainBuffer = new byte[0];
     private final String noisePattern;
     private boolean useNoise;
+    private ServerPageStream<?> activeStream;
 
     public NoiseControlClient(EventDbxConfig config) {
+        this(config, EventCache.open(Objects.requireNonNull(config, "config")), true);
+    }
+
+    /**
+     * Connection sharing {@code eventCache} with the other connections of a pool; the pool closes
+     * it.
+     */
+    NoiseControlClient(EventDbxConfig config, EventCache eventCache) {
+        this(config, eventCache, false);
+    }
+
+    private NoiseControlClient(EventDbxConfig config, EventCache eventCache, boolean ownsEventCache) {
         this.config = Objects.requireNonNull(config, "config");
         String pattern = System.getenv().getOrDefault("EVENTDBX_NOISE_PATTERN", DEFAULT_NOISE_PATTERN);
         this.noisePattern = pattern.isBlank() ? DEFAULT_NOISE_PATTERN : pattern.trim();
         this.snow = SnowNative.load();
+        this.decoder = new RecordDecoder(
+                MAPPER,
+                new StringDictionary(config.stringDictionarySize()),
+                config.decodePool(),
+                config.parallelDecodeThreshold());
+        this.eventCache = eventCache;
+        this.ownsEventCache = ownsEventCache;
     }
 
     @Override
-    public void connect() {
+    public synchronized void connect() {
         if (connected) {
             return;
         }
@@ -82,7 +123,7 @@ public final class NoiseControlClient implements ControlClient {
             connected = true;
         } catch (IOException e) {
             disconnect();
-            throw new EventDbxException("Failed to open control socket", e);
+            throw new EventDbxConnectionException("Failed to open control socket", e);
         } catch (RuntimeException e) {
             disconnect();
             throw e;
@@ -90,8 +131,14 @@ public final class NoiseControlClient implements ControlClient {
     }
 
     @Override
-    public void disconnect() {
+    public synchronized void disconnect() {
         connected = false;
+        if (activeStream != null) {
+            activeStream.abort();
+        }
+        if (eventCache != null) {
+            eventCache.flush();
+        }
         try {
             if (socket != null) {
                 socket.close();
@@ -108,6 +155,17 @@ public final class NoiseControlClient implements ControlClient {
         }
     }
 
+    /**
+     * Disconnect and, unless shared with a pool, close the event cache.
+     */
+    @Override
+    public void close() {
+        disconnect();
+        if (ownsEventCache && eventCache != null) {
+            eventCache.close();
+        }
+    }
+
     @Override
     public boolean isConnected() {
         return connected;
@@ -119,62 +177,103 @@ public final class NoiseControlClient implements ControlClient {
     }
 
     @Override
-    public Page<AggregateSnapshot> list(String aggregateType, PageOptions options) {
+    public synchronized Page<AggregateSnapshot> list(String aggregateType, PageOptions options) {
+        ensureConnected();
+        PageOptions opts = options == null ? PageOptions.builder().build() : options;
+        org.capnproto.MessageBuilder message = arena.newMessage();
+        fillListAggregates(initRequest(message).initListAggregates(), aggregateType, opts);
+        ControlSchemas.ControlResponse.Reader resp = sendRequest(message);
+        return parseListAggregates(resp, aggregateType);
+    }
+
+    /**
+     * One filtered {@code listAggregates} request for all ids. Servers that ignore the id filter
+     * answer with an ordinary page; once an unrequested aggregate shows up, the ids still missing
+     * are fetched one by one instead of scanning further pages.
+     */
+    @Override
+    public synchronized Map<String, AggregateSnapshot> getAll(String aggregateType, Collection<String> aggregateIds) {
+        ensureConnected();
+        List<String> ids = List.copyOf(new LinkedHashSet<>(aggregateIds));
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Set<String> wanted = new HashSet<>(ids);
+        Map<String, AggregateSnapshot> found = new HashMap<>();
+        PageOptions.Builder options = PageOptions.builder().take(ids.size()).includeArchived(true);
+        boolean filtered = true;
+        String cursor = null;
+        do {
+            org.capnproto.MessageBuilder message = arena.newMessage();
+            ControlSchemas.ListAggregatesRequest.Builder body = initRequest(message).initListAggregates();
+            fillListAggregates(body, aggregateType, options.cursor(cursor).build());
+            body.setHasAggregateIds(true);
+            org.capnproto.TextList.Builder list = body.initAggregateIds(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                list.set(i, new org.capnproto.Text.Reader(ids.get(i)));
+            }
+            Page<AggregateSnapshot> page = parseListAggregates(sendRequest(message), aggregateType);
+            for (AggregateSnapshot snapshot : page.items()) {
+                if (wanted.contains(snapshot.aggregateId())) {
+                    found.put(snapshot.aggregateId(), snapshot);
+                } else {
+                    filtered = false;
+                }
+            }
+            cursor = page.nextCursor() == null || page.nextCursor().isBlank() ? null : page.nextCursor();
+        } while (filtered && cursor != null && found.size() < ids.size());
+        Map<String, AggregateSnapshot> result = new LinkedHashMap<>();
+        for (String id : ids) {
+            AggregateSnapshot snapshot = found.get(id);
+            if (snapshot == null && !filtered) {
+                snapshot = get(aggregateType, id);
+            }
+            if (snapshot != null) {
+                result.put(id, snapshot);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized PageStream<AggregateSnapshot> streamAggregatePages(String aggregateType, PageOptions options, int credit) {
         ensureConnected();
+        ensureIdle();
         PageOptions opts = options == null ? PageOptions.builder().build() : options;
-        ControlSchemas.ControlResponse.Reader resp = sendRequest(builder -> {
-            ControlSchemas.ControlRequest.Builder request = builder.initRoot(ControlSchemas.ControlRequest.factory);
-            request.setId(nextRequestId++);
-            ControlSchemas.ControlRequest.Payload.Builder payload = request.getPayload();
-            ControlSchemas.ListAggregatesRequest.Builder body = payload.initListAggregates();
-            body.setHasCursor(opts.cursor().isPresent());
-            body.setCursor(opts.cursor().orElse(""));
-            body.setHasTake(opts.take().isPresent());
-            body.setTake(opts.take().orElse(0));
-            body.setIncludeArchived(opts.includeArchived());
-            body.setArchivedOnly(opts.archivedOnly());
-            body.setToken(opts.token().orElse(config.token()));
-            body.setHasFilter(opts.filter().isPresent());
-            body.setFilter(opts.filter().orElse(""));
-            body.setHasSort(opts.sort().isPresent());
-            body.setSort(opts.sort().orElse(""));
-        });
-        return parseListAggregates(resp);
+        int window = Math.max(1, credit);
+        long streamId = nextRequestId++;
+        org.capnproto.MessageBuilder message = arena.newMessage();
+        ControlSchemas.StreamAggregatesRequest.Builder body = initRequest(message, streamId).initStreamAggregates();
+        body.setCredit(window);
+        fillListAggregates(body.initRequest(), aggregateType, opts);
+        writeRequest(message);
+        return openStream(streamId, window, json -> ofType(decoder.decodeAggregates(json, 0, json.length), aggregateType));
+    }
+
+    private void fillListAggregates(ControlSchemas.ListAggregatesRequest.Builder body, String aggregateType, PageOptions opts) {
+        boolean typed = aggregateType != null && !aggregateType.isBlank();
+        body.setHasAggregateType(typed);
+        body.setAggregateType(typed ? aggregateType : "");
+        body.setHasCursor(opts.cursor().isPresent());
+        body.setCursor(opts.cursor().orElse(""));
+        body.setHasTake(opts.take().isPresent());
+        body.setTake(opts.take().orElse(0));
+        body.setIncludeArchived(opts.includeArchived());
+        body.setArchivedOnly(opts.archivedOnly());
+        body.setToken(opts.token().orElse(config.token()));
+        body.setHasFilter(opts.filter().isPresent());
+        body.setFilter(opts.filter().orElse(""));
+        body.setHasSort(opts.sort().isPresent());
+        body.setSort(opts.sort().orElse(""));
     }
 
     @Override
-    public AggregateSnapshot create(String aggregateType, String aggregateId, String eventType, CreateAggregateOptions options) {
+    public synchronized AggregateSnapshot create(String aggregateType, String aggregateId, String eventType, CreateAggregateOptions options) {
         ensureConnected();
         CreateAggregateOptions opts = options == null ? CreateAggregateOptions.builder().build() : options;
-        ControlSchemas.ControlResponse.Reader resp = sendRequest(builder -> {
-            ControlSchemas.ControlRequest.Builder request = builder.initRoot(ControlSchemas.ControlRequest.factory);
-            request.setId(nextRequestId++);
-            ControlSchemas.ControlRequest.Payload.Builder payload = request.getPayload();
-            ControlSchemas.CreateAggregateRequest.Builder body = payload.initCreateAggregate();
-            body.setToken(opts.token().orElse(config.token()));
-            body.setAggregateType(aggregateType);
-            body.setAggregateId(aggregateId);
-            body.setEventType(eventType);
-            JsonNode payloadNode = opts.payload().orElse(null);
-            if (payloadNode != null) {
-                body.setPayloadJson(json(payloadNode));
-            }
-            JsonNode metadataNode = opts.metadata().orElse(null);
-            if (metadataNode != null) {
-                body.setHasMetadata(true);
-                body.setMetadataJson(json(metadataNode));
-            } else {
-                body.setHasMetadata(false);
-                body.setMetadataJson("");
-            }
-            String note = opts.note().orElse("");
-            body.setHasNote(!note.isBlank());
-            body.setNote(note);
-            List<PublishTarget> targets = opts.publishTargets();
-            body.setHasPublishTargets(!targets.isEmpty());
-            applyPublishTargets(body.initPublishTargets(targets.size()), targets);
-        });
-        return parseAggregate(resp);
+        org.capnproto.MessageBuilder message = arena.newMessage();
+        fillCreate(initRequest(message).initCreateAggregate(), aggregateType, aggregateId, eventType, opts);
+        return parseAggregate(sendRequest(message));
     }
 
     @Override
@@ -188,131 +287,272 @@ public final class NoiseControlClient implements ControlClient {
     }
 
     @Override
-    public AggregateSnapshot patch(String aggregateType, String aggregateId, String eventType, Iterable<JsonPatchOperation> operations, PatchOptions options) {
+    public synchronized AggregateSnapshot patch(String aggregateType, String aggregateId, String eventType, Iterable<JsonPatchOperation> operations, PatchOptions options) {
         ensureConnected();
         PatchOptions opts = options == null ? PatchOptions.builder().build() : options;
-        ControlSchemas.ControlResponse.Reader resp = sendRequest(builder -> {
-            ControlSchemas.ControlRequest.Builder request = builder.initRoot(ControlSchemas.ControlRequest.factory);
-            request.setId(nextRequestId++);
-            ControlSchemas.ControlRequest.Payload.Builder payload = request.getPayload();
-            ControlSchemas.PatchEventRequest.Builder body = payload.initPatchEvent();
-            body.setToken(opts.token().orElse(config.token()));
-            body.setAggregateType(aggregateType);
-            body.setAggregateId(aggregateId);
-            body.setEventType(eventType);
-            JsonNode patchArray = MAPPER.valueToTree(operations);
-            body.setPatchJson(json(patchArray));
-            JsonNode metadata = opts.metadata().orElse(null);
-            if (metadata != null) {
-                body.setHasMetadata(true);
-                body.setMetadataJson(json(metadata));
-            } else {
-                body.setHasMetadata(false);
-                body.setMetadataJson("");
-            }
-            String note = opts.note().orElse("");
-            body.setHasNote(!note.isBlank());
-            body.setNote(note);
-            List<PublishTarget> targets = opts.publishTargets();
-            body.setHasPublishTargets(!targets.isEmpty());
-            applyPublishTargets(body.initPublishTargets(targets.size()), targets);
-        });
-        return parseAggregate(resp);
+        org.capnproto.MessageBuilder message = arena.newMessage();
+        fillPatch(initRequest(message).initPatchEvent(), aggregateType, aggregateId, eventType, operations, opts);
+        return parseAggregate(sendRequest(message));
     }
 
     @Override
-    public AggregateSnapshot get(String aggregateType, String aggregateId) {
+    public synchronized AggregateSnapshot get(String aggregateType, String aggregateId) {
+        return getIfModified(aggregateType, aggregateId, null, null).value();
+    }
+
+    @Override
+    public synchronized ConditionalResult<AggregateSnapshot> getIfModified(String aggregateType, String aggregateId, Long knownVersion, String knownMerkleRoot) {
         ensureConnected();
-        ControlSchemas.ControlResponse.Reader resp = sendRequest(builder -> {
-            ControlSchemas.ControlRequest.Builder request = builder.initRoot(ControlSchemas.ControlRequest.factory);
-            request.setId(nextRequestId++);
-            ControlSchemas.ControlRequest.Payload.Builder payload = request.getPayload();
-            ControlSchemas.GetAggregateRequest.Builder body = payload.initGetAggregate();
-            body.setAggregateType(aggregateType);
-            body.setAggregateId(aggregateId);
-            body.setToken(config.token());
-        });
-        return parseGetAggregate(resp);
+        org.capnproto.MessageBuilder message = arena.newMessage();
+        fillGet(initRequest(message).initGetAggregate(), aggregateType, aggregateId, knownVersion, knownMerkleRoot);
+        return parseGetAggregate(sendRequest(message), knownVersion, knownMerkleRoot);
+    }
+
+    @Override
+    public synchronized JsonNode select(String aggregateType, String aggregateId, Iterable<String> fields) {
+        return selectIfModified(aggregateType, aggregateId, fields, null, null).value();
     }
 
     @Override
-    public JsonNode select(String aggregateType, String aggregateId, Iterable<String> fields) {
+    public synchronized String verify(String aggregateType, String aggregateId) {
+        ensureConnected();
+        org.capnproto.MessageBuilder message = arena.newMessage();
+        ControlSchemas.VerifyAggregateRequest.Builder body = initRequest(message).initVerifyAggregate();
+        body.setAggregateType(aggregateType);
+        body.setAggregateId(aggregateId);
+        ControlSchemas.ControlResponse.Reader response = sendRequest(message);
+        switch (response.getPayload().which()) {
+            case VERIFY_AGGREGATE -> {
+                return readString(response.getPayload().getVerifyAggregate().getMerkleRoot());
+            }
+            case ERROR -> throw error(response.getPayload().getError());
+            default -> throw new EventDbxException("Unexpected payload for verifyAggregate");
+        }
+    }
+
+    @Override
+    public synchronized ConditionalResult<JsonNode> selectIfModified(String aggregateType, String aggregateId, Iterable<String> fields, Long knownVersion, String knownMerkleRoot) {
         ensureConnected();
         List<String> fieldList = new ArrayList<>();
         fields.forEach(fieldList::add);
-        ControlSchemas.ControlResponse.Reader resp = sendRequest(builder -> {
-            ControlSchemas.ControlRequest.Builder request = builder.initRoot(ControlSchemas.ControlRequest.factory);
-            request.setId(nextRequestId++);
-            ControlSchemas.ControlRequest.Payload.Builder payload = request.getPayload();
-            ControlSchemas.SelectAggregateRequest.Builder body = payload.initSelectAggregate();
-            body.setAggregateType(aggregateType);
-            body.setAggregateId(aggregateId);
-            org.capnproto.TextList.Builder list = body.initFields(fieldList.size());
-            for (int i = 0; i < fieldList.size(); i++) {
-                list.set(i, new org.capnproto.Text.Reader(fieldList.get(i)));
-            }
-            body.setToken(config.token());
-        });
+        org.capnproto.MessageBuilder message = arena.newMessage();
+        ControlSchemas.SelectAggregateRequest.Builder body = initRequest(message).initSelectAggregate();
+        body.setAggregateType(aggregateType);
+        body.setAggregateId(aggregateId);
+        org.capnproto.TextList.Builder list = body.initFields(fieldList.size());
+        for (int i = 0; i < fieldList.size(); i++) {
+            list.set(i, new org.capnproto.Text.Reader(fieldList.get(i)));
+        }
+        body.setToken(config.token());
+        body.setHasIfVersionDiffers(knownVersion != null);
+        body.setIfVersionDiffers(knownVersion == null ? 0L : knownVersion);
+        body.setHasIfMerkleRootDiffers(knownMerkleRoot != null);
+        body.setIfMerkleRootDiffers(knownMerkleRoot == null ? "" : knownMerkleRoot);
+        ControlSchemas.ControlResponse.Reader resp = sendRequest(message);
         return parseSelection(resp);
     }
 
     @Override
-    public Page<EventRecord> events(String aggregateType, String aggregateId, PageOptions options) {
+    public synchronized Page<EventRecord> events(String aggregateType, String aggregateId, PageOptions options) {
+        PageOptions opts = options == null ? PageOptions.builder().build() : options;
+        if (eventCache != null && opts.cursor().isEmpty() && opts.filter().isEmpty() && opts.includePayload()) {
+            return cachedEvents(aggregateType, aggregateId, opts);
+        }
+        return fetchEvents(aggregateType, aggregateId, opts);
+    }
+
+    /**
+     * Serve the leading run of a version range from the event cache and request only what follows
+     * it. A bounded range that is fully cached needs no round trip; otherwise the server's cursor
+     * for the tail is returned, so paging continues as usual. With a {@code take}, at least one
+     * event is always left to the server so the page carries a real cursor. A server that ignores
+     * {@code fromVersion} pages from the start instead, so its cursor would point back into the
+     * cached run; unless the trimmed tail starts right after that run, or the range ended, the
+     * page is fetched without the cache.
+     */
+    private Page<EventRecord> cachedEvents(String aggregateType, String aggregateId, PageOptions opts) {
+        long from = opts.fromVersion().orElse(1L);
+        long to = opts.toVersion().orElse(Long.MAX_VALUE);
+        int limit = opts.take().map(take -> Math.max(0, take - 1)).orElse(Integer.MAX_VALUE);
+        List<byte[]> known = eventCache.run(aggregateType, aggregateId, from, to, limit);
+        if (known.isEmpty()) {
+            return fetchEvents(aggregateType, aggregateId, opts);
+        }
+        byte[] json = RecordDecoder.joinArray(known);
+        List<EventRecord> cached = decoder.decodeEvents(json, 0, json.length);
+        long next = from + known.size();
+        if (next > to) {
+            return new Page<>(cached, null);
+        }
+        PageOptions.Builder rest = opts.toBuilder().fromVersion(next);
+        opts.take().ifPresent(take -> rest.take(take - known.size()));
+        Page<EventRecord> tail = fetchEvents(aggregateType, aggregateId, rest.build());
+        boolean follows = tail.items().isEmpty() ? tail.nextCursor() == null : tail.items().get(0).version() == next;
+        if (!follows) {
+            return fetchEvents(aggregateType, aggregateId, opts);
+        }
+        List<EventRecord> items = new ArrayList<>(cached.size() + tail.items().size());
+        items.addAll(cached);
+        items.addAll(tail.items());
+        return new Page<>(items, tail.nextCursor());
+    }
+
+    private Page<EventRecord> fetchEvents(String aggregateType, String aggregateId, PageOptions opts) {
+        ControlSchemas.ListEventsResponse.Reader body = requestEvents(aggregateType, aggregateId, opts);
+        byte[] json = RecordDecoder.utf8(body.getEventsJson());
+        List<EventRecord> items = decoder.decodeEvents(json, 0, json.length);
+        if (eventCache != null && opts.includePayload()) {
+            remember(aggregateType, aggregateId, json, items);
+        }
+        return new Page<>(inRange(items, opts), nextCursor(body));
+    }
+
+    /**
+     * Store each event of a response as its own raw JSON slice, cut at top-level element
+     * boundaries.
+     */
+    private void remember(String aggregateType, String aggregateId, byte[] json, List<EventRecord> items) {
+        List<int[]> ranges = RecordDecoder.splitArray(json, 0, json.length, 0);
+        if (ranges == null || ranges.size() != items.size()) {
+            return;
+        }
+        for (int i = 0; i < ranges.size(); i++) {
+            int[] range = ranges.get(i);
+            eventCache.put(aggregateType, aggregateId, items.get(i).version(), json, range[0], range[1] - range[0]);
+        }
+    }
+
+    @Override
+    public synchronized EventBatch eventBatch(String aggregateType, String aggregateId, PageOptions options) {
+        PageOptions opts = options == null ? PageOptions.builder().build() : options;
+        ControlSchemas.ListEventsResponse.Reader body = requestEvents(aggregateType, aggregateId, opts);
+        byte[] json = RecordDecoder.utf8(body.getEventsJson());
+        EventBatch batch = decoder.decodeEventBatch(aggregateType, aggregateId, json, 0, json.length, nextCursor(body));
+        if (opts.fromVersion().isEmpty() && opts.toVersion().isEmpty()) {
+            return batch;
+        }
+        return batch.inRange(opts.fromVersion().orElse(Long.MIN_VALUE), opts.toVersion().orElse(Long.MAX_VALUE));
+    }
+
+    @Override
+    public synchronized PageStream<EventRecord> streamEventPages(String aggregateType, String aggregateId, PageOptions options, int credit) {
         ensureConnected();
+        ensureIdle();
         PageOptions opts = options == null ? PageOptions.builder().build() : options;
-        ControlSchemas.ControlResponse.Reader resp = sendRequest(builder -> {
-            ControlSchemas.ControlRequest.Builder request = builder.initRoot(ControlSchemas.ControlRequest.factory);
-            request.setId(nextRequestId++);
-            ControlSchemas.ControlRequest.Payload.Builder payload = request.getPayload();
-            ControlSchemas.ListEventsRequest.Builder body = payload.initListEvents();
-            body.setAggregateType(aggregateType);
-            body.setAggregateId(aggregateId);
-            body.setHasCursor(opts.cursor().isPresent());
-            body.setCursor(opts.cursor().orElse(""));
-            body.setHasTake(opts.take().isPresent());
-            body.setTake(opts.take().orElse(0));
-            body.setHasFilter(opts.filter().isPresent());
-            body.setFilter(opts.filter().orElse(""));
-            body.setToken(opts.token().orElse(config.token()));
-        });
+        int window = Math.max(1, credit);
+        long streamId = nextRequestId++;
+        org.capnproto.MessageBuilder message = arena.newMessage();
+        ControlSchemas.StreamEventsRequest.Builder body = initRequest(message, streamId).initStreamEvents();
+        body.setCredit(window);
+        fillListEvents(body.initRequest(), aggregateType, aggregateId, opts);
+        writeRequest(message);
+        return openStream(streamId, window, json -> inRange(decoder.decodeEvents(json, 0, json.length), opts));
+    }
+
+    private ControlSchemas.ListEventsResponse.Reader requestEvents(String aggregateType, String aggregateId, PageOptions options) {
+        ensureConnected();
+        PageOptions opts = options == null ? PageOptions.builder().build() : options;
+        org.capnproto.MessageBuilder message = arena.newMessage();
+        fillListEvents(initRequest(message).initListEvents(), aggregateType, aggregateId, opts);
+        ControlSchemas.ControlResponse.Reader resp = sendRequest(message);
         return parseEvents(resp);
     }
 
+    private void fillListEvents(ControlSchemas.ListEventsRequest.Builder body, String aggregateType, String aggregateId, PageOptions opts) {
+        body.setAggregateType(aggregateType);
+        body.setAggregateId(aggregateId);
+        body.setHasCursor(opts.cursor().isPresent());
+        body.setCursor(opts.cursor().orElse(""));
+        body.setHasTake(opts.take().isPresent());
+        body.setTake(opts.take().orElse(0));
+        body.setHasFilter(opts.filter().isPresent());
+        body.setFilter(opts.filter().orElse(""));
+        body.setToken(opts.token().orElse(config.token()));
+        body.setHasFromVersion(opts.fromVersion().isPresent());
+        body.setFromVersion(opts.fromVersion().orElse(0L));
+        body.setHasToVersion(opts.toVersion().isPresent());
+        body.setToVersion(opts.toVersion().orElse(0L));
+        body.setHeadersOnly(!opts.includePayload());
+    }
+
+    /**
+     * Servers predating version bounds return the full history; trim it here so callers see the
+     * same result either way.
+     */
+    private static List<EventRecord> inRange(List<EventRecord> events, PageOptions opts) {
+        if (opts.fromVersion().isEmpty() && opts.toVersion().isEmpty()) {
+            return events;
+        }
+        long from = opts.fromVersion().orElse(Long.MIN_VALUE);
+        long to = opts.toVersion().orElse(Long.MAX_VALUE);
+        List<EventRecord> matching = new ArrayList<>(events.size());
+        for (EventRecord event : events) {
+            if (event.version() >= from && event.version() <= to) {
+                matching.add(event);
+            }
+        }
+        return matching.size() == events.size() ? events : matching;
+    }
+
+    private String nextCursor(ControlSchemas.ListEventsResponse.Reader body) {
+        return body.getHasNextCursor() ? readString(body.getNextCursor()) : null;
+    }
+
     @Override
-    public EventRecord apply(String aggregateType, String aggregateId, String eventType, AppendOptions options) {
+    public synchronized EventRecord apply(String aggregateType, String aggregateId, String eventType, AppendOptions options) {
         ensureConnected();
         AppendOptions opts = options == null ? AppendOptions.builder().build() : options;
-        ControlSchemas.ControlResponse.Reader resp = sendRequest(builder -> {
-            ControlSchemas.ControlRequest.Builder request = builder.initRoot(ControlSchemas.ControlRequest.factory);
-            request.setId(nextRequestId++);
-            ControlSchemas.ControlRequest.Payload.Builder payload = request.getPayload();
-            ControlSchemas.AppendEventRequest.Builder body = payload.initAppendEvent();
-            body.setToken(opts.token().orElse(config.token()));
-            body.setAggregateType(aggregateType);
-            body.setAggregateId(aggregateId);
-            body.setEventType(eventType);
-            JsonNode payloadNode = opts.payload().orElse(null);
-            if (payloadNode != null) {
-                body.setPayloadJson(json(payloadNode));
-            } else {
-                body.setPayloadJson("");
-            }
-            String note = opts.note().orElse("");
-            body.setHasNote(!note.isBlank());
-            body.setNote(note);
-            JsonNode metadata = opts.metadata().orElse(null);
-            if (metadata != null) {
-                body.setHasMetadata(true);
-                body.setMetadataJson(json(metadata));
-            } else {
-                body.setHasMetadata(false);
-                body.setMetadataJson("");
-            }
-            List<PublishTarget> targets = opts.publishTargets();
-            body.setHasPublishTargets(!targets.isEmpty());
-            applyPublishTargets(body.initPublishTargets(targets.size()), targets);
-        });
-        return parseAppend(resp);
+        org.capnproto.MessageBuilder message = arena.newMessage();
+        fillAppend(initRequest(message).initAppendEvent(), aggregateType, aggregateId, eventType, opts);
+        return parseAppend(sendRequest(message));
+    }
+
+    /**
+     * Sends all items in one batch frame. A server that predates batching rejects the frame as
+     * unsupported, in which case the items are sent one by one; any other error for the frame is
+     * thrown, since the server may have applied part of the batch.
+     */
+    @Override
+    public synchronized List<BatchResult> batch(List<BatchOperation> operations) {
+        ensureConnected();
+        if (operations.isEmpty()) {
+            return List.of();
+        }
+        org.capnproto.MessageBuilder message = arena.newMessage();
+        org.capnproto.StructList.Builder<ControlSchemas.ControlRequest.Builder> items =
+                initRequest(message).initBatch().initRequests(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            ControlSchemas.ControlRequest.Builder item = items.get(i);
+            item.setId(i);
+            fillBatchItem(item.getPayload(), operations.get(i));
+        }
+        ControlSchemas.ControlResponse.Reader resp = sendRequest(message);
+        switch (resp.getPayload().which()) {
+            case BATCH -> {
+                org.capnproto.StructList.Reader<ControlSchemas.ControlResponse.Reader> responses = resp.getPayload().getBatch().getResponses();
+                if (responses.size() != operations.size()) {
+                    throw new EventDbxException("Batch response has " + responses.size() + " results for " + operations.size() + " requests");
+                }
+                List<BatchResult> results = new ArrayList<>(operations.size());
+                for (int i = 0; i < operations.size(); i++) {
+                    BatchOperation operation = operations.get(i);
+                    try {
+                        results.add(BatchResult.success(operation, parseBatchItem(responses.get(i), operation)));
+                    } catch (EventDbxException e) {
+                        results.add(BatchResult.failure(operation, e));
+                    }
+                }
+                return results;
+            }
+            case ERROR -> {
+                ControlSchemas.ControlError.Reader error = resp.getPayload().getError();
+                if (BATCH_UNSUPPORTED.contains(readString(error.getCode()))) {
+                    return ControlClient.super.batch(operations);
+                }
+                throw error(error);
+            }
+            default -> throw new EventDbxException("Unexpected payload for batch");
+        }
     }
 
     private void performNoiseHandshake() {
@@ -339,7 +579,7 @@ public final class NoiseControlClient implements ControlClient {
                 throw new EventDbxException("Noise handshake failed: read phase error");
             }
         } catch (IOException e) {
-            throw new EventDbxException("IO failure during Noise handshake", e);
+            throw new EventDbxConnectionException("IO failure during Noise handshake", e);
         } catch (Exception e) {
             throw new EventDbxException("Noise handshake failed: " + e.getMessage(), e);
         }
@@ -350,37 +590,71 @@ public final class NoiseControlClient implements ControlClient {
             throw new IllegalStateException("Noise state not initialised");
         }
         try {
-            byte[] ciphertext = new byte[length + 64]; // sufficient headroom for MAC
-            long written = snow.snow_write(noiseState, plaintext, length, ciphertext, ciphertext.length);
+            cipherBuffer = ensureCapacity(cipherBuffer, length + 64); // sufficient headroom for MAC
+            long written = snow.snow_write(noiseState, plaintext, length, cipherBuffer, cipherBuffer.length);
             if (written <= 0) {
                 throw new EventDbxException("Noise encryption failed");
             }
-            writeFrame(ciphertext, (int) written);
+            writeFrame(cipherBuffer, (int) written);
         } catch (IOException e) {
-            throw new EventDbxException("Failed to write encrypted frame", e);
+            throw new EventDbxConnectionException("Failed to write encrypted frame", e);
         }
     }
 
-    private byte[] readEncrypted() {
+    /**
+     * Read and decrypt a response frame into reused connection buffers. The returned view is only
+     * valid until the next read on this connection.
+     */
+    private ByteBuffer readEncryptedInto() {
         if (noiseState == null) {
             throw new IllegalStateException("Noise state not initialised");
         }
         try {
-            byte[] ciphertext = readFrame();
-            if (ciphertext == null) {
+            int length = readFrameLength();
+            if (length < 0) {
                 return null;
             }
-            byte[] buffer = new byte[ciphertext.length];
-            long len = snow.snow_read(noiseState, ciphertext, ciphertext.length, buffer, buffer.length);
+            frameBuffer = ensureCapacity(frameBuffer, length);
+            in.readFully(frameBuffer, 0, length);
+            plainBuffer = ensureCapacity(plainBuffer, length);
+            long len = snow.snow_read(noiseState, frameBuffer, length, plainBuffer, plainBuffer.length);
             if (len < 0) {
                 throw new EventDbxException("Noise decryption failed");
             }
-            byte[] plaintext = new byte[(int) len];
-            System.arraycopy(buffer, 0, plaintext, 0, (int) len);
-            return plaintext;
+            return ByteBuffer.wrap(plainBuffer, 0, (int) len);
         } catch (IOException e) {
-            throw new EventDbxException("Failed to read encrypted frame", e);
+            throw new EventDbxConnectionException("Failed to read encrypted frame", e);
+        }
+    }
+
+    private ByteBuffer readFrameInto() throws IOException {
+        int length = readFrameLength();
+        if (length < 0) {
+            return null;
+        }
+        frameBuffer = ensureCapacity(frameBuffer, length);
+        in.readFully(frameBuffer, 0, length);
+        return ByteBuffer.wrap(frameBuffer, 0, length);
+    }
+
+    private int readFrameLength() {
+        int len;
+        try {
+            len = in.readInt();
+        } catch (IOException e) {
+            return -1;
+        }
+        if (len < 0 || len > MAX_FRAME_LEN) {
+            throw new EventDbxException("Invalid frame length: " + len);
+        }
+        return len;
+    }
+
+    private static byte[] ensureCapacity(byte[] buffer, int length) {
+        if (buffer.length >= length) {
+            return buffer;
         }
+        return new byte[Math.max(length, Math.min(MAX_FRAME_LEN + 64, buffer.length * 2))];
     }
 
     private void writeFrame(byte[] payload, int length) throws IOException {
@@ -430,7 +704,7 @@ public final class NoiseControlClient implements ControlClient {
             out.write(bytes);
             out.flush();
         } catch (IOException e) {
-            throw new EventDbxException("Failed to send control hello", e);
+            throw new EventDbxConnectionException("Failed to send control hello", e);
         }
     }
 
@@ -446,7 +720,7 @@ public final class NoiseControlClient implements ControlClient {
             }
             return helloResp.getNoNoise();
         } catch (IOException e) {
-            throw new EventDbxException("Failed to read control hello response", e);
+            throw new EventDbxConnectionException("Failed to read control hello response", e);
         }
     }
 
@@ -456,23 +730,132 @@ public final class NoiseControlClient implements ControlClient {
         }
     }
 
-    private AggregateSnapshot setArchiveState(String aggregateType, String aggregateId, boolean archived, ArchiveOptions options) {
+    private synchronized AggregateSnapshot setArchiveState(String aggregateType, String aggregateId, boolean archived, ArchiveOptions options) {
         ensureConnected();
         ArchiveOptions opts = options == null ? ArchiveOptions.builder().build() : options;
-        ControlSchemas.ControlResponse.Reader resp = sendRequest(builder -> {
-            ControlSchemas.ControlRequest.Builder request = builder.initRoot(ControlSchemas.ControlRequest.factory);
-            request.setId(nextRequestId++);
-            ControlSchemas.ControlRequest.Payload.Builder payload = request.getPayload();
-            ControlSchemas.SetAggregateArchiveRequest.Builder body = payload.initSetAggregateArchive();
-            body.setToken(opts.token().orElse(config.token()));
-            body.setAggregateType(aggregateType);
-            body.setAggregateId(aggregateId);
-            body.setArchived(archived);
-            String note = opts.note().orElse("");
-            body.setHasNote(!note.isBlank());
-            body.setNote(note);
-        });
-        return parseAggregate(resp);
+        org.capnproto.MessageBuilder message = arena.newMessage();
+        fillArchive(initRequest(message).initSetAggregateArchive(), aggregateType, aggregateId, archived, opts);
+        return parseAggregate(sendRequest(message));
+    }
+
+    private void fillCreate(ControlSchemas.CreateAggregateRequest.Builder body, String aggregateType, String aggregateId, String eventType, CreateAggregateOptions opts) {
+        body.setToken(opts.token().orElse(config.token()));
+        body.setAggregateType(aggregateType);
+        body.setAggregateId(aggregateId);
+        body.setEventType(eventType);
+        JsonNode payloadNode = opts.payload().orElse(null);
+        if (payloadNode != null) {
+            body.setPayloadJson(json(payloadNode));
+        }
+        JsonNode metadataNode = opts.metadata().orElse(null);
+        if (metadataNode != null) {
+            body.setHasMetadata(true);
+            body.setMetadataJson(json(metadataNode));
+        } else {
+            body.setHasMetadata(false);
+            body.setMetadataJson("");
+        }
+        String note = opts.note().orElse("");
+        body.setHasNote(!note.isBlank());
+        body.setNote(note);
+        List<PublishTarget> targets = opts.publishTargets();
+        body.setHasPublishTargets(!targets.isEmpty());
+        applyPublishTargets(body.initPublishTargets(targets.size()), targets);
+        String idempotencyKey = opts.idempotencyKey().orElse("");
+        body.setHasIdempotencyKey(!idempotencyKey.isEmpty());
+        body.setIdempotencyKey(idempotencyKey);
+    }
+
+    private void fillPatch(ControlSchemas.PatchEventRequest.Builder body, String aggregateType, String aggregateId, String eventType, Iterable<JsonPatchOperation> operations, PatchOptions opts) {
+        body.setToken(opts.token().orElse(config.token()));
+        body.setAggregateType(aggregateType);
+        body.setAggregateId(aggregateId);
+        body.setEventType(eventType);
+        JsonNode patchArray = MAPPER.valueToTree(operations);
+        body.setPatchJson(json(patchArray));
+        JsonNode metadata = opts.metadata().orElse(null);
+        if (metadata != null) {
+            body.setHasMetadata(true);
+            body.setMetadataJson(json(metadata));
+        } else {
+            body.setHasMetadata(false);
+            body.setMetadataJson("");
+        }
+        String note = opts.note().orElse("");
+        body.setHasNote(!note.isBlank());
+        body.setNote(note);
+        List<PublishTarget> targets = opts.publishTargets();
+        body.setHasPublishTargets(!targets.isEmpty());
+        applyPublishTargets(body.initPublishTargets(targets.size()), targets);
+        Long expectedVersion = opts.expectedVersion().orElse(null);
+        body.setHasExpectedVersion(expectedVersion != null);
+        body.setExpectedVersion(expectedVersion == null ? 0L : expectedVersion);
+    }
+
+    private void fillAppend(ControlSchemas.AppendEventRequest.Builder body, String aggregateType, String aggregateId, String eventType, AppendOptions opts) {
+        body.setToken(opts.token().orElse(config.token()));
+        body.setAggregateType(aggregateType);
+        body.setAggregateId(aggregateId);
+        body.setEventType(eventType);
+        JsonNode payloadNode = opts.payload().orElse(null);
+        if (payloadNode != null) {
+            body.setPayloadJson(json(payloadNode));
+        } else {
+            body.setPayloadJson("");
+        }
+        String note = opts.note().orElse("");
+        body.setHasNote(!note.isBlank());
+        body.setNote(note);
+        JsonNode metadata = opts.metadata().orElse(null);
+        if (metadata != null) {
+            body.setHasMetadata(true);
+            body.setMetadataJson(json(metadata));
+        } else {
+            body.setHasMetadata(false);
+            body.setMetadataJson("");
+        }
+        List<PublishTarget> targets = opts.publishTargets();
+        body.setHasPublishTargets(!targets.isEmpty());
+        applyPublishTargets(body.initPublishTargets(targets.size()), targets);
+        Long expectedVersion = opts.expectedVersion().orElse(null);
+        body.setHasExpectedVersion(expectedVersion != null);
+        body.setExpectedVersion(expectedVersion == null ? 0L : expectedVersion);
+        String idempotencyKey = opts.idempotencyKey().orElse("");
+        body.setHasIdempotencyKey(!idempotencyKey.isEmpty());
+        body.setIdempotencyKey(idempotencyKey);
+    }
+
+    private void fillArchive(ControlSchemas.SetAggregateArchiveRequest.Builder body, String aggregateType, String aggregateId, boolean archived, ArchiveOptions opts) {
+        body.setToken(opts.token().orElse(config.token()));
+        body.setAggregateType(aggregateType);
+        body.setAggregateId(aggregateId);
+        body.setArchived(archived);
+        String note = opts.note().orElse("");
+        body.setHasNote(!note.isBlank());
+        body.setNote(note);
+    }
+
+    private void fillGet(ControlSchemas.GetAggregateRequest.Builder body, String aggregateType, String aggregateId, Long knownVersion, String knownMerkleRoot) {
+        body.setAggregateType(aggregateType);
+        body.setAggregateId(aggregateId);
+        body.setToken(config.token());
+        body.setHasIfVersionDiffers(knownVersion != null);
+        body.setIfVersionDiffers(knownVersion == null ? 0L : knownVersion);
+        body.setHasIfMerkleRootDiffers(knownMerkleRoot != null);
+        body.setIfMerkleRootDiffers(knownMerkleRoot == null ? "" : knownMerkleRoot);
+    }
+
+    private void fillBatchItem(ControlSchemas.ControlRequest.Payload.Builder payload, BatchOperation operation) {
+        String aggregateType = operation.aggregateType();
+        String aggregateId = operation.aggregateId();
+        switch (operation.kind()) {
+            case APPEND -> fillAppend(payload.initAppendEvent(), aggregateType, aggregateId, operation.eventType(), operation.appendOptions());
+            case CREATE -> fillCreate(payload.initCreateAggregate(), aggregateType, aggregateId, operation.eventType(), operation.createOptions());
+            case PATCH -> fillPatch(payload.initPatchEvent(), aggregateType, aggregateId, operation.eventType(), operation.operations(), operation.patchOptions());
+            case ARCHIVE -> fillArchive(payload.initSetAggregateArchive(), aggregateType, aggregateId, true, operation.archiveOptions());
+            case RESTORE -> fillArchive(payload.initSetAggregateArchive(), aggregateType, aggregateId, false, operation.archiveOptions());
+            case GET -> fillGet(payload.initGetAggregate(), aggregateType, aggregateId, null, null);
+        }
     }
 
     private void applyPublishTargets(org.capnproto.StructList.Builder<ControlSchemas.PublishTarget.Builder> listBuilder, List<PublishTarget> targets) {
@@ -490,55 +873,71 @@ public final class NoiseControlClient implements ControlClient {
         }
     }
 
-    private interface RequestBuilder {
-        void build(org.capnproto.MessageBuilder builder);
+    private ControlSchemas.ControlRequest.Payload.Builder initRequest(org.capnproto.MessageBuilder message) {
+        return initRequest(message, nextRequestId++);
+    }
+
+    private ControlSchemas.ControlRequest.Payload.Builder initRequest(org.capnproto.MessageBuilder message, long id) {
+        ControlSchemas.ControlRequest.Builder request = message.initRoot(ControlSchemas.ControlRequest.factory);
+        request.setId(id);
+        return request.getPayload();
+    }
+
+    /**
+     * Encode {@code message} through the connection arena and exchange it for a single response.
+     * The returned reader may point into reused connection buffers and must be fully consumed
+     * before the next request is sent.
+     */
+    private ControlSchemas.ControlResponse.Reader sendRequest(org.capnproto.MessageBuilder message) {
+        ensureIdle();
+        try {
+            writeRequest(message);
+            return readResponse();
+        } catch (EventDbxConnectionException e) {
+            // The stream is out of step or gone; reconnect on the next request.
+            disconnect();
+            throw e;
+        }
+    }
+
+    private void ensureIdle() {
+        if (activeStream != null) {
+            throw new EventDbxException("A server stream is open on this connection; read it to the end or close it first");
+        }
     }
 
-    private ControlSchemas.ControlResponse.Reader sendRequest(RequestBuilder requestBuilder) {
-        org.capnproto.MessageBuilder message = new org.capnproto.MessageBuilder();
-        requestBuilder.build(message);
-        byte[] bytes = serialize(message);
+    private void writeRequest(org.capnproto.MessageBuilder message) {
+        ByteBuffer encoded = arena.encode(message);
         if (useNoise) {
-            writeEncrypted(bytes, bytes.length);
+            writeEncrypted(encoded.array(), encoded.limit());
         } else {
             try {
-                writeFrame(bytes, bytes.length);
+                writeFrame(encoded.array(), encoded.limit());
             } catch (IOException e) {
-                throw new EventDbxException("Failed to write control frame", e);
+                throw new EventDbxConnectionException("Failed to write control frame", e);
             }
         }
+    }
 
-        byte[] responseBytes;
+    private ControlSchemas.ControlResponse.Reader readResponse() {
+        ByteBuffer responseBytes;
         if (useNoise) {
-            responseBytes = readEncrypted();
+            responseBytes = readEncryptedInto();
         } else {
             try {
-                responseBytes = readFrame();
+                responseBytes = readFrameInto();
             } catch (IOException e) {
-                throw new EventDbxException("Failed to read control frame", e);
+                throw new EventDbxConnectionException("Failed to read control frame", e);
             }
         }
         if (responseBytes == null) {
-            throw new EventDbxException("Control socket closed while awaiting response");
+            throw new EventDbxConnectionException("Control socket closed while awaiting response");
         }
         return parseResponseReader(responseBytes);
     }
 
-    private byte[] serialize(org.capnproto.MessageBuilder message) {
-        try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            WritableByteChannel channel = Channels.newChannel(baos);
-            org.capnproto.Serialize.write(channel, message);
-            channel.close();
-            return baos.toByteArray();
-        } catch (IOException e) {
-            throw new EventDbxException("Failed to serialize control message", e);
-        }
-    }
-
-    private ControlSchemas.ControlResponse.Reader parseResponseReader(byte[] bytes) {
+    private ControlSchemas.ControlResponse.Reader parseResponseReader(ByteBuffer buffer) {
         try {
-            ByteBuffer buffer = ByteBuffer.wrap(bytes);
             org.capnproto.MessageReader reader = org.capnproto.Serialize.read(buffer);
             return reader.getRoot(ControlSchemas.ControlResponse.factory);
         } catch (IOException e) {
@@ -546,11 +945,40 @@ public final class NoiseControlClient implements ControlClient {
         }
     }
 
-    private Page<AggregateSnapshot> parseListAggregates(ControlSchemas.ControlResponse.Reader response) {
+    private <T> PageStream<T> openStream(long streamId, int window, Function<byte[], List<T>> decode) {
+        ServerPageStream<T> stream = new ServerPageStream<>(streamId, window, decode);
+        activeStream = stream;
+        return stream;
+    }
+
+    /**
+     * Servers predating the {@code aggregateType} request field return every type; drop the rest
+     * here so callers see the same result either way.
+     */
+    private static List<AggregateSnapshot> ofType(List<AggregateSnapshot> aggregates, String aggregateType) {
+        if (aggregateType == null || aggregateType.isBlank()) {
+            return aggregates;
+        }
+        for (AggregateSnapshot aggregate : aggregates) {
+            if (!aggregateType.equals(aggregate.aggregateType())) {
+                List<AggregateSnapshot> matching = new ArrayList<>(aggregates.size());
+                for (AggregateSnapshot candidate : aggregates) {
+                    if (aggregateType.equals(candidate.aggregateType())) {
+                        matching.add(candidate);
+                    }
+                }
+                return matching;
+            }
+        }
+        return aggregates;
+    }
+
+    private Page<AggregateSnapshot> parseListAggregates(ControlSchemas.ControlResponse.Reader response, String aggregateType) {
         switch (response.getPayload().which()) {
             case LIST_AGGREGATES -> {
                 ControlSchemas.ListAggregatesResponse.Reader body = response.getPayload().getListAggregates();
-                List<AggregateSnapshot> items = parseAggregateList(readString(body.getAggregatesJson()));
+                byte[] json = RecordDecoder.utf8(body.getAggregatesJson());
+                List<AggregateSnapshot> items = ofType(decoder.decodeAggregates(json, 0, json.length), aggregateType);
                 String cursor = body.getHasNextCursor() ? readString(body.getNextCursor()) : null;
                 return new Page<>(items, cursor);
             }
@@ -559,29 +987,41 @@ public final class NoiseControlClient implements ControlClient {
         }
     }
 
-    private AggregateSnapshot parseGetAggregate(ControlSchemas.ControlResponse.Reader response) {
+    private ConditionalResult<AggregateSnapshot> parseGetAggregate(ControlSchemas.ControlResponse.Reader response, Long knownVersion, String knownMerkleRoot) {
         switch (response.getPayload().which()) {
             case GET_AGGREGATE -> {
                 ControlSchemas.GetAggregateResponse.Reader body = response.getPayload().getGetAggregate();
+                if (body.getNotModified()) {
+                    return ConditionalResult.notModified();
+                }
                 if (!body.getFound()) {
-                    return null;
+                    return ConditionalResult.modified(null);
                 }
-                return parseAggregateJson(readString(body.getAggregateJson()));
+                AggregateSnapshot snapshot = decoder.decodeAggregate(RecordDecoder.utf8(body.getAggregateJson()));
+                return ConditionalResult.compare(snapshot, knownVersion, knownMerkleRoot);
             }
             case ERROR -> throw error(response.getPayload().getError());
             default -> throw new EventDbxException("Unexpected payload for getAggregate");
         }
     }
 
+    private Object parseBatchItem(ControlSchemas.ControlResponse.Reader response, BatchOperation operation) {
+        return switch (operation.kind()) {
+            case APPEND -> parseAppend(response);
+            case GET -> parseGetAggregate(response, null, null).value();
+            default -> parseAggregate(response);
+        };
+    }
+
     private AggregateSnapshot parseAggregate(ControlSchemas.ControlResponse.Reader response) {
         switch (response.getPayload().which()) {
             case CREATE_AGGREGATE -> {
                 ControlSchemas.CreateAggregateResponse.Reader body = response.getPayload().getCreateAggregate();
-                return parseAggregateJson(readString(body.getAggregateJson()));
+                return decoder.decodeAggregate(RecordDecoder.utf8(body.getAggregateJson()));
             }
             case SET_AGGREGATE_ARCHIVE -> {
                 ControlSchemas.SetAggregateArchiveResponse.Reader body = response.getPayload().getSetAggregateArchive();
-                return parseAggregateJson(readString(body.getAggregateJson()));
+                return decoder.decodeAggregate(RecordDecoder.utf8(body.getAggregateJson()));
             }
             case ERROR -> throw error(response.getPayload().getError());
             default -> throw new EventDbxException("Unexpected payload for aggregate operation");
@@ -592,34 +1032,34 @@ public final class NoiseControlClient implements ControlClient {
         switch (response.getPayload().which()) {
             case APPEND_EVENT -> {
                 ControlSchemas.AppendEventResponse.Reader body = response.getPayload().getAppendEvent();
-                return parseEventJson(readString(body.getEventJson()));
+                return decoder.decodeEvent(RecordDecoder.utf8(body.getEventJson()));
             }
             case ERROR -> throw error(response.getPayload().getError());
             default -> throw new EventDbxException("Unexpected payload for appendEvent");
         }
     }
 
-    private Page<EventRecord> parseEvents(ControlSchemas.ControlResponse.Reader response) {
+    private ControlSchemas.ListEventsResponse.Reader parseEvents(ControlSchemas.ControlResponse.Reader response) {
         switch (response.getPayload().which()) {
             case LIST_EVENTS -> {
-                ControlSchemas.ListEventsResponse.Reader body = response.getPayload().getListEvents();
-                List<EventRecord> items = parseEventList(readString(body.getEventsJson()));
-                String cursor = body.getHasNextCursor() ? readString(body.getNextCursor()) : null;
-                return new Page<>(items, cursor);
+                return response.getPayload().getListEvents();
             }
             case ERROR -> throw error(response.getPayload().getError());
             default -> throw new EventDbxException("Unexpected payload for listEvents");
         }
     }
 
-    private JsonNode parseSelection(ControlSchemas.ControlResponse.Reader response) {
+    private ConditionalResult<JsonNode> parseSelection(ControlSchemas.ControlResponse.Reader response) {
         switch (response.getPayload().which()) {
             case SELECT_AGGREGATE -> {
                 ControlSchemas.SelectAggregateResponse.Reader body = response.getPayload().getSelectAggregate();
+                if (body.getNotModified()) {
+                    return ConditionalResult.notModified();
+                }
                 if (!body.getFound()) {
-                    return null;
+                    return ConditionalResult.modified(null);
                 }
-                return parseJson(readString(body.getSelectionJson()));
+                return ConditionalResult.modified(parseJson(readString(body.getSelectionJson())));
             }
             case ERROR -> throw error(response.getPayload().getError());
             default -> throw new EventDbxException("Unexpected payload for selectAggregate");
@@ -629,114 +1069,164 @@ public final class NoiseControlClient implements ControlClient {
     private EventDbxException error(ControlSchemas.ControlError.Reader error) {
         String code = readString(error.getCode());
         String message = readString(error.getMessage());
+        if ("conflict".equals(code) || "version_conflict".equals(code)) {
+            return new EventDbxConflictException(code, "Server error (" + code + "): " + message);
+        }
         return new EventDbxException("Server error (" + code + "): " + message);
     }
 
-    private List<AggregateSnapshot> parseAggregateList(String json) {
+    private String json(JsonNode node) {
         try {
-            JsonNode node = MAPPER.readTree(json);
-            List<AggregateSnapshot> list = new ArrayList<>();
-            if (node.isArray()) {
-                for (JsonNode item : node) {
-                    list.add(toAggregate(item));
-                }
-            }
-            return list;
+            return MAPPER.writeValueAsString(node);
         } catch (IOException e) {
-            throw new EventDbxException("Failed to parse aggregates", e);
+            throw new EventDbxException("Failed to serialize JSON payload", e);
         }
     }
 
-    private AggregateSnapshot parseAggregateJson(String json) {
+    private JsonNode parseJson(String raw) {
         try {
-            return toAggregate(MAPPER.readTree(json));
+            return MAPPER.readTree(raw);
         } catch (IOException e) {
-            throw new EventDbxException("Failed to parse aggregate", e);
+            throw new EventDbxException("Failed to parse selection JSON", e);
         }
     }
 
-    private List<EventRecord> parseEventList(String json) {
+    private String readString(org.capnproto.Text.Reader reader) {
         try {
-            JsonNode node = MAPPER.readTree(json);
-            List<EventRecord> list = new ArrayList<>();
-            if (node.isArray()) {
-                for (JsonNode item : node) {
-                    list.add(toEvent(item));
-                }
-            }
-            return list;
-        } catch (IOException e) {
-            throw new EventDbxException("Failed to parse events", e);
+            return reader.toString();
+        } catch (Exception e) {
+            return "";
         }
     }
 
-    private EventRecord parseEventJson(String json) {
-        try {
-            return toEvent(MAPPER.readTree(json));
-        } catch (IOException e) {
-            throw new EventDbxException("Failed to parse event", e);
+    /**
+     * Pages pushed by the server for one streamed listing. Chunks are read from the connection as
+     * the consumer advances, and credit is topped back up to the window once half of it has been
+     * used, so the server never runs more than {@code window} chunks ahead. Closing before the end
+     * cancels the stream and drains what is already in flight so the connection can be reused.
+     */
+    private final class ServerPageStream<T> implements PageStream<T> {
+        private final long streamId;
+        private final int window;
+        private final Function<byte[], List<T>> decode;
+        private int outstanding;
+        private boolean finished;
+        private boolean cancelled;
+        private EventDbxException failure;
+        private Page<T> pending;
+
+        private ServerPageStream(long streamId, int window, Function<byte[], List<T>> decode) {
+            this.streamId = streamId;
+            this.window = window;
+            this.decode = decode;
+            this.outstanding = window;
         }
-    }
 
-    private AggregateSnapshot toAggregate(JsonNode node) {
-        String aggType = node.path("aggregateType").asText();
-        String aggId = node.path("aggregateId").asText();
-        long version = node.path("version").asLong();
-        JsonNode state = node.path("state").isMissingNode() ? MAPPER.createObjectNode() : node.path("state");
-        String merkleRoot = node.path("merkleRoot").asText("");
-        boolean archived = node.path("archived").asBoolean(false);
-        return new AggregateSnapshot(aggType, aggId, version, state, merkleRoot, archived);
-    }
+        @Override
+        public boolean hasNext() {
+            synchronized (NoiseControlClient.this) {
+                while (pending == null && !finished) {
+                    pending = readChunk();
+                }
+                if (pending == null && failure != null) {
+                    throw failure;
+                }
+                return pending != null;
+            }
+        }
 
-    private EventRecord toEvent(JsonNode node) {
-        String aggType = node.path("aggregateType").asText();
-        String aggId = node.path("aggregateId").asText();
-        String eventType = node.path("eventType").asText();
-        long version = node.path("version").asLong();
-        Long sequence = node.has("sequence") ? node.path("sequence").asLong() : null;
-        JsonNode payload = node.path("payload").isMissingNode() ? MAPPER.createObjectNode() : node.path("payload");
+        @Override
+        public Page<T> next() {
+            synchronized (NoiseControlClient.this) {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Page<T> page = pending;
+                pending = null;
+                return page;
+            }
+        }
 
-        JsonNode metaNode = node.path("metadata");
-        EventMetadata metadata = null;
-        if (!metaNode.isMissingNode()) {
-            String eventId = metaNode.path("eventId").asText(metaNode.path("event_id").asText());
-            String createdAtStr = metaNode.path("createdAt").asText(metaNode.path("created_at").asText());
-            Instant createdAt = createdAtStr.isBlank() ? Instant.EPOCH : Instant.parse(createdAtStr);
-            JsonNode issued = metaNode.path("issuedBy");
-            ActorClaims issuedBy = null;
-            if (!issued.isMissingNode()) {
-                issuedBy = new ActorClaims(issued.path("group").asText(null), issued.path("user").asText(null));
+        @Override
+        public void close() {
+            synchronized (NoiseControlClient.this) {
+                pending = null;
+                if (finished) {
+                    return;
+                }
+                try {
+                    cancelled = true;
+                    grant(0, true);
+                    while (!finished) {
+                        readChunk();
+                    }
+                } catch (RuntimeException e) {
+                    disconnect();
+                } finally {
+                    finish();
+                }
             }
-            String note = metaNode.path("note").asText(null);
-            metadata = new EventMetadata(eventId, createdAt, issuedBy, note);
         }
 
-        String hash = node.path("hash").asText("");
-        String merkleRoot = node.path("merkleRoot").asText("");
-        return new EventRecord(aggType, aggId, eventType, version, sequence, payload, metadata, hash, merkleRoot);
-    }
+        private Page<T> readChunk() {
+            ControlSchemas.ControlResponse.Reader response;
+            try {
+                response = readResponse();
+            } catch (RuntimeException e) {
+                finish();
+                disconnect();
+                throw e;
+            }
+            if (response.getId() != streamId) {
+                finish();
+                disconnect();
+                throw new EventDbxException("Unexpected response " + response.getId() + " while streaming request " + streamId);
+            }
+            switch (response.getPayload().which()) {
+                case STREAM_CHUNK -> {
+                    ControlSchemas.StreamChunk.Reader chunk = response.getPayload().getStreamChunk();
+                    List<T> items = decode.apply(RecordDecoder.utf8(chunk.getItemsJson()));
+                    String cursor = chunk.getHasNextCursor() ? readString(chunk.getNextCursor()) : null;
+                    if (chunk.getEndOfStream()) {
+                        finish();
+                    } else if (--outstanding <= window / 2 && !cancelled) {
+                        grant(window - outstanding, false);
+                    }
+                    return items.isEmpty() ? null : new Page<>(items, cursor);
+                }
+                case ERROR -> {
+                    finish();
+                    throw error(response.getPayload().getError());
+                }
+                default -> {
+                    finish();
+                    disconnect();
+                    throw new EventDbxException("Unexpected payload for stream");
+                }
+            }
+        }
 
-    private String json(JsonNode node) {
-        try {
-            return MAPPER.writeValueAsString(node);
-        } catch (IOException e) {
-            throw new EventDbxException("Failed to serialize JSON payload", e);
+        private void grant(int credit, boolean cancel) {
+            org.capnproto.MessageBuilder message = arena.newMessage();
+            ControlSchemas.StreamCredit.Builder body = initRequest(message, streamId).initStreamCredit();
+            body.setCredit(credit);
+            body.setCancel(cancel);
+            writeRequest(message);
+            outstanding += credit;
         }
-    }
 
-    private JsonNode parseJson(String raw) {
-        try {
-            return MAPPER.readTree(raw);
-        } catch (IOException e) {
-            throw new EventDbxException("Failed to parse selection JSON", e);
+        private void abort() {
+            if (!finished) {
+                failure = new EventDbxException("Control connection closed while streaming request " + streamId);
+            }
+            finish();
         }
-    }
 
-    private String readString(org.capnproto.Text.Reader reader) {
-        try {
-            return reader.toString();
-        } catch (Exception e) {
-            return "";
+        private void finish() {
+            finished = true;
+            if (activeStream == this) {
+                activeStream = null;
+            }
         }
     }
 
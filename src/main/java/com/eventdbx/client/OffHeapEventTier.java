@@ -0,0 +1,73 @@
+package com.eventdbx.client;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Byte-bounded store of raw event JSON in a single direct buffer, outside the Java heap.
+ * <p>
+ * The buffer is written as a ring: records are appended at the write position and, when space
+ * runs out, the oldest records are dropped to make room. Because events never change, FIFO
+ * eviction is all the policy this tier needs. Not thread-safe.
+ */
+final class OffHeapEventTier {
+    private final ByteBuffer arena;
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>();
+    private int writePosition;
+
+    OffHeapEventTier(long maxBytes) {
+        this.arena = ByteBuffer.allocateDirect((int) Math.min(maxBytes, Integer.MAX_VALUE - 8));
+    }
+
+    byte[] get(String key) {
+        Long slot = index.get(key);
+        if (slot == null) {
+            return null;
+        }
+        byte[] json = new byte[length(slot)];
+        arena.get(offset(slot), json);
+        return json;
+    }
+
+    void put(String key, byte[] json, int offset, int length) {
+        if (length > arena.capacity() || index.containsKey(key)) {
+            return;
+        }
+        if (writePosition + length > arena.capacity()) {
+            while (!index.isEmpty() && offset(eldest()) >= writePosition) {
+                evictEldest();
+            }
+            writePosition = 0;
+        }
+        while (!index.isEmpty() && offset(eldest()) >= writePosition && offset(eldest()) < writePosition + length) {
+            evictEldest();
+        }
+        arena.put(writePosition, json, offset, length);
+        index.put(key, ((long) writePosition << 32) | length);
+        writePosition += length;
+    }
+
+    int size() {
+        return index.size();
+    }
+
+    private long eldest() {
+        return index.values().iterator().next();
+    }
+
+    private void evictEldest() {
+        Iterator<Map.Entry<String, Long>> it = index.entrySet().iterator();
+        it.next();
+        it.remove();
+    }
+
+    private static int offset(long slot) {
+        return (int) (slot >>> 32);
+    }
+
+    private static int length(long slot) {
+        return (int) slot;
+    }
+}
@@ -0,0 +1,181 @@
+package com.eventdbx.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs tasks keyed by aggregate: tasks for one aggregate run one at a time in submission order,
+ * while tasks for different aggregates run in parallel.
+ * <p>
+ * Aggregates are hashed onto stripes, each a queue drained by at most one worker at a time. There
+ * are many more stripes than threads so that a slow aggregate rarely holds up an unrelated one;
+ * a stripe gives its thread back after a bounded number of tasks so busy stripes cannot starve
+ * the rest. Use it to run {@code apply()} calls concurrently without writes to the same aggregate
+ * racing each other.
+ */
+public final class OrderedExecutor implements AutoCloseable {
+    private static final int STRIPES_PER_THREAD = 16;
+    private static final int TASKS_PER_TURN = 64;
+
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final Stripe[] stripes;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * Run tasks on {@code parallelism} daemon threads owned by this executor.
+     */
+    public OrderedExecutor(int parallelism) {
+        this(ownPool(parallelism), parallelism * STRIPES_PER_THREAD, true);
+    }
+
+    /**
+     * Run tasks on {@code executor} over {@code stripes} stripes. The executor is not shut down on
+     * {@link #close()}.
+     */
+    public OrderedExecutor(Executor executor, int stripes) {
+        this(executor, stripes, false);
+    }
+
+    private OrderedExecutor(Executor executor, int stripes, boolean owned) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripes must be > 0");
+        }
+        this.executor = executor;
+        this.ownedExecutor = owned ? (ExecutorService) executor : null;
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    public <T> CompletableFuture<T> submit(String aggregateType, String aggregateId, Supplier<T> task) {
+        outstanding.incrementAndGet();
+        if (closed) {
+            finished();
+            throw new IllegalStateException("Executor already closed");
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Runnable run = () -> {
+            try {
+                future.complete(task.get());
+            } catch (RuntimeException | Error e) {
+                future.completeExceptionally(e);
+            } finally {
+                finished();
+            }
+        };
+        Stripe stripe = stripes[stripe(aggregateType, aggregateId, stripes.length)];
+        try {
+            stripe.add(run);
+        } catch (RejectedExecutionException e) {
+            // Unless a worker already took it, the task would never run and close() would wait forever.
+            if (stripe.remove(run)) {
+                future.completeExceptionally(e);
+                finished();
+                throw e;
+            }
+        }
+        return future;
+    }
+
+    public CompletableFuture<Void> execute(String aggregateType, String aggregateId, Runnable task) {
+        return submit(aggregateType, aggregateId, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Stop accepting tasks and wait for the submitted ones to finish.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (this) {
+            while (outstanding.get() > 0) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Stripe an aggregate maps to among {@code count}.
+     */
+    static int stripe(String aggregateType, String aggregateId, int count) {
+        return Math.floorMod(31 * aggregateType.hashCode() + aggregateId.hashCode(), count);
+    }
+
+    private void finished() {
+        if (outstanding.decrementAndGet() == 0 && closed) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+    private static ExecutorService ownPool(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be > 0");
+        }
+        AtomicInteger threads = new AtomicInteger();
+        return Executors.newFixedThreadPool(parallelism, task -> {
+            Thread thread = new Thread(task, "eventdbx-ordered-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private final class Stripe implements Runnable {
+        private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        void add(Runnable task) {
+            tasks.add(task);
+            schedule();
+        }
+
+        boolean remove(Runnable task) {
+            return tasks.remove(task);
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            Runnable task;
+            for (int ran = 0; ran < TASKS_PER_TURN && (task = tasks.poll()) != null; ran++) {
+                task.run();
+            }
+            scheduled.set(false);
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -10,6 +10,9 @@ public final class PageOptions {
     private final String token;
     private final String filter;
     private final String sort;
+    private final Long fromVersion;
+    private final Long toVersion;
+    private final boolean includePayload;
 
     private PageOptions(Builder builder) {
         this.cursor = builder.cursor;
@@ -19,6 +22,9 @@ public final class PageOptions {
         this.token = builder.token;
         this.filter = builder.filter;
         this.sort = builder.sort;
+        this.fromVersion = builder.fromVersion;
+        this.toVersion = builder.toVersion;
+        this.includePayload = builder.includePayload;
     }
 
     public Optional<String> cursor() {
@@ -49,6 +55,41 @@ public final class PageOptions {
         return Optional.ofNullable(sort);
     }
 
+    /**
+     * Lowest event version to return, inclusive. Only applies to event listings.
+     */
+    public Optional<Long> fromVersion() {
+        return Optional.ofNullable(fromVersion);
+    }
+
+    /**
+     * Highest event version to return, inclusive. Only applies to event listings.
+     */
+    public Optional<Long> toVersion() {
+        return Optional.ofNullable(toVersion);
+    }
+
+    /**
+     * When {@code false}, event listings carry headers only and payloads come back empty.
+     */
+    public boolean includePayload() {
+        return includePayload;
+    }
+
+    public Builder toBuilder() {
+        return new Builder()
+                .cursor(cursor)
+                .take(take)
+                .includeArchived(includeArchived)
+                .archivedOnly(archivedOnly)
+                .token(token)
+                .filter(filter)
+                .sort(sort)
+                .fromVersion(fromVersion)
+                .toVersion(toVersion)
+                .includePayload(includePayload);
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -61,6 +102,9 @@ public final class PageOptions {
         private String token;
         private String filter;
         private String sort;
+        private Long fromVersion;
+        private Long toVersion;
+        private boolean includePayload = true;
 
         public Builder cursor(String cursor) {
             this.cursor = cursor;
@@ -97,7 +141,25 @@ public final class PageOptions {
             return this;
         }
 
+        public Builder fromVersion(Long fromVersion) {
+            this.fromVersion = fromVersion;
+            return this;
+        }
+
+        public Builder toVersion(Long toVersion) {
+            this.toVersion = toVersion;
+            return this;
+        }
+
+        public Builder includePayload(boolean includePayload) {
+            this.includePayload = includePayload;
+            return this;
+        }
+
         public PageOptions build() {
+            if (fromVersion != null && toVersion != null && fromVersion > toVersion) {
+                throw new IllegalArgumentException("fromVersion must be <= toVersion");
+            }
             return new PageOptions(this);
         }
     }
@@ -0,0 +1,158 @@
+package com.eventdbx.client;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+/**
+ * {@link Flow.Publisher} over a cursor-paged listing where page fetches are driven by demand.
+ * <p>
+ * Each subscription fetches a page only when the subscriber has outstanding demand, asking for
+ * {@code take = min(outstanding demand, maxTake)} items, so slow subscribers throttle fetching
+ * instead of pages piling up in memory. Signals are delivered from a serialized drain loop on
+ * the supplied executor.
+ */
+final class PagePublisher<T> implements Flow.Publisher<T> {
+    static final int DEFAULT_MAX_TAKE = 1000;
+
+    private final BiFunction<String, Integer, Page<T>> fetcher;
+    private final String initialCursor;
+    private final int maxTake;
+    private final Executor executor;
+
+    PagePublisher(BiFunction<String, Integer, Page<T>> fetcher, String initialCursor, int maxTake, Executor executor) {
+        this.fetcher = Objects.requireNonNull(fetcher, "fetcher");
+        this.initialCursor = initialCursor;
+        this.maxTake = Math.max(1, maxTake);
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        subscriber.onSubscribe(new PageSubscription(subscriber));
+    }
+
+    private final class PageSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+
+        // Only touched from the drain loop, which the wip counter serializes.
+        private final ArrayDeque<T> buffer = new ArrayDeque<>();
+        private String cursor = initialCursor;
+        private boolean exhausted;
+        private boolean terminated;
+
+        private PageSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("request must be positive (rule 3.9), got " + n);
+            } else {
+                requested.getAndUpdate(current -> {
+                    long sum = current + n;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                cancelled = true;
+                subscriber.onError(e);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                drainOnce();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drainOnce() {
+            if (terminated) {
+                return;
+            }
+            if (cancelled) {
+                terminated = true;
+                buffer.clear();
+                return;
+            }
+            if (invalidRequest != null) {
+                terminate();
+                subscriber.onError(invalidRequest);
+                return;
+            }
+            long demand = requested.get();
+            long emitted = 0;
+            while (emitted < demand && !cancelled) {
+                T item = buffer.poll();
+                if (item == null) {
+                    if (exhausted) {
+                        break;
+                    }
+                    try {
+                        fetch((int) Math.min(maxTake, demand - emitted));
+                    } catch (RuntimeException e) {
+                        terminate();
+                        subscriber.onError(e);
+                        return;
+                    }
+                    continue;
+                }
+                subscriber.onNext(item);
+                emitted++;
+            }
+            if (emitted > 0 && demand != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+            if (!cancelled && exhausted && buffer.isEmpty()) {
+                terminate();
+                subscriber.onComplete();
+            }
+        }
+
+        private void fetch(int take) {
+            String used = cursor;
+            Page<T> page = fetcher.apply(used, take);
+            buffer.addAll(page.items());
+            String nextCursor = page.nextCursor();
+            if (nextCursor == null || nextCursor.isBlank() || nextCursor.equals(used)) {
+                exhausted = true;
+            } else {
+                cursor = nextCursor;
+            }
+        }
+
+        private void terminate() {
+            terminated = true;
+            cancelled = true;
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.eventdbx.client;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Spliterator that follows page cursors, optionally fetching the next pages in the background
+ * while the consumer works through the current one.
+ * <p>
+ * The prefetch loop stays at most {@link StreamOptions#prefetchPages()} pages and
+ * {@link StreamOptions#maxBufferedItems()} items ahead of the consumer. Failures are rethrown to
+ * the consumer once the pages fetched before them have been drained. {@link #close()} stops
+ * the loop and releases buffered pages.
+ */
+final class PageSpliterator<T> implements Spliterator<T>, AutoCloseable {
+    private final Function<String, Page<T>> fetcher;
+    private final StreamOptions options;
+
+    private final Object lock = new Object();
+    private final ArrayDeque<Page<T>> ready = new ArrayDeque<>();
+    private int bufferedItems;
+    private String cursor;
+    private boolean exhausted;
+    private boolean closed;
+    private boolean started;
+    private RuntimeException failure;
+
+    private Iterator<T> current = Collections.emptyIterator();
+
+    PageSpliterator(Function<String, Page<T>> fetcher, String initialCursor, StreamOptions options) {
+        this.fetcher = fetcher;
+        this.cursor = initialCursor;
+        this.options = options;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        while (!current.hasNext()) {
+            Page<T> page = nextPage();
+            if (page == null) {
+                return false;
+            }
+            current = page.items().iterator();
+        }
+        action.accept(current.next());
+        return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            ready.clear();
+            bufferedItems = 0;
+            lock.notifyAll();
+        }
+        current = Collections.emptyIterator();
+    }
+
+    private Page<T> nextPage() {
+        if (options.prefetchPages() == 0) {
+            return fetchInline();
+        }
+        synchronized (lock) {
+            startPrefetch();
+            try {
+                while (ready.isEmpty() && failure == null && !exhausted && !closed) {
+                    lock.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new EventDbxException("Interrupted while waiting for the next page", e);
+            }
+            Page<T> page = ready.poll();
+            if (page != null) {
+                bufferedItems -= page.items().size();
+                lock.notifyAll();
+                return page;
+            }
+            if (failure != null && !closed) {
+                throw failure;
+            }
+            return null;
+        }
+    }
+
+    private Page<T> fetchInline() {
+        String next;
+        synchronized (lock) {
+            if (exhausted || closed) {
+                return null;
+            }
+            next = cursor;
+        }
+        Page<T> page = fetcher.apply(next);
+        synchronized (lock) {
+            advance(page, next);
+        }
+        return page;
+    }
+
+    private void startPrefetch() {
+        if (started || exhausted || closed) {
+            return;
+        }
+        started = true;
+        if (options.executor().isPresent()) {
+            options.executor().get().execute(this::prefetchLoop);
+        } else {
+            Thread thread = new Thread(this::prefetchLoop, "eventdbx-prefetch");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    private void prefetchLoop() {
+        while (true) {
+            String next;
+            synchronized (lock) {
+                try {
+                    while (!closed && !hasRoom()) {
+                        lock.wait();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failure = new EventDbxException("Page prefetch interrupted", e);
+                    lock.notifyAll();
+                    return;
+                }
+                if (closed) {
+                    return;
+                }
+                next = cursor;
+            }
+            Page<T> page;
+            try {
+                page = fetcher.apply(next);
+            } catch (RuntimeException e) {
+                synchronized (lock) {
+                    failure = e;
+                    lock.notifyAll();
+                }
+                return;
+            }
+            synchronized (lock) {
+                if (!closed) {
+                    ready.add(page);
+                    bufferedItems += page.items().size();
+                }
+                advance(page, next);
+                lock.notifyAll();
+                if (exhausted || closed) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * A page is always fetched when nothing is buffered, so a single page larger than the item
+     * bound cannot stall the stream.
+     */
+    private boolean hasRoom() {
+        if (ready.isEmpty()) {
+            return true;
+        }
+        return ready.size() < options.prefetchPages() && bufferedItems < options.maxBufferedItems();
+    }
+
+    private void advance(Page<T> page, String used) {
+        String nextCursor = page.nextCursor();
+        if (nextCursor == null || nextCursor.isBlank() || nextCursor.equals(used)) {
+            exhausted = true;
+        } else {
+            cursor = nextCursor;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.eventdbx.client;
+
+import java.util.Iterator;
+
+/**
+ * Iterator over consecutive pages of a listing that holds transport resources until closed.
+ * <p>
+ * Server-streamed implementations occupy their connection until the last page has been read or
+ * the stream is closed, so always close streams that are abandoned early.
+ */
+public interface PageStream<T> extends Iterator<Page<T>>, AutoCloseable {
+    @Override
+    void close();
+}
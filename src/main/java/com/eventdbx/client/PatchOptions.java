@@ -11,12 +11,14 @@ public final class PatchOptions {
     private final String note;
     private final String token;
     private final List<PublishTarget> publishTargets;
+    private final Long expectedVersion;
 
     private PatchOptions(Builder builder) {
         this.metadata = builder.metadata;
         this.note = builder.note;
         this.token = builder.token;
         this.publishTargets = List.copyOf(builder.publishTargets);
+        this.expectedVersion = builder.expectedVersion;
     }
 
     public Optional<JsonNode> metadata() {
@@ -35,6 +37,14 @@ public final class PatchOptions {
         return publishTargets;
     }
 
+    /**
+     * Version the aggregate must be at for the write to be accepted; otherwise it fails with
+     * {@link EventDbxConflictException}.
+     */
+    public Optional<Long> expectedVersion() {
+        return Optional.ofNullable(expectedVersion);
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -44,6 +54,7 @@ public final class PatchOptions {
         private String note;
         private String token;
         private final List<PublishTarget> publishTargets = new ArrayList<>();
+        private Long expectedVersion;
 
         public Builder metadata(JsonNode metadata) {
             this.metadata = metadata;
@@ -82,7 +93,15 @@ public final class PatchOptions {
             return this;
         }
 
+        public Builder expectedVersion(Long expectedVersion) {
+            this.expectedVersion = expectedVersion;
+            return this;
+        }
+
         public PatchOptions build() {
+            if (expectedVersion != null && expectedVersion < 0) {
+                throw new IllegalArgumentException("expectedVersion must be >= 0");
+            }
             return new PatchOptions(this);
         }
     }
@@ -0,0 +1,233 @@
+package com.eventdbx.client;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * {@link ControlClient} that spreads calls over several connections, so independent requests
+ * from different threads no longer queue behind one socket.
+ * <p>
+ * Each call borrows an idle connection for its duration. A page stream keeps its connection
+ * until it is closed or exhausted, since the server pushes pages on it. Callers waiting longer
+ * than the acquire timeout for a connection get an {@link EventDbxException}.
+ */
+final class PooledControlClient implements ControlClient {
+    private final List<ControlClient> clients;
+    private final BlockingQueue<ControlClient> idle;
+    private final long acquireTimeoutNanos;
+    private final EventCache eventCache;
+
+    PooledControlClient(List<ControlClient> clients, Duration acquireTimeout) {
+        this(clients, acquireTimeout, null);
+    }
+
+    /**
+     * Pool whose connections share {@code eventCache}, which closing the pool closes.
+     */
+    PooledControlClient(List<ControlClient> clients, Duration acquireTimeout, EventCache eventCache) {
+        if (clients.isEmpty()) {
+            throw new IllegalArgumentException("clients must not be empty");
+        }
+        this.clients = List.copyOf(clients);
+        this.idle = new ArrayBlockingQueue<>(clients.size(), false, clients);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.eventCache = eventCache;
+    }
+
+    int size() {
+        return clients.size();
+    }
+
+    @Override
+    public void connect() {
+        for (ControlClient client : clients) {
+            client.connect();
+        }
+    }
+
+    @Override
+    public void disconnect() {
+        for (ControlClient client : clients) {
+            client.disconnect();
+        }
+    }
+
+    @Override
+    public void close() {
+        for (ControlClient client : clients) {
+            client.close();
+        }
+        if (eventCache != null) {
+            eventCache.close();
+        }
+    }
+
+    @Override
+    public boolean isConnected() {
+        return clients.stream().allMatch(ControlClient::isConnected);
+    }
+
+    @Override
+    public Endpoint endpoint() {
+        return clients.get(0).endpoint();
+    }
+
+    @Override
+    public Page<AggregateSnapshot> list(String aggregateType, PageOptions options) {
+        return with(client -> client.list(aggregateType, options));
+    }
+
+    @Override
+    public PageStream<AggregateSnapshot> streamAggregatePages(String aggregateType, PageOptions options, int credit) {
+        return holding(client -> client.streamAggregatePages(aggregateType, options, credit));
+    }
+
+    @Override
+    public AggregateSnapshot create(String aggregateType, String aggregateId, String eventType, CreateAggregateOptions options) {
+        return with(client -> client.create(aggregateType, aggregateId, eventType, options));
+    }
+
+    @Override
+    public AggregateSnapshot archive(String aggregateType, String aggregateId, ArchiveOptions options) {
+        return with(client -> client.archive(aggregateType, aggregateId, options));
+    }
+
+    @Override
+    public AggregateSnapshot restore(String aggregateType, String aggregateId, ArchiveOptions options) {
+        return with(client -> client.restore(aggregateType, aggregateId, options));
+    }
+
+    @Override
+    public AggregateSnapshot patch(String aggregateType, String aggregateId, String eventType, Iterable<JsonPatchOperation> operations, PatchOptions options) {
+        return with(client -> client.patch(aggregateType, aggregateId, eventType, operations, options));
+    }
+
+    @Override
+    public AggregateSnapshot get(String aggregateType, String aggregateId) {
+        return with(client -> client.get(aggregateType, aggregateId));
+    }
+
+    @Override
+    public Map<String, AggregateSnapshot> getAll(String aggregateType, Collection<String> aggregateIds) {
+        return with(client -> client.getAll(aggregateType, aggregateIds));
+    }
+
+    @Override
+    public JsonNode select(String aggregateType, String aggregateId, Iterable<String> fields) {
+        return with(client -> client.select(aggregateType, aggregateId, fields));
+    }
+
+    @Override
+    public String verify(String aggregateType, String aggregateId) {
+        return with(client -> client.verify(aggregateType, aggregateId));
+    }
+
+    @Override
+    public ConditionalResult<AggregateSnapshot> getIfModified(String aggregateType, String aggregateId, Long knownVersion, String knownMerkleRoot) {
+        return with(client -> client.getIfModified(aggregateType, aggregateId, knownVersion, knownMerkleRoot));
+    }
+
+    @Override
+    public ConditionalResult<JsonNode> selectIfModified(String aggregateType, String aggregateId, Iterable<String> fields, Long knownVersion, String knownMerkleRoot) {
+        return with(client -> client.selectIfModified(aggregateType, aggregateId, fields, knownVersion, knownMerkleRoot));
+    }
+
+    @Override
+    public Page<EventRecord> events(String aggregateType, String aggregateId, PageOptions options) {
+        return with(client -> client.events(aggregateType, aggregateId, options));
+    }
+
+    @Override
+    public PageStream<EventRecord> streamEventPages(String aggregateType, String aggregateId, PageOptions options, int credit) {
+        return holding(client -> client.streamEventPages(aggregateType, aggregateId, options, credit));
+    }
+
+    @Override
+    public EventBatch eventBatch(String aggregateType, String aggregateId, PageOptions options) {
+        return with(client -> client.eventBatch(aggregateType, aggregateId, options));
+    }
+
+    @Override
+    public EventRecord apply(String aggregateType, String aggregateId, String eventType, AppendOptions options) {
+        return with(client -> client.apply(aggregateType, aggregateId, eventType, options));
+    }
+
+    @Override
+    public List<BatchResult> batch(List<BatchOperation> operations) {
+        return with(client -> client.batch(operations));
+    }
+
+    private <R> R with(Function<ControlClient, R> call) {
+        ControlClient client = acquire();
+        try {
+            return call.apply(client);
+        } finally {
+            idle.add(client);
+        }
+    }
+
+    private <T> PageStream<T> holding(Function<ControlClient, PageStream<T>> open) {
+        ControlClient client = acquire();
+        PageStream<T> stream;
+        try {
+            stream = open.apply(client);
+        } catch (RuntimeException | Error e) {
+            idle.add(client);
+            throw e;
+        }
+        return new PageStream<>() {
+            private boolean released;
+
+            @Override
+            public boolean hasNext() {
+                boolean hasNext = stream.hasNext();
+                if (!hasNext) {
+                    release();
+                }
+                return hasNext;
+            }
+
+            @Override
+            public Page<T> next() {
+                return stream.next();
+            }
+
+            @Override
+            public void close() {
+                try {
+                    stream.close();
+                } finally {
+                    release();
+                }
+            }
+
+            private synchronized void release() {
+                if (!released) {
+                    released = true;
+                    idle.add(client);
+                }
+            }
+        };
+    }
+
+    private ControlClient acquire() {
+        try {
+            ControlClient client = idle.poll(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+            if (client == null) {
+                throw new EventDbxException("Timed out waiting for a pooled control connection");
+            }
+            return client;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EventDbxException("Interrupted while waiting for a pooled control connection", e);
+        }
+    }
+}
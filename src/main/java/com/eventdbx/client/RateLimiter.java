@@ -0,0 +1,42 @@
+package com.eventdbx.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Spaces calls evenly at no more than a fixed rate. A caller that finds the limiter idle goes
+ * straight through, but idle time is not saved up into a burst. Callers claim the next free slot
+ * with a compare-and-set and then sleep until it arrives, so no lock is held while waiting.
+ */
+final class RateLimiter {
+    private final long intervalNanos;
+    private final AtomicLong nextFree;
+
+    RateLimiter(double permitsPerSecond) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("permitsPerSecond must be > 0");
+        }
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / permitsPerSecond));
+        this.nextFree = new AtomicLong(System.nanoTime());
+    }
+
+    void acquire() {
+        long now;
+        long slot;
+        while (true) {
+            now = System.nanoTime();
+            long next = nextFree.get();
+            slot = next - now > 0 ? next : now;
+            if (nextFree.compareAndSet(next, slot + intervalNanos)) {
+                break;
+            }
+        }
+        for (long wait = slot - now; wait > 0; wait = slot - System.nanoTime()) {
+            LockSupport.parkNanos(this, wait);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new EventDbxException("Interrupted while waiting for the rate limit");
+            }
+        }
+    }
+}
@@ -0,0 +1,497 @@
+package com.eventdbx.client;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Streaming decoder for the JSON documents carried in control responses.
+ * <p>
+ * Parses straight from the UTF-8 bytes of the Cap'n Proto text field (no intermediate
+ * {@code String} of the whole document) and routes aggregate types, event types and actor claims
+ * through a shared {@link StringDictionary}, so a page of events holds one instance per distinct
+ * value instead of one per event. Arrays at or above the parallel threshold are split at top-level
+ * element boundaries and decoded chunk by chunk on a {@link ForkJoinPool}, preserving order.
+ * Safe for concurrent use.
+ */
+final class RecordDecoder {
+    private static final byte[] EMPTY_OBJECT = {'{', '}'};
+    private static final int MIN_CHUNK_BYTES = 64 * 1024;
+
+    private final ObjectMapper mapper;
+    private final StringDictionary dictionary;
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+
+    RecordDecoder(ObjectMapper mapper, StringDictionary dictionary) {
+        this(mapper, dictionary, null, 0);
+    }
+
+    RecordDecoder(ObjectMapper mapper, StringDictionary dictionary, ForkJoinPool pool, int parallelThreshold) {
+        this.mapper = mapper;
+        this.dictionary = dictionary;
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    static byte[] utf8(org.capnproto.Text.Reader text) {
+        try {
+            ByteBuffer buffer = text.asByteBuffer();
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return bytes;
+        } catch (Exception e) {
+            return new byte[0];
+        }
+    }
+
+    /**
+     * Join raw JSON documents into one array, as {@link #decodeEvents} expects.
+     */
+    static byte[] joinArray(List<byte[]> documents) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write('[');
+        for (int i = 0; i < documents.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeBytes(documents.get(i));
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    List<EventRecord> decodeEvents(byte[] json, int offset, int length) {
+        if (parallel(length)) {
+            return decodeParallel(json, offset, length, this::decodeEventChunk);
+        }
+        return decodeEventChunk(json, offset, length);
+    }
+
+    private List<EventRecord> decodeEventChunk(byte[] json, int offset, int length) {
+        try (JsonParser parser = mapper.createParser(json, offset, length)) {
+            List<EventRecord> list = new ArrayList<>();
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return list;
+            }
+            PageState state = new PageState();
+            for (JsonToken token = parser.nextToken(); token != null && token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                list.add(readEvent(parser, state));
+            }
+            return list;
+        } catch (IOException | RuntimeException e) {
+            throw new EventDbxException("Failed to parse events", e);
+        }
+    }
+
+    /**
+     * Decode an events array straight into columns. Payloads are copied as raw JSON bytes using the
+     * parser's byte offsets, so no payload tree is ever built.
+     */
+    EventBatch decodeEventBatch(String aggregateType, String aggregateId, byte[] json, int offset, int length, String nextCursor) {
+        try (JsonParser parser = mapper.createParser(json, offset, length)) {
+            EventBatch.Builder batch = new EventBatch.Builder(aggregateType, aggregateId, length / 256);
+            if (parser.nextToken() == JsonToken.START_ARRAY) {
+                for (JsonToken token = parser.nextToken(); token != null && token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                    readBatchEvent(parser, batch, json, offset);
+                }
+            }
+            return batch.build(nextCursor);
+        } catch (IOException | RuntimeException e) {
+            throw new EventDbxException("Failed to parse events", e);
+        }
+    }
+
+    EventRecord decodeEvent(byte[] json) {
+        try (JsonParser parser = mapper.createParser(json)) {
+            parser.nextToken();
+            return readEvent(parser, new PageState());
+        } catch (IOException | RuntimeException e) {
+            throw new EventDbxException("Failed to parse event", e);
+        }
+    }
+
+    List<AggregateSnapshot> decodeAggregates(byte[] json, int offset, int length) {
+        if (parallel(length)) {
+            return decodeParallel(json, offset, length, this::decodeAggregateChunk);
+        }
+        return decodeAggregateChunk(json, offset, length);
+    }
+
+    private List<AggregateSnapshot> decodeAggregateChunk(byte[] json, int offset, int length) {
+        try (JsonParser parser = mapper.createParser(json, offset, length)) {
+            List<AggregateSnapshot> list = new ArrayList<>();
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return list;
+            }
+            for (JsonToken token = parser.nextToken(); token != null && token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                list.add(readAggregate(parser));
+            }
+            return list;
+        } catch (IOException | RuntimeException e) {
+            throw new EventDbxException("Failed to parse aggregates", e);
+        }
+    }
+
+    AggregateSnapshot decodeAggregate(byte[] json) {
+        try (JsonParser parser = mapper.createParser(json)) {
+            parser.nextToken();
+            return readAggregate(parser);
+        } catch (IOException | RuntimeException e) {
+            throw new EventDbxException("Failed to parse aggregate", e);
+        }
+    }
+
+    private boolean parallel(int length) {
+        return pool != null && parallelThreshold > 0 && length >= parallelThreshold && pool.getParallelism() > 1;
+    }
+
+    private interface ChunkDecoder<T> {
+        List<T> decode(byte[] json, int offset, int length);
+    }
+
+    /**
+     * Split a JSON array into roughly equal runs of whole elements, wrap each run in brackets and
+     * decode the runs concurrently. Falls back to a single sequential decode if the document is not
+     * a well-formed array.
+     */
+    private <T> List<T> decodeParallel(byte[] json, int offset, int length, ChunkDecoder<T> chunkDecoder) {
+        int chunkBytes = Math.max(MIN_CHUNK_BYTES, length / (pool.getParallelism() * 4));
+        List<int[]> ranges = splitArray(json, offset, length, chunkBytes);
+        if (ranges == null || ranges.size() < 2) {
+            return chunkDecoder.decode(json, offset, length);
+        }
+        List<ForkJoinTask<List<T>>> tasks = new ArrayList<>(ranges.size());
+        for (int[] range : ranges) {
+            tasks.add(pool.submit(() -> {
+                byte[] chunk = new byte[range[1] - range[0] + 2];
+                chunk[0] = '[';
+                System.arraycopy(json, range[0], chunk, 1, range[1] - range[0]);
+                chunk[chunk.length - 1] = ']';
+                return chunkDecoder.decode(chunk, 0, chunk.length);
+            }));
+        }
+        List<T> result = new ArrayList<>();
+        for (ForkJoinTask<List<T>> task : tasks) {
+            result.addAll(task.join());
+        }
+        return result;
+    }
+
+    /**
+     * Scan a JSON array and return {@code [start, end)} byte ranges, each covering whole top-level
+     * elements (without the separating commas), of roughly {@code chunkBytes} each. Returns
+     * {@code null} when the input is not a complete array.
+     */
+    static List<int[]> splitArray(byte[] json, int offset, int length, int chunkBytes) {
+        int end = offset + length;
+        int i = offset;
+        while (i < end && isWhitespace(json[i])) {
+            i++;
+        }
+        if (i == end || json[i] != '[') {
+            return null;
+        }
+        List<int[]> ranges = new ArrayList<>();
+        int chunkStart = i + 1;
+        int depth = 0;
+        boolean inString = false;
+        for (; i < end; i++) {
+            byte b = json[i];
+            if (inString) {
+                if (b == '\\') {
+                    i++;
+                } else if (b == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            switch (b) {
+                case '"' -> inString = true;
+                case '{', '[' -> depth++;
+                case '}', ']' -> {
+                    depth--;
+                    if (depth == 0) {
+                        if (hasContent(json, chunkStart, i)) {
+                            ranges.add(new int[] {chunkStart, i});
+                        }
+                        return ranges;
+                    }
+                }
+                case ',' -> {
+                    if (depth == 1 && i - chunkStart >= chunkBytes) {
+                        ranges.add(new int[] {chunkStart, i});
+                        chunkStart = i + 1;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasContent(byte[] json, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!isWhitespace(json[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private AggregateSnapshot readAggregate(JsonParser parser) throws IOException {
+        String aggType = "";
+        String aggId = "";
+        long version = 0;
+        JsonNode state = null;
+        String merkleRoot = "";
+        boolean archived = false;
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "aggregateType" -> aggType = internedText(parser, "");
+                    case "aggregateId" -> aggId = text(parser, "");
+                    case "version" -> version = longValue(parser);
+                    case "state" -> state = mapper.readTree(parser);
+                    case "merkleRoot" -> merkleRoot = text(parser, "");
+                    case "archived" -> archived = booleanValue(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+        } else {
+            parser.skipChildren();
+        }
+        if (state == null) {
+            state = mapper.createObjectNode();
+        }
+        return new AggregateSnapshot(aggType, aggId, version, state, merkleRoot, archived);
+    }
+
+    private EventRecord readEvent(JsonParser parser, PageState page) throws IOException {
+        String aggType = "";
+        String aggId = "";
+        String eventType = "";
+        long version = 0;
+        Long sequence = null;
+        JsonNode payload = null;
+        EventMetadata metadata = null;
+        String hash = "";
+        String merkleRoot = "";
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "aggregateType" -> aggType = internedText(parser, "");
+                    case "aggregateId" -> aggId = page.aggregateId(parser);
+                    case "eventType" -> eventType = internedText(parser, "");
+                    case "version" -> version = longValue(parser);
+                    case "sequence" -> sequence = longValue(parser);
+                    case "payload" -> payload = mapper.readTree(parser);
+                    case "metadata" -> metadata = readMetadata(parser, page);
+                    case "hash" -> hash = text(parser, "");
+                    case "merkleRoot" -> merkleRoot = text(parser, "");
+                    default -> parser.skipChildren();
+                }
+            }
+        } else {
+            parser.skipChildren();
+        }
+        if (payload == null) {
+            payload = mapper.createObjectNode();
+        }
+        return new EventRecord(aggType, aggId, eventType, version, sequence, payload, metadata, hash, merkleRoot);
+    }
+
+    private void readBatchEvent(JsonParser parser, EventBatch.Builder batch, byte[] json, int base) throws IOException {
+        String eventType = "";
+        long version = 0;
+        long sequence = EventBatch.NO_SEQUENCE;
+        long createdAt = 0;
+        int payloadStart = 0;
+        int payloadEnd = 0;
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "eventType" -> eventType = internedText(parser, "");
+                    case "version" -> version = longValue(parser);
+                    case "sequence" -> sequence = longValue(parser);
+                    case "payload" -> {
+                        payloadStart = (int) parser.currentTokenLocation().getByteOffset();
+                        parser.skipChildren();
+                        parser.finishToken();
+                        payloadEnd = (int) parser.currentLocation().getByteOffset();
+                    }
+                    case "metadata" -> createdAt = readCreatedAtMillis(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+        } else {
+            parser.skipChildren();
+        }
+        if (payloadEnd > payloadStart) {
+            batch.add(version, sequence, eventType, createdAt, json, base + payloadStart, payloadEnd - payloadStart);
+        } else {
+            batch.add(version, sequence, eventType, createdAt, EMPTY_OBJECT, 0, EMPTY_OBJECT.length);
+        }
+    }
+
+    private static long readCreatedAtMillis(JsonParser parser) throws IOException {
+        String createdAt = null;
+        String legacyCreatedAt = null;
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "createdAt" -> createdAt = text(parser, null);
+                    case "created_at" -> legacyCreatedAt = text(parser, null);
+                    default -> parser.skipChildren();
+                }
+            }
+        } else {
+            parser.skipChildren();
+        }
+        String resolved = createdAt != null ? createdAt : legacyCreatedAt;
+        return resolved == null || resolved.isBlank() ? 0L : Instant.parse(resolved).toEpochMilli();
+    }
+
+    private EventMetadata readMetadata(JsonParser parser, PageState page) throws IOException {
+        String eventId = null;
+        String legacyEventId = null;
+        String createdAt = null;
+        String legacyCreatedAt = null;
+        ActorClaims issuedBy = null;
+        String note = null;
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "eventId" -> eventId = text(parser, null);
+                    case "event_id" -> legacyEventId = text(parser, null);
+                    case "createdAt" -> createdAt = text(parser, null);
+                    case "created_at" -> legacyCreatedAt = text(parser, null);
+                    case "issuedBy" -> issuedBy = readClaims(parser, page);
+                    case "note" -> note = text(parser, null);
+                    default -> parser.skipChildren();
+                }
+            }
+        } else {
+            parser.skipChildren();
+        }
+        String resolvedId = eventId != null ? eventId : legacyEventId == null ? "" : legacyEventId;
+        String resolvedCreatedAt = createdAt != null ? createdAt : legacyCreatedAt == null ? "" : legacyCreatedAt;
+        Instant created = resolvedCreatedAt.isBlank() ? Instant.EPOCH : Instant.parse(resolvedCreatedAt);
+        return new EventMetadata(resolvedId, created, issuedBy, note);
+    }
+
+    private ActorClaims readClaims(JsonParser parser, PageState page) throws IOException {
+        String group = null;
+        String user = null;
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "group" -> group = internedText(parser, null);
+                    case "user" -> user = internedText(parser, null);
+                    default -> parser.skipChildren();
+                }
+            }
+        } else {
+            parser.skipChildren();
+        }
+        return page.claims(group, user);
+    }
+
+    private String internedText(JsonParser parser, String fallback) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            return dictionary.intern(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        }
+        return dictionary.intern(text(parser, fallback));
+    }
+
+    private static String text(JsonParser parser, String fallback) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == null || token == JsonToken.VALUE_NULL) {
+            return fallback;
+        }
+        if (token.isStructStart()) {
+            parser.skipChildren();
+            return "";
+        }
+        return parser.getText();
+    }
+
+    private static long longValue(JsonParser parser) throws IOException {
+        if (parser.currentToken().isStructStart()) {
+            parser.skipChildren();
+            return 0L;
+        }
+        return parser.getValueAsLong(0L);
+    }
+
+    private static boolean booleanValue(JsonParser parser) throws IOException {
+        if (parser.currentToken().isStructStart()) {
+            parser.skipChildren();
+            return false;
+        }
+        return parser.getValueAsBoolean(false);
+    }
+
+    /**
+     * Values that repeat across a single page: events of one history share an aggregate id and
+     * usually the same issuer, so reuse the previous instance when the next one is identical.
+     */
+    private static final class PageState {
+        private String aggregateId;
+        private ActorClaims claims;
+
+        String aggregateId(JsonParser parser) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_STRING && aggregateId != null) {
+                int length = parser.getTextLength();
+                if (length == aggregateId.length()) {
+                    char[] chars = parser.getTextCharacters();
+                    int offset = parser.getTextOffset();
+                    boolean same = true;
+                    for (int i = 0; i < length && same; i++) {
+                        same = aggregateId.charAt(i) == chars[offset + i];
+                    }
+                    if (same) {
+                        return aggregateId;
+                    }
+                }
+            }
+            aggregateId = text(parser, "");
+            return aggregateId;
+        }
+
+        ActorClaims claims(String group, String user) {
+            // group and user come from the dictionary, so identity comparison is enough here.
+            if (claims == null || claims.group() != group || claims.user() != user) {
+                claims = new ActorClaims(group, user);
+            }
+            return claims;
+        }
+    }
+}
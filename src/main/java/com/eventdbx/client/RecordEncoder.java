@@ -0,0 +1,62 @@
+package com.eventdbx.client;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes records back out in the JSON shape the server sends, so anything written here reads
+ * back through {@link RecordDecoder} unchanged. Safe for concurrent use.
+ */
+final class RecordEncoder {
+    private final ObjectMapper mapper;
+
+    RecordEncoder(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    byte[] encodeEvent(EventRecord event) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (JsonGenerator generator = mapper.createGenerator(out)) {
+            writeEvent(generator, event);
+        } catch (IOException e) {
+            throw new EventDbxException("Failed to encode event", e);
+        }
+        return out.toByteArray();
+    }
+
+    void writeEvent(JsonGenerator generator, EventRecord event) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("aggregateType", event.aggregateType());
+        generator.writeStringField("aggregateId", event.aggregateId());
+        generator.writeStringField("eventType", event.eventType());
+        generator.writeNumberField("version", event.version());
+        if (event.sequence() != null) {
+            generator.writeNumberField("sequence", event.sequence());
+        }
+        generator.writeFieldName("payload");
+        mapper.writeTree(generator, event.payload());
+        EventMetadata metadata = event.metadata();
+        if (metadata != null) {
+            generator.writeObjectFieldStart("metadata");
+            generator.writeStringField("eventId", metadata.eventId());
+            generator.writeStringField("createdAt", metadata.createdAt() == null ? null : metadata.createdAt().toString());
+            ActorClaims issuedBy = metadata.issuedBy();
+            if (issuedBy != null) {
+                generator.writeObjectFieldStart("issuedBy");
+                generator.writeStringField("group", issuedBy.group());
+                generator.writeStringField("user", issuedBy.user());
+                generator.writeEndObject();
+            }
+            if (metadata.note() != null) {
+                generator.writeStringField("note", metadata.note());
+            }
+            generator.writeEndObject();
+        }
+        generator.writeStringField("hash", event.hash());
+        generator.writeStringField("merkleRoot", event.merkleRoot());
+        generator.writeEndObject();
+    }
+}
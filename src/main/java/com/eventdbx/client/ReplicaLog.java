@@ -0,0 +1,225 @@
+package com.eventdbx.client;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped event log backing {@link EventReplica}.
+ * <p>
+ * Records are {@code [int length][int crc32][short typeLength][type][short idLength][id]
+ * [long version][json]}, appended to 64 MiB segment files and never rewritten. The index holds
+ * one packed {@code long} (segment number and offset) per event, grouped by aggregate and ordered
+ * by version, and is rebuilt by scanning the segments on open; the scan stops at the first record
+ * whose checksum fails, which is where the next append goes. The directory is locked for the
+ * lifetime of the instance. All methods are synchronized.
+ */
+final class ReplicaLog implements Closeable {
+    private static final String SUFFIX = ".log";
+    private static final int SEGMENT_BYTES = 64 * 1024 * 1024;
+    private static final int HEADER_BYTES = 8;
+    private static final int OFFSET_BITS = 40;
+
+    private final Path directory;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final Map<String, Map<String, Index>> aggregates = new HashMap<>();
+    private int writePosition;
+
+    ReplicaLog(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        this.lockChannel = FileChannel.open(directory.resolve("lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock acquired = lockChannel.tryLock();
+        if (acquired == null) {
+            lockChannel.close();
+            throw new IOException("Replica directory " + directory + " is in use by another process");
+        }
+        this.lock = acquired;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).sorted().toList()) {
+                segments.add(map(file, 0));
+                writePosition = scan(segments.size() - 1);
+            }
+        }
+    }
+
+    /**
+     * Highest replicated version of an aggregate, or {@code 0} when none is held.
+     */
+    synchronized long lastVersion(String aggregateType, String aggregateId) {
+        Index index = index(aggregateType, aggregateId, false);
+        return index == null || index.count == 0 ? 0 : index.lastVersion();
+    }
+
+    synchronized Set<String> aggregateIds(String aggregateType) {
+        return Set.copyOf(aggregates.getOrDefault(aggregateType, Map.of()).keySet());
+    }
+
+    /**
+     * Append the next event of an aggregate. Versions already held are ignored; a version that
+     * would leave a gap is rejected.
+     */
+    synchronized void append(String aggregateType, String aggregateId, long version, byte[] json) throws IOException {
+        Index index = index(aggregateType, aggregateId, true);
+        if (index.count > 0 && version <= index.lastVersion()) {
+            return;
+        }
+        if (index.count > 0 && version != index.lastVersion() + 1) {
+            throw new EventDbxException("Replica of " + aggregateType + "/" + aggregateId
+                    + " is at version " + index.lastVersion() + " but received version " + version);
+        }
+        byte[] type = aggregateType.getBytes(StandardCharsets.UTF_8);
+        byte[] id = aggregateId.getBytes(StandardCharsets.UTF_8);
+        int bodyBytes = 2 + type.length + 2 + id.length + 8 + json.length;
+        MappedByteBuffer segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (segment == null || writePosition + HEADER_BYTES + bodyBytes > segment.capacity()) {
+            segment = map(directory.resolve(String.format("%016d%s", segments.size(), SUFFIX)), HEADER_BYTES + bodyBytes);
+            segments.add(segment);
+            writePosition = 0;
+        }
+        int body = writePosition + HEADER_BYTES;
+        segment.putShort(body, (short) type.length);
+        segment.put(body + 2, type);
+        segment.putShort(body + 2 + type.length, (short) id.length);
+        segment.put(body + 4 + type.length, id);
+        segment.putLong(body + 4 + type.length + id.length, version);
+        segment.put(body + 12 + type.length + id.length, json);
+        CRC32 crc = new CRC32();
+        crc.update(segment.slice(body, bodyBytes));
+        segment.putInt(writePosition + 4, (int) crc.getValue());
+        segment.putInt(writePosition, bodyBytes);
+        index.add(version, ((long) (segments.size() - 1) << OFFSET_BITS) | writePosition);
+        writePosition += HEADER_BYTES + bodyBytes;
+    }
+
+    /**
+     * Raw JSON of an aggregate's events from {@code fromVersion} on, in version order.
+     */
+    synchronized List<byte[]> read(String aggregateType, String aggregateId, long fromVersion) {
+        Index index = index(aggregateType, aggregateId, false);
+        if (index == null) {
+            return List.of();
+        }
+        int start = (int) Math.max(0, Math.min(index.count, fromVersion - index.firstVersion));
+        List<byte[]> events = new ArrayList<>(index.count - start);
+        for (int i = start; i < index.count; i++) {
+            events.add(json(index.locations[i]));
+        }
+        return events;
+    }
+
+    synchronized void flush() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        segments.clear();
+        aggregates.clear();
+        lock.release();
+        lockChannel.close();
+    }
+
+    private byte[] json(long location) {
+        MappedByteBuffer segment = segments.get((int) (location >>> OFFSET_BITS));
+        int position = (int) (location & ((1L << OFFSET_BITS) - 1));
+        int bodyBytes = segment.getInt(position);
+        int body = position + HEADER_BYTES;
+        int typeLength = segment.getShort(body);
+        int idLength = segment.getShort(body + 2 + typeLength);
+        int jsonOffset = body + 12 + typeLength + idLength;
+        byte[] json = new byte[body + bodyBytes - jsonOffset];
+        segment.get(jsonOffset, json);
+        return json;
+    }
+
+    private int scan(int segmentNumber) {
+        MappedByteBuffer segment = segments.get(segmentNumber);
+        int position = 0;
+        while (position + HEADER_BYTES <= segment.capacity()) {
+            int bodyBytes = segment.getInt(position);
+            int body = position + HEADER_BYTES;
+            if (bodyBytes < 12 || body + bodyBytes > segment.capacity()) {
+                break;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(segment.slice(body, bodyBytes));
+            if ((int) crc.getValue() != segment.getInt(position + 4)) {
+                break;
+            }
+            int typeLength = segment.getShort(body);
+            String type = text(segment, body + 2, typeLength);
+            int idLength = segment.getShort(body + 2 + typeLength);
+            String id = text(segment, body + 4 + typeLength, idLength);
+            long version = segment.getLong(body + 4 + typeLength + idLength);
+            Index index = index(type, id, true);
+            if (index.count == 0 || version == index.lastVersion() + 1) {
+                index.add(version, ((long) segmentNumber << OFFSET_BITS) | position);
+            }
+            position = body + bodyBytes;
+        }
+        return position;
+    }
+
+    private Index index(String aggregateType, String aggregateId, boolean create) {
+        Map<String, Index> byId = create
+                ? aggregates.computeIfAbsent(aggregateType, type -> new HashMap<>())
+                : aggregates.get(aggregateType);
+        if (byId == null) {
+            return null;
+        }
+        return create ? byId.computeIfAbsent(aggregateId, id -> new Index()) : byId.get(aggregateId);
+    }
+
+    private static String text(MappedByteBuffer segment, int offset, int length) {
+        byte[] bytes = new byte[length];
+        segment.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static MappedByteBuffer map(Path file, int minBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = Math.max(channel.size(), Math.max(SEGMENT_BYTES, minBytes));
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private static final class Index {
+        private long firstVersion;
+        private long[] locations = new long[4];
+        private int count;
+
+        long lastVersion() {
+            return firstVersion + count - 1;
+        }
+
+        void add(long version, long location) {
+            if (count == 0) {
+                firstVersion = version;
+            }
+            if (count == locations.length) {
+                locations = Arrays.copyOf(locations, count * 2);
+            }
+            locations[count++] = location;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.eventdbx.client;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Byte-bounded cache of aggregate snapshots in front of {@code get}/{@code select}.
+ * <p>
+ * Entries are keyed by aggregate type and id and admitted through {@link WTinyLfuCache}. An entry
+ * younger than the revalidation interval is served directly; older entries are confirmed with a
+ * conditional get carrying the cached version and merkle root, which costs a round trip but no
+ * document transfer while the aggregate is unchanged. Write results replace entries in place and
+ * appended events drop entries they make stale.
+ * <p>
+ * Selections are cached alongside the snapshot they were read with and share its validation;
+ * without a cached snapshot, {@code select} passes straight through.
+ */
+final class SnapshotCache {
+    private static final long AVERAGE_ENTRY_BYTES = 1024;
+
+    private final WTinyLfuCache<String, Entry> entries;
+    private final long revalidateAfterNanos;
+    private final LongSupplier clock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+
+    SnapshotCache(long maxBytes, Duration revalidateAfter) {
+        this(maxBytes, revalidateAfter, System::nanoTime);
+    }
+
+    SnapshotCache(long maxBytes, Duration revalidateAfter, LongSupplier clock) {
+        this.entries = new WTinyLfuCache<>(maxBytes, maxBytes / AVERAGE_ENTRY_BYTES, entry -> entry.weight);
+        this.revalidateAfterNanos = revalidateAfter.toNanos();
+        this.clock = clock;
+    }
+
+    AggregateSnapshot get(String aggregateType, String aggregateId, ControlClient client) {
+        String key = key(aggregateType, aggregateId);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return store(key, client.get(aggregateType, aggregateId));
+        }
+        if (isFresh(entry)) {
+            hits.increment();
+            return entry.snapshot;
+        }
+        AggregateSnapshot cached = entry.snapshot;
+        ConditionalResult<AggregateSnapshot> result =
+                client.getIfModified(aggregateType, aggregateId, cached.version(), merkleRoot(cached));
+        if (result.isNotModified()) {
+            revalidated(entry);
+            return cached;
+        }
+        misses.increment();
+        return store(key, result.value());
+    }
+
+    JsonNode select(String aggregateType, String aggregateId, List<String> fields, ControlClient client) {
+        String key = key(aggregateType, aggregateId);
+        List<String> fieldKey = List.copyOf(fields);
+        Entry entry = entries.get(key);
+        JsonNode selection = entry == null ? null : entry.selections.get(fieldKey);
+        if (entry != null && isFresh(entry)) {
+            if (selection != null) {
+                hits.increment();
+                return selection;
+            }
+            misses.increment();
+            JsonNode fresh = client.select(aggregateType, aggregateId, fieldKey);
+            if (fresh != null) {
+                attach(key, entry, fieldKey, fresh);
+            }
+            return fresh;
+        }
+        if (selection != null) {
+            ConditionalResult<JsonNode> result = client.selectIfModified(
+                    aggregateType, aggregateId, fieldKey, entry.snapshot.version(), merkleRoot(entry.snapshot));
+            if (result.isNotModified()) {
+                revalidated(entry);
+                return selection;
+            }
+            misses.increment();
+            invalidate(aggregateType, aggregateId);
+            return result.value();
+        }
+        misses.increment();
+        return client.select(aggregateType, aggregateId, fieldKey);
+    }
+
+    /**
+     * Replace the cached snapshot with one returned by a write, unless the cache already holds a
+     * newer version.
+     */
+    synchronized void update(AggregateSnapshot snapshot) {
+        if (snapshot == null) {
+            return;
+        }
+        String key = key(snapshot.aggregateType(), snapshot.aggregateId());
+        Entry existing = entries.peek(key);
+        if (existing == null || existing.snapshot.version() <= snapshot.version()) {
+            entries.put(key, new Entry(snapshot, Map.of(), clock.getAsLong()));
+        }
+    }
+
+    /**
+     * Drop the cached snapshot if {@code event} moved the aggregate past it; the new state is not
+     * known until the next read.
+     */
+    synchronized void onAppend(String aggregateType, String aggregateId, EventRecord event) {
+        String key = key(aggregateType, aggregateId);
+        Entry existing = entries.peek(key);
+        if (existing != null && (event == null || existing.snapshot.version() < event.version())) {
+            entries.remove(key);
+        }
+    }
+
+    void invalidate(String aggregateType, String aggregateId) {
+        entries.remove(key(aggregateType, aggregateId));
+    }
+
+    CacheStats stats() {
+        return new CacheStats(
+                hits.sum(),
+                misses.sum(),
+                revalidations.sum(),
+                entries.evictions(),
+                entries.size(),
+                entries.weight());
+    }
+
+    private boolean isFresh(Entry entry) {
+        return clock.getAsLong() - entry.validatedAt < revalidateAfterNanos;
+    }
+
+    private void revalidated(Entry entry) {
+        hits.increment();
+        revalidations.increment();
+        entry.validatedAt = clock.getAsLong();
+    }
+
+    /**
+     * Cache a fetched snapshot. The fetch ran unlocked, so like {@link #update(AggregateSnapshot)}
+     * this keeps a newer version stored in the meantime.
+     */
+    private synchronized AggregateSnapshot store(String key, AggregateSnapshot snapshot) {
+        if (snapshot == null) {
+            entries.remove(key);
+            return null;
+        }
+        Entry existing = entries.peek(key);
+        if (existing == null || existing.snapshot.version() <= snapshot.version()) {
+            entries.put(key, new Entry(snapshot, Map.of(), clock.getAsLong()));
+        }
+        return snapshot;
+    }
+
+    private synchronized void attach(String key, Entry entry, List<String> fields, JsonNode selection) {
+        if (entries.peek(key) != entry) {
+            return;
+        }
+        Map<List<String>, JsonNode> selections = new HashMap<>(entry.selections);
+        selections.put(fields, selection);
+        Entry updated = new Entry(entry.snapshot, selections, entry.validatedAt);
+        entries.put(key, updated);
+    }
+
+    private static String merkleRoot(AggregateSnapshot snapshot) {
+        String root = snapshot.merkleRoot();
+        return root == null || root.isEmpty() ? null : root;
+    }
+
+    private static String key(String aggregateType, String aggregateId) {
+        return aggregateType + '\u0000' + aggregateId;
+    }
+
+    /**
+     * Rough heap footprint of a JSON tree: node headers, map entries and two bytes per character.
+     */
+    static long estimateBytes(JsonNode node) {
+        if (node == null) {
+            return 0;
+        }
+        if (node.isObject()) {
+            long bytes = 48;
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                bytes += 40 + 2L * field.getKey().length() + estimateBytes(field.getValue());
+            }
+            return bytes;
+        }
+        if (node.isArray()) {
+            long bytes = 32 + 8L * node.size();
+            for (JsonNode element : node) {
+                bytes += estimateBytes(element);
+            }
+            return bytes;
+        }
+        if (node.isTextual()) {
+            return 40 + 2L * node.textValue().length();
+        }
+        return 24;
+    }
+
+    private static final class Entry {
+        private final AggregateSnapshot snapshot;
+        private final Map<List<String>, JsonNode> selections;
+        private final long weight;
+        private volatile long validatedAt;
+
+        private Entry(AggregateSnapshot snapshot, Map<List<String>, JsonNode> selections, long validatedAt) {
+            this.snapshot = snapshot;
+            this.selections = selections;
+            this.validatedAt = validatedAt;
+            long bytes = 96 + 2L * (length(snapshot.aggregateType()) + length(snapshot.aggregateId()) + length(snapshot.merkleRoot()))
+                    + estimateBytes(snapshot.state());
+            for (Map.Entry<List<String>, JsonNode> selection : selections.entrySet()) {
+                bytes += 64 + 48L * selection.getKey().size() + estimateBytes(selection.getValue());
+            }
+            this.weight = bytes;
+        }
+
+        private static int length(String value) {
+            return value == null ? 0 : value.length();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.eventdbx.client;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Background thread that sends spooled writes to the server, oldest first, in batches.
+ * <p>
+ * While the server is unreachable it backs off according to the {@link RetryPolicy} delays
+ * (ignoring its attempt limit). A write the server rejects cannot be handed back to its caller,
+ * so it is recorded in {@code rejected.ndjson} next to the spool and consumed. When the server
+ * rejects a batch as a whole, its writes are sent again one at a time so only the offending ones
+ * are rejected; spooled writes are keyed or versioned, so resending is safe.
+ */
+final class SpoolReplayer implements Runnable {
+    private static final int BATCH_SIZE = 100;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final WriteSpool spool;
+    private final ControlClient client;
+    private final RetryPolicy retryPolicy;
+    private final Path rejectedFile;
+    private final Consumer<BatchResult> onReplayed;
+    private Thread thread;
+    private volatile boolean stopped;
+
+    SpoolReplayer(WriteSpool spool, ControlClient client, RetryPolicy retryPolicy, Path rejectedFile, Consumer<BatchResult> onReplayed) {
+        this.spool = spool;
+        this.client = client;
+        this.retryPolicy = retryPolicy;
+        this.rejectedFile = rejectedFile;
+        this.onReplayed = onReplayed;
+    }
+
+    /**
+     * Start the thread if needed and wake it for newly spooled writes.
+     */
+    synchronized void wake() {
+        if (stopped) {
+            return;
+        }
+        if (thread == null) {
+            thread = new Thread(this, "eventdbx-spool-replay");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        LockSupport.unpark(thread);
+    }
+
+    void stop() {
+        Thread running;
+        synchronized (this) {
+            stopped = true;
+            running = thread;
+        }
+        if (running != null) {
+            LockSupport.unpark(running);
+            try {
+                running.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        int failures = 0;
+        while (!stopped) {
+            try {
+                List<WriteSpool.Entry> entries = spool.peek(BATCH_SIZE);
+                if (entries.isEmpty()) {
+                    LockSupport.park(this);
+                    continue;
+                }
+                int replayed = replay(entries);
+                spool.acknowledge(entries.subList(0, replayed));
+                if (replayed == entries.size()) {
+                    failures = 0;
+                    continue;
+                }
+            } catch (EventDbxException | IOException e) {
+                // Retry from the first unacknowledged write after the backoff below.
+            }
+            failures++;
+            LockSupport.parkNanos(this, retryPolicy.delayForAttempt(failures + 1).toNanos());
+        }
+    }
+
+    /**
+     * Send {@code entries} and return how many were dealt with before the first connection
+     * failure.
+     */
+    private int replay(List<WriteSpool.Entry> entries) throws IOException {
+        List<BatchResult> results;
+        try {
+            results = client.batch(entries.stream().map(entry -> entry.operation).toList());
+        } catch (EventDbxConnectionException e) {
+            throw e;
+        } catch (EventDbxException e) {
+            return replayEach(entries);
+        }
+        for (int i = 0; i < results.size(); i++) {
+            if (!replayed(results.get(i))) {
+                return i;
+            }
+        }
+        return results.size();
+    }
+
+    private int replayEach(List<WriteSpool.Entry> entries) throws IOException {
+        for (int i = 0; i < entries.size(); i++) {
+            BatchOperation operation = entries.get(i).operation;
+            BatchResult result;
+            try {
+                result = client.batch(List.of(operation)).get(0);
+            } catch (EventDbxConnectionException e) {
+                return i;
+            } catch (EventDbxException e) {
+                result = BatchResult.failure(operation, e);
+            }
+            if (!replayed(result)) {
+                return i;
+            }
+        }
+        return entries.size();
+    }
+
+    /**
+     * Deal with one result, returning {@code false} for a connection failure.
+     */
+    private boolean replayed(BatchResult result) throws IOException {
+        if (result.error() instanceof EventDbxConnectionException) {
+            return false;
+        }
+        if (result.isSuccess()) {
+            onReplayed.accept(result);
+        } else {
+            reject(result);
+        }
+        return true;
+    }
+
+    private void reject(BatchResult result) throws IOException {
+        ObjectNode line = MAPPER.createObjectNode();
+        line.put("error", result.error().getMessage());
+        line.set("write", MAPPER.readTree(WriteSpool.encode(result.operation())));
+        Files.writeString(rejectedFile, MAPPER.writeValueAsString(line) + "\n", StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,98 @@
+package com.eventdbx.client;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+/**
+ * Controls how auto-paging streams prefetch pages ahead of the consumer.
+ */
+public final class StreamOptions {
+    private final int prefetchPages;
+    private final int maxBufferedItems;
+    private final Executor executor;
+    private final boolean serverStreaming;
+
+    private StreamOptions(Builder builder) {
+        this.prefetchPages = builder.prefetchPages;
+        this.maxBufferedItems = builder.maxBufferedItems;
+        this.executor = builder.executor;
+        this.serverStreaming = builder.serverStreaming;
+    }
+
+    public static StreamOptions defaults() {
+        return builder().build();
+    }
+
+    /**
+     * Number of pages fetched ahead of the one being consumed. Zero fetches pages on demand.
+     */
+    public int prefetchPages() {
+        return prefetchPages;
+    }
+
+    /**
+     * Upper bound on items held in prefetched pages; no further page is requested while the buffer
+     * is at or above this size.
+     */
+    public int maxBufferedItems() {
+        return maxBufferedItems;
+    }
+
+    /**
+     * Executor running the prefetch loop. When absent, each stream starts its own daemon thread.
+     */
+    public Optional<Executor> executor() {
+        return Optional.ofNullable(executor);
+    }
+
+    /**
+     * Ask the server to push pages over a single streamed request instead of issuing one request
+     * per page. {@link #prefetchPages()} (at least one) becomes the number of pages the server may
+     * send ahead of the consumer. The connection is dedicated to the stream until it is drained or
+     * closed. Disabled by default since older servers do not support it.
+     */
+    public boolean serverStreaming() {
+        return serverStreaming;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private int prefetchPages = 1;
+        private int maxBufferedItems = 10_000;
+        private Executor executor;
+        private boolean serverStreaming;
+
+        public Builder prefetchPages(int prefetchPages) {
+            if (prefetchPages < 0) {
+                throw new IllegalArgumentException("prefetchPages must be >= 0");
+            }
+            this.prefetchPages = prefetchPages;
+            return this;
+        }
+
+        public Builder maxBufferedItems(int maxBufferedItems) {
+            if (maxBufferedItems <= 0) {
+                throw new IllegalArgumentException("maxBufferedItems must be > 0");
+            }
+            this.maxBufferedItems = maxBufferedItems;
+            return this;
+        }
+
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public Builder serverStreaming(boolean serverStreaming) {
+            this.serverStreaming = serverStreaming;
+            return this;
+        }
+
+        public StreamOptions build() {
+            return new StreamOptions(this);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.eventdbx.client;
+
+/**
+ * Bounded, lossy dictionary used to dedupe low-cardinality strings (aggregate types, event types,
+ * actor claims) while decoding responses.
+ * <p>
+ * Lookups hash the decoder's character buffer directly, so a hit returns the canonical instance
+ * without allocating a {@code String}. The table is a fixed-size, two-way probed array: a miss
+ * simply overwrites a slot, which keeps memory bounded no matter how many distinct values are seen.
+ * Racing writers may drop each other's entries, which only costs a later miss; {@code String} is
+ * immutable, so readers never observe a partially built value.
+ */
+final class StringDictionary {
+    static final int MAX_INTERNED_LENGTH = 128;
+
+    private final String[] slots;
+    private final int mask;
+
+    StringDictionary(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must be >= 0");
+        }
+        int size = capacity == 0 ? 0 : Integer.highestOneBit(Math.max(2, capacity - 1) << 1);
+        this.slots = new String[size];
+        this.mask = size - 1;
+    }
+
+    String intern(char[] chars, int offset, int length) {
+        if (slots.length == 0 || length > MAX_INTERNED_LENGTH) {
+            return new String(chars, offset, length);
+        }
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + chars[offset + i];
+        }
+        int index = spread(hash) & mask;
+        String candidate = slots[index];
+        if (candidate != null && matches(candidate, chars, offset, length)) {
+            return candidate;
+        }
+        int alternate = (index + 1) & mask;
+        String second = slots[alternate];
+        if (second != null && matches(second, chars, offset, length)) {
+            return second;
+        }
+        String value = new String(chars, offset, length);
+        slots[candidate == null || second != null ? index : alternate] = value;
+        return value;
+    }
+
+    String intern(String value) {
+        if (value == null || slots.length == 0 || value.length() > MAX_INTERNED_LENGTH) {
+            return value;
+        }
+        int index = spread(value.hashCode()) & mask;
+        String candidate = slots[index];
+        if (value.equals(candidate)) {
+            return candidate;
+        }
+        int alternate = (index + 1) & mask;
+        String second = slots[alternate];
+        if (value.equals(second)) {
+            return second;
+        }
+        slots[candidate == null || second != null ? index : alternate] = value;
+        return value;
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    private static boolean matches(String candidate, char[] chars, int offset, int length) {
+        if (candidate.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (candidate.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,55 @@
+package com.eventdbx.client;
+
+import java.util.Optional;
+
+/**
+ * Outcome of {@link EventDbxClient#verifyLocally(String, String)}.
+ */
+public final class VerificationResult {
+    private final boolean valid;
+    private final long version;
+    private final String merkleRoot;
+    private final String expectedMerkleRoot;
+    private final Long firstInvalidVersion;
+
+    VerificationResult(boolean valid, long version, String merkleRoot, String expectedMerkleRoot, Long firstInvalidVersion) {
+        this.valid = valid;
+        this.version = version;
+        this.merkleRoot = merkleRoot;
+        this.expectedMerkleRoot = expectedMerkleRoot;
+        this.firstInvalidVersion = firstInvalidVersion;
+    }
+
+    public boolean valid() {
+        return valid;
+    }
+
+    /**
+     * Aggregate version the events were verified up to.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Merkle root recomputed from the event hashes, as lowercase hex.
+     */
+    public String merkleRoot() {
+        return merkleRoot;
+    }
+
+    /**
+     * Merkle root the server reports for the aggregate.
+     */
+    public String expectedMerkleRoot() {
+        return expectedMerkleRoot;
+    }
+
+    /**
+     * First version whose event is missing, has an unreadable hash, or carries a merkle root that
+     * does not match the events up to it.
+     */
+    public Optional<Long> firstInvalidVersion() {
+        return Optional.ofNullable(firstInvalidVersion);
+    }
+}
@@ -0,0 +1,201 @@
+package com.eventdbx.client;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Weight-bounded cache with Window TinyLFU admission.
+ * <p>
+ * New entries land in a small LRU window (about 1% of the budget). Entries leaving the window
+ * compete with the least recently used entry of the main space's probation segment, and only the
+ * one the {@link FrequencySketch} considers more popular is kept, so one-off reads cannot flush
+ * hot aggregates. Entries read again while on probation are promoted to the protected segment
+ * (80% of the main space). All operations are synchronized.
+ */
+final class WTinyLfuCache<K, V> {
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final long maxWeight;
+    private final long windowMax;
+    private final long protectedMax;
+    private final ToLongFunction<V> weigher;
+    private final FrequencySketch sketch;
+    private final Map<K, Node<K, V>> nodes = new HashMap<>();
+    private final Node<K, V>[] heads;
+    private final long[] weights = new long[3];
+    private long evictions;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    WTinyLfuCache(long maxWeight, long expectedEntries, ToLongFunction<V> weigher) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("maxWeight must be > 0");
+        }
+        this.maxWeight = maxWeight;
+        this.windowMax = Math.max(1, maxWeight / 100);
+        this.protectedMax = (maxWeight - windowMax) * 8 / 10;
+        this.weigher = weigher;
+        this.sketch = new FrequencySketch(expectedEntries);
+        this.heads = new Node[] {sentinel(), sentinel(), sentinel()};
+    }
+
+    /**
+     * Look up {@code key}, recording the access for both recency and frequency.
+     */
+    synchronized V get(K key) {
+        sketch.increment(key);
+        Node<K, V> node = nodes.get(key);
+        if (node == null) {
+            return null;
+        }
+        onAccess(node);
+        return node.value;
+    }
+
+    /**
+     * Look up {@code key} without counting it as an access.
+     */
+    synchronized V peek(K key) {
+        Node<K, V> node = nodes.get(key);
+        return node == null ? null : node.value;
+    }
+
+    synchronized void put(K key, V value) {
+        long weight = weigher.applyAsLong(value);
+        Node<K, V> node = nodes.get(key);
+        if (weight > maxWeight) {
+            if (node != null) {
+                unlink(node);
+                nodes.remove(key);
+            }
+            return;
+        }
+        if (node != null) {
+            weights[node.queue] += weight - node.weight;
+            node.value = value;
+            node.weight = weight;
+            onAccess(node);
+        } else {
+            sketch.increment(key);
+            node = new Node<>(key, value, weight);
+            nodes.put(key, node);
+            link(node, WINDOW);
+        }
+        evict();
+    }
+
+    /**
+     * Remove {@code key} and return its value, recording the lookup like {@link #get(Object)}.
+     */
+    synchronized V take(K key) {
+        sketch.increment(key);
+        Node<K, V> node = nodes.remove(key);
+        if (node == null) {
+            return null;
+        }
+        unlink(node);
+        return node.value;
+    }
+
+    synchronized void remove(K key) {
+        Node<K, V> node = nodes.remove(key);
+        if (node != null) {
+            unlink(node);
+        }
+    }
+
+    synchronized int size() {
+        return nodes.size();
+    }
+
+    synchronized long weight() {
+        return weights[WINDOW] + weights[PROBATION] + weights[PROTECTED];
+    }
+
+    synchronized long evictions() {
+        return evictions;
+    }
+
+    private void onAccess(Node<K, V> node) {
+        if (node.queue == PROBATION) {
+            unlink(node);
+            link(node, PROTECTED);
+            while (weights[PROTECTED] > protectedMax) {
+                Node<K, V> demoted = heads[PROTECTED].next;
+                unlink(demoted);
+                link(demoted, PROBATION);
+            }
+        } else {
+            unlink(node);
+            link(node, node.queue);
+        }
+    }
+
+    private void evict() {
+        while (weights[WINDOW] > windowMax) {
+            Node<K, V> candidate = heads[WINDOW].next;
+            unlink(candidate);
+            link(candidate, PROBATION);
+        }
+        while (weight() > maxWeight) {
+            Node<K, V> victim = heads[PROBATION].next;
+            Node<K, V> candidate = heads[PROBATION].prev;
+            if (victim == heads[PROBATION]) {
+                victim = heads[PROTECTED].next != heads[PROTECTED] ? heads[PROTECTED].next : heads[WINDOW].next;
+                evict(victim);
+            } else if (victim == candidate) {
+                evict(victim);
+            } else {
+                evict(sketch.frequency(candidate.key) > sketch.frequency(victim.key) ? victim : candidate);
+            }
+        }
+    }
+
+    private void evict(Node<K, V> node) {
+        unlink(node);
+        nodes.remove(node.key);
+        evictions++;
+    }
+
+    private void link(Node<K, V> node, int queue) {
+        Node<K, V> head = heads[queue];
+        node.queue = queue;
+        node.prev = head.prev;
+        node.next = head;
+        head.prev.next = node;
+        head.prev = node;
+        weights[queue] += node.weight;
+    }
+
+    private void unlink(Node<K, V> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+        weights[node.queue] -= node.weight;
+    }
+
+    private static <K, V> Node<K, V> sentinel() {
+        Node<K, V> node = new Node<>(null, null, 0);
+        node.prev = node;
+        node.next = node;
+        return node;
+    }
+
+    private static final class Node<K, V> {
+        private final K key;
+        private V value;
+        private long weight;
+        private int queue;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        private Node(K key, V value, long weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
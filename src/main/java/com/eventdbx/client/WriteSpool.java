@@ -0,0 +1,398 @@
+package com.eventdbx.client;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Write-ahead spool for appends, creates and patches that could not be sent, kept in fixed-size,
+ * memory-mapped segment files.
+ * <p>
+ * Each record is {@code [int length][int crc32][json]}, with the length written last so a torn
+ * write at the tail reads as the end of the segment. Records are consumed in the order they were
+ * spooled; the position of the first unconsumed record is kept in an {@code ack} file and
+ * segments before it are deleted. {@link #append(BatchOperation)} returns once the record is on
+ * disk, and concurrent appenders share one {@code force()}. The spool refuses records once its
+ * segments would exceed the byte budget. The directory is locked for the lifetime of the
+ * instance.
+ */
+final class WriteSpool implements Closeable {
+    private static final String SUFFIX = ".spool";
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_SEGMENT_BYTES = 64 * 1024 * 1024;
+    static final int MIN_SEGMENT_BYTES = 64 * 1024;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path directory;
+    private final long maxBytes;
+    private final int segmentBytes;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final MappedByteBuffer ack;
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private final Map<String, Integer> pendingByAggregate = new HashMap<>();
+    private final Set<Segment> unsynced = new LinkedHashSet<>();
+    private final Object syncLock = new Object();
+    private long nextSegmentId;
+    private Segment readSegment;
+    private int readPosition;
+    private int pending;
+    private long written;
+    private long durable;
+
+    WriteSpool(Path directory, long maxBytes) throws IOException {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.segmentBytes = (int) Math.min(MAX_SEGMENT_BYTES, Math.max(MIN_SEGMENT_BYTES, maxBytes / 8));
+        Files.createDirectories(directory);
+        this.lockChannel = FileChannel.open(directory.resolve("lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock acquired = lockChannel.tryLock();
+        if (acquired == null) {
+            lockChannel.close();
+            throw new IOException("Write spool directory " + directory + " is in use by another process");
+        }
+        this.lock = acquired;
+        try (FileChannel channel = FileChannel.open(directory.resolve("ack"), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            this.ack = channel.map(FileChannel.MapMode.READ_WRITE, 0, 12);
+        }
+        long ackSegment = ack.getLong(0);
+        int ackPosition = ack.getInt(8);
+        for (Path file : existingSegments()) {
+            long id = Long.parseLong(file.getFileName().toString().replace(SUFFIX, ""));
+            if (id < ackSegment) {
+                Files.deleteIfExists(file);
+                continue;
+            }
+            Segment segment = map(file, id);
+            scan(segment);
+            segments.addLast(segment);
+            nextSegmentId = id + 1;
+        }
+        readSegment = segments.peekFirst();
+        readPosition = readSegment != null && readSegment.id == ackSegment ? Math.min(ackPosition, readSegment.writePosition) : 0;
+        for (Entry entry : peek(Integer.MAX_VALUE)) {
+            count(entry.operation, 1);
+        }
+    }
+
+    /**
+     * Spool {@code operation} and return once it is durable.
+     */
+    void append(BatchOperation operation) throws IOException {
+        long sequence = write(operation);
+        synchronized (syncLock) {
+            if (durable >= sequence) {
+                return;
+            }
+            List<Segment> dirty;
+            long target;
+            synchronized (this) {
+                dirty = new ArrayList<>(unsynced);
+                unsynced.clear();
+                target = written;
+            }
+            for (Segment segment : dirty) {
+                segment.buffer.force();
+            }
+            durable = target;
+        }
+    }
+
+    /**
+     * Up to {@code max} unconsumed records, oldest first. They stay spooled until
+     * {@link #acknowledge(List)}.
+     */
+    synchronized List<Entry> peek(int max) {
+        List<Entry> entries = new ArrayList<>();
+        Segment segment = readSegment;
+        int position = readPosition;
+        while (segment != null && entries.size() < max) {
+            if (position >= segment.writePosition) {
+                segment = next(segment);
+                position = 0;
+                continue;
+            }
+            int length = segment.buffer.getInt(position);
+            byte[] json = new byte[length - 4];
+            segment.buffer.get(position + HEADER_BYTES, json);
+            position += 4 + length;
+            entries.add(new Entry(decode(json), segment, position));
+        }
+        return entries;
+    }
+
+    /**
+     * Consume {@code entries}, which must be the oldest unconsumed records in order.
+     */
+    synchronized void acknowledge(List<Entry> entries) throws IOException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        for (Entry entry : entries) {
+            count(entry.operation, -1);
+        }
+        Entry last = entries.get(entries.size() - 1);
+        readSegment = last.segment;
+        readPosition = last.end;
+        while (segments.peekFirst() != readSegment) {
+            Segment consumed = segments.removeFirst();
+            unsynced.remove(consumed);
+            Files.deleteIfExists(consumed.file);
+        }
+        ack.putLong(0, readSegment.id);
+        ack.putInt(8, readPosition);
+        ack.force();
+    }
+
+    synchronized int pending() {
+        return pending;
+    }
+
+    synchronized boolean hasPending(String aggregateType, String aggregateId) {
+        return pendingByAggregate.containsKey(key(aggregateType, aggregateId));
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                for (Segment segment : unsynced) {
+                    segment.buffer.force();
+                }
+                unsynced.clear();
+                segments.clear();
+                lock.release();
+                lockChannel.close();
+            }
+        }
+    }
+
+    private synchronized long write(BatchOperation operation) throws IOException {
+        byte[] json = encode(operation);
+        int recordBytes = HEADER_BYTES + json.length;
+        if (recordBytes > segmentBytes) {
+            throw new EventDbxException("Write of " + json.length + " bytes is too large to spool");
+        }
+        Segment segment = segments.peekLast();
+        if (segment == null || segment.writePosition + recordBytes > segment.buffer.capacity()) {
+            if ((long) (segments.size() + 1) * segmentBytes > maxBytes) {
+                throw new EventDbxException("Write spool at " + directory + " is full");
+            }
+            segment = map(directory.resolve(String.format("%016d%s", nextSegmentId, SUFFIX)), nextSegmentId);
+            nextSegmentId++;
+            segments.addLast(segment);
+            if (readSegment == null) {
+                readSegment = segment;
+                readPosition = 0;
+            }
+        }
+        MappedByteBuffer buffer = segment.buffer;
+        int position = segment.writePosition;
+        buffer.put(position + HEADER_BYTES, json);
+        CRC32 crc = new CRC32();
+        crc.update(json);
+        buffer.putInt(position + 4, (int) crc.getValue());
+        buffer.putInt(position, recordBytes - 4);
+        segment.writePosition += recordBytes;
+        unsynced.add(segment);
+        count(operation, 1);
+        return ++written;
+    }
+
+    private void count(BatchOperation operation, int delta) {
+        pending += delta;
+        pendingByAggregate.merge(key(operation.aggregateType(), operation.aggregateId()), delta, (a, b) -> a + b == 0 ? null : a + b);
+    }
+
+    private Segment next(Segment segment) {
+        boolean found = false;
+        for (Segment candidate : segments) {
+            if (found) {
+                return candidate;
+            }
+            found = candidate == segment;
+        }
+        return null;
+    }
+
+    private Segment map(Path file, long id) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = Math.max(channel.size(), segmentBytes);
+            return new Segment(id, file, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+    }
+
+    private void scan(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        int position = 0;
+        while (position + HEADER_BYTES <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 4 || position + 4 + length > buffer.capacity()) {
+                break;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(position + HEADER_BYTES, length - 4));
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            position += 4 + length;
+        }
+        segment.writePosition = position;
+    }
+
+    private List<Path> existingSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+    }
+
+    private static String key(String aggregateType, String aggregateId) {
+        return aggregateType + '\0' + aggregateId;
+    }
+
+    static byte[] encode(BatchOperation operation) {
+        ObjectNode node = MAPPER.createObjectNode();
+        node.put("kind", operation.kind().name());
+        node.put("aggregateType", operation.aggregateType());
+        node.put("aggregateId", operation.aggregateId());
+        node.put("eventType", operation.eventType());
+        switch (operation.kind()) {
+            case APPEND -> {
+                AppendOptions options = operation.appendOptions();
+                options.payload().ifPresent(payload -> node.set("payload", payload));
+                options.expectedVersion().ifPresent(version -> node.put("expectedVersion", version));
+                options.idempotencyKey().ifPresent(key -> node.put("idempotencyKey", key));
+                writeCommon(node, options.metadata().orElse(null), options.note().orElse(null), options.token().isPresent(), options.publishTargets());
+            }
+            case CREATE -> {
+                CreateAggregateOptions options = operation.createOptions();
+                options.payload().ifPresent(payload -> node.set("payload", payload));
+                options.idempotencyKey().ifPresent(key -> node.put("idempotencyKey", key));
+                writeCommon(node, options.metadata().orElse(null), options.note().orElse(null), options.token().isPresent(), options.publishTargets());
+            }
+            case PATCH -> {
+                PatchOptions options = operation.patchOptions();
+                ArrayNode patch = node.putArray("patch");
+                for (JsonPatchOperation op : operation.operations()) {
+                    ObjectNode item = patch.addObject();
+                    item.put("op", op.op());
+                    item.put("path", op.path());
+                    if (op.from() != null) {
+                        item.put("from", op.from());
+                    }
+                    if (op.value() != null) {
+                        item.set("value", op.value());
+                    }
+                }
+                options.expectedVersion().ifPresent(version -> node.put("expectedVersion", version));
+                writeCommon(node, options.metadata().orElse(null), options.note().orElse(null), options.token().isPresent(), options.publishTargets());
+            }
+            default -> throw new IllegalArgumentException(operation.kind() + " operations are not spooled");
+        }
+        try {
+            return MAPPER.writeValueAsBytes(node);
+        } catch (IOException e) {
+            throw new EventDbxException("Failed to serialize spooled write", e);
+        }
+    }
+
+    static BatchOperation decode(byte[] json) {
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(json);
+        } catch (IOException e) {
+            throw new EventDbxException("Failed to parse spooled write", e);
+        }
+        String aggregateType = node.path("aggregateType").asText();
+        String aggregateId = node.path("aggregateId").asText();
+        String eventType = node.path("eventType").asText();
+        JsonNode metadata = node.get("metadata");
+        String note = node.hasNonNull("note") ? node.get("note").asText() : null;
+        Long expectedVersion = node.hasNonNull("expectedVersion") ? node.get("expectedVersion").asLong() : null;
+        String idempotencyKey = node.hasNonNull("idempotencyKey") ? node.get("idempotencyKey").asText() : null;
+        List<PublishTarget> targets = new ArrayList<>();
+        for (JsonNode target : node.path("publishTargets")) {
+            targets.add(new PublishTarget(target.path("plugin").asText(),
+                    target.hasNonNull("mode") ? target.get("mode").asText() : null,
+                    target.hasNonNull("priority") ? target.get("priority").asText() : null));
+        }
+        return switch (BatchOperation.Kind.valueOf(node.path("kind").asText())) {
+            case APPEND -> BatchOperation.append(aggregateType, aggregateId, eventType, AppendOptions.builder()
+                    .payload(node.get("payload")).metadata(metadata).note(note).publishTargets(targets)
+                    .expectedVersion(expectedVersion).idempotencyKey(idempotencyKey).build());
+            case CREATE -> BatchOperation.create(aggregateType, aggregateId, eventType, CreateAggregateOptions.builder()
+                    .payload(node.get("payload")).metadata(metadata).note(note).publishTargets(targets)
+                    .idempotencyKey(idempotencyKey).build());
+            case PATCH -> {
+                List<JsonPatchOperation> operations = new ArrayList<>();
+                for (JsonNode op : node.path("patch")) {
+                    operations.add(new JsonPatchOperation(op.path("op").asText(), op.path("path").asText(),
+                            op.hasNonNull("from") ? op.get("from").asText() : null, op.get("value")));
+                }
+                yield BatchOperation.patch(aggregateType, aggregateId, eventType, operations, PatchOptions.builder()
+                        .metadata(metadata).note(note).publishTargets(targets)
+                        .expectedVersion(expectedVersion).build());
+            }
+            default -> throw new EventDbxException("Unexpected spooled operation " + node.path("kind").asText());
+        };
+    }
+
+    private static void writeCommon(ObjectNode node, JsonNode metadata, String note, boolean hasToken, List<PublishTarget> targets) {
+        if (hasToken) {
+            // Credentials are never written to disk.
+            throw new EventDbxException("Writes with a per-call token are not spooled");
+        }
+        if (metadata != null) {
+            node.set("metadata", metadata);
+        }
+        node.put("note", note);
+        ArrayNode array = node.putArray("publishTargets");
+        for (PublishTarget target : targets) {
+            array.addObject().put("plugin", target.plugin()).put("mode", target.mode()).put("priority", target.priority());
+        }
+    }
+
+    static final class Entry {
+        final BatchOperation operation;
+        private final Segment segment;
+        private final int end;
+
+        private Entry(BatchOperation operation, Segment segment, int end) {
+            this.operation = operation;
+            this.segment = segment;
+            this.end = end;
+        }
+    }
+
+    private static final class Segment {
+        private final long id;
+        private final Path file;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+
+        private Segment(long id, Path file, MappedByteBuffer buffer) {
+            this.id = id;
+            this.file = file;
+            this.buffer = buffer;
+        }
+    }
+}
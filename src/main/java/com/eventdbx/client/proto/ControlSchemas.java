@@ -101,6 +101,10 @@ public final class ControlSchemas {
             case 6 : return Which.SELECT_AGGREGATE;
             case 7 : return Which.CREATE_AGGREGATE;
             case 8 : return Which.SET_AGGREGATE_ARCHIVE;
+            case 9 : return Which.STREAM_EVENTS;
+            case 10 : return Which.STREAM_AGGREGATES;
+            case 11 : return Which.STREAM_CREDIT;
+            case 12 : return Which.BATCH;
             default: return Which._NOT_IN_SCHEMA;
           }
         }
@@ -251,6 +255,70 @@ public final class ControlSchemas {
           _setShortField(4, (short)ControlRequest.Payload.Which.SET_AGGREGATE_ARCHIVE.ordinal());
           return _initPointerField(com.eventdbx.client.proto.ControlSchemas.SetAggregateArchiveRequest.factory,0, 0);
         }
+        public final boolean isStreamEvents() {
+          return which() == ControlRequest.Payload.Which.STREAM_EVENTS;
+        }
+        public final com.eventdbx.client.proto.ControlSchemas.StreamEventsRequest.Builder getStreamEvents() {
+          assert which() == ControlRequest.Payload.Which.STREAM_EVENTS:
+                      "Must check which() before get()ing a union member.";
+          return _getPointerField(com.eventdbx.client.proto.ControlSchemas.StreamEventsRequest.factory, 0, null, 0);
+        }
+        public final void setStreamEvents(com.eventdbx.client.proto.ControlSchemas.StreamEventsRequest.Reader value) {
+          _setShortField(4, (short)ControlRequest.Payload.Which.STREAM_EVENTS.ordinal());
+          _setPointerField(com.eventdbx.client.proto.ControlSchemas.StreamEventsRequest.factory,0, value);
+        }
+        public final com.eventdbx.client.proto.ControlSchemas.StreamEventsRequest.Builder initStreamEvents() {
+          _setShortField(4, (short)ControlRequest.Payload.Which.STREAM_EVENTS.ordinal());
+          return _initPointerField(com.eventdbx.client.proto.ControlSchemas.StreamEventsRequest.factory,0, 0);
+        }
+        public final boolean isStreamAggregates() {
+          return which() == ControlRequest.Payload.Which.STREAM_AGGREGATES;
+        }
+        public final com.eventdbx.client.proto.ControlSchemas.StreamAggregatesRequest.Builder getStreamAggregates() {
+          assert which() == ControlRequest.Payload.Which.STREAM_AGGREGATES:
+                      "Must check which() before get()ing a union member.";
+          return _getPointerField(com.eventdbx.client.proto.ControlSchemas.StreamAggregatesRequest.factory, 0, null, 0);
+        }
+        public final void setStreamAggregates(com.eventdbx.client.proto.ControlSchemas.StreamAggregatesRequest.Reader value) {
+          _setShortField(4, (short)ControlRequest.Payload.Which.STREAM_AGGREGATES.ordinal());
+          _setPointerField(com.eventdbx.client.proto.ControlSchemas.StreamAggregatesRequest.factory,0, value);
+        }
+        public final com.eventdbx.client.proto.ControlSchemas.StreamAggregatesRequest.Builder initStreamAggregates() {
+          _setShortField(4, (short)ControlRequest.Payload.Which.STREAM_AGGREGATES.ordinal());
+          return _initPointerField(com.eventdbx.client.proto.ControlSchemas.StreamAggregatesRequest.factory,0, 0);
+        }
+        public final boolean isStreamCredit() {
+          return which() == ControlRequest.Payload.Which.STREAM_CREDIT;
+        }
+        public final com.eventdbx.client.proto.ControlSchemas.StreamCredit.Builder getStreamCredit() {
+          assert which() == ControlRequest.Payload.Which.STREAM_CREDIT:
+                      "Must check which() before get()ing a union member.";
+          return _getPointerField(com.eventdbx.client.proto.ControlSchemas.StreamCredit.factory, 0, null, 0);
+        }
+        public final void setStreamCredit(com.eventdbx.client.proto.ControlSchemas.StreamCredit.Reader value) {
+          _setShortField(4, (short)ControlRequest.Payload.Which.STREAM_CREDIT.ordinal());
+          _setPointerField(com.eventdbx.client.proto.ControlSchemas.StreamCredit.factory,0, value);
+        }
+        public final com.eventdbx.client.proto.ControlSchemas.StreamCredit.Builder initStreamCredit() {
+          _setShortField(4, (short)ControlRequest.Payload.Which.STREAM_CREDIT.ordinal());
+          return _initPointerField(com.eventdbx.client.proto.ControlSchemas.StreamCredit.factory,0, 0);
+        }
+        public final boolean isBatch() {
+          return which() == ControlRequest.Payload.Which.BATCH;
+        }
+        public final com.eventdbx.client.proto.ControlSchemas.BatchRequest.Builder getBatch() {
+          assert which() == ControlRequest.Payload.Which.BATCH:
+                      "Must check which() before get()ing a union member.";
+          return _getPointerField(com.eventdbx.client.proto.ControlSchemas.BatchRequest.factory, 0, null, 0);
+        }
+        public final void setBatch(com.eventdbx.client.proto.ControlSchemas.BatchRequest.Reader value) {
+          _setShortField(4, (short)ControlRequest.Payload.Which.BATCH.ordinal());
+          _setPointerField(com.eventdbx.client.proto.ControlSchemas.BatchRequest.factory,0, value);
+        }
+        public final com.eventdbx.client.proto.ControlSchemas.BatchRequest.Builder initBatch() {
+          _setShortField(4, (short)ControlRequest.Payload.Which.BATCH.ordinal());
+          return _initPointerField(com.eventdbx.client.proto.ControlSchemas.BatchRequest.factory,0, 0);
+        }
       }
 
       public static final class Reader extends org.capnproto.StructReader {
@@ -269,6 +337,10 @@ public final class ControlSchemas {
             case 6 : return Which.SELECT_AGGREGATE;
             case 7 : return Which.CREATE_AGGREGATE;
             case 8 : return Which.SET_AGGREGATE_ARCHIVE;
+            case 9 : return Which.STREAM_EVENTS;
+            case 10 : return Which.STREAM_AGGREGATES;
+            case 11 : return Which.STREAM_CREDIT;
+            case 12 : return Which.BATCH;
             default: return Which._NOT_IN_SCHEMA;
           }
         }
@@ -380,6 +452,54 @@ public final class ControlSchemas {
           return _getPointerField(com.eventdbx.client.proto.ControlSchemas.SetAggregateArchiveRequest.factory,0,null, 0);
         }
 
+        public final boolean isStreamEvents() {
+          return which() == ControlRequest.Payload.Which.STREAM_EVENTS;
+        }
+        public boolean hasStreamEvents() {
+          return !_pointerFieldIsNull(0);
+        }
+        public com.eventdbx.client.proto.ControlSchemas.StreamEventsRequest.Reader getStreamEvents() {
+          assert which() == ControlRequest.Payload.Which.STREAM_EVENTS:
+                      "Must check which() before get()ing a union member.";
+          return _getPointerField(com.eventdbx.client.proto.ControlSchemas.StreamEventsRequest.factory,0,null, 0);
+        }
+
+        public final boolean isStreamAggregates() {
+          return which() == ControlRequest.Payload.Which.STREAM_AGGREGATES;
+        }
+        public boolean hasStreamAggregates() {
+          return !_pointerFieldIsNull(0);
+        }
+        public com.eventdbx.client.proto.ControlSchemas.StreamAggregatesRequest.Reader getStreamAggregates() {
+          assert which() == ControlRequest.Payload.Which.STREAM_AGGREGATES:
+                      "Must check which() before get()ing a union member.";
+          return _getPointerField(com.eventdbx.client.proto.ControlSchemas.StreamAggregatesRequest.factory,0,null, 0);
+        }
+
+        public final boolean isStreamCredit() {
+          return which() == ControlRequest.Payload.Which.STREAM_CREDIT;
+        }
+        public boolean hasStreamCredit() {
+          return !_pointerFieldIsNull(0);
+        }
+        public com.eventdbx.client.proto.ControlSchemas.StreamCredit.Reader getStreamCredit() {
+          assert which() == ControlRequest.Payload.Which.STREAM_CREDIT:
+                      "Must check which() before get()ing a union member.";
+          return _getPointerField(com.eventdbx.client.proto.ControlSchemas.StreamCredit.factory,0,null, 0);
+        }
+
+        public final boolean isBatch() {
+          return which() == ControlRequest.Payload.Which.BATCH;
+        }
+        public boolean hasBatch() {
+          return !_pointerFieldIsNull(0);
+        }
+        public com.eventdbx.client.proto.ControlSchemas.BatchRequest.Reader getBatch() {
+          assert which() == ControlRequest.Payload.Which.BATCH:
+                      "Must check which() before get()ing a union member.";
+          return _getPointerField(com.eventdbx.client.proto.ControlSchemas.BatchRequest.factory,0,null, 0);
+        }
+
       }
 
       public enum Which {
@@ -392,6 +512,10 @@ public final class ControlSchemas {
         SELECT_AGGREGATE,
         CREATE_AGGREGATE,
         SET_AGGREGATE_ARCHIVE,
+        STREAM_EVENTS,
+        STREAM_AGGREGATES,
+        STREAM_CREDIT,
+        BATCH,
         _NOT_IN_SCHEMA,
       }
     }
@@ -497,6 +621,8 @@ public final class ControlSchemas {
             case 6 : return Which.ERROR;
             case 7 : return Which.CREATE_AGGREGATE;
             case 8 : return Which.SET_AGGREGATE_ARCHIVE;
+            case 9 : return Which.STREAM_CHUNK;
+            case 10 : return Which.BATCH;
             default: return Which._NOT_IN_SCHEMA;
           }
         }
@@ -647,6 +773,38 @@ public final class ControlSchemas {
           _setShortField(4, (short)ControlResponse.Payload.Which.SET_AGGREGATE_ARCHIVE.ordinal());
           return _initPointerField(com.eventdbx.client.proto.ControlSchemas.SetAggregateArchiveResponse.factory,0, 0);
         }
+        public final boolean isStreamChunk() {
+          return which() == ControlResponse.Payload.Which.STREAM_CHUNK;
+        }
+        public final com.eventdbx.client.proto.ControlSchemas.StreamChunk.Builder getStreamChunk() {
+          assert which() == ControlResponse.Payload.Which.STREAM_CHUNK:
+                      "Must check which() before get()ing a union member.";
+          return _getPointerField(com.eventdbx.client.proto.ControlSchemas.StreamChunk.factory, 0, null, 0);
+        }
+        public final void setStreamChunk(com.eventdbx.client.proto.ControlSchemas.StreamChunk.Reader value) {
+          _setShortField(4, (short)ControlResponse.Payload.Which.STREAM_CHUNK.ordinal());
+          _setPointerField(com.eventdbx.client.proto.ControlSchemas.StreamChunk.factory,0, value);
+        }
+        public final com.eventdbx.client.proto.ControlSchemas.StreamChunk.Builder initStreamChunk() {
+          _setShortField(4, (short)ControlResponse.Payload.Which.STREAM_CHUNK.ordinal());
+          return _initPointerField(com.eventdbx.client.proto.ControlSchemas.StreamChunk.factory,0, 0);
+        }
+        public final boolean isBatch() {
+          return which() == ControlResponse.Payload.Which.BATCH;
+        }
+        public final com.eventdbx.client.proto.ControlSchemas.BatchResponse.Builder getBatch() {
+          assert which() == ControlResponse.Payload.Which.BATCH:
+                      "Must check which() before get()ing a union member.";
+          return _getPointerField(com.eventdbx.client.proto.ControlSchemas.BatchResponse.factory, 0, null, 0);
+        }
+        public final void setBatch(com.eventdbx.client.proto.ControlSchemas.BatchResponse.Reader value) {
+          _setShortField(4, (short)ControlResponse.Payload.Which.BATCH.ordinal());
+          _setPointerField(com.eventdbx.client.proto.ControlSchemas.BatchResponse.factory,0, value);
+        }
+        public final com.eventdbx.client.proto.ControlSchemas.BatchResponse.Builder initBatch() {
+          _setShortField(4, (short)ControlResponse.Payload.Which.BATCH.ordinal());
+          return _initPointerField(com.eventdbx.client.proto.ControlSchemas.BatchResponse.factory,0, 0);
+        }
       }
 
       public static final class Reader extends org.capnproto.StructReader {
@@ -665,6 +823,8 @@ public final class ControlSchemas {
             case 6 : return Which.ERROR;
             case 7 : return Which.CREATE_AGGREGATE;
             case 8 : return Which.SET_AGGREGATE_ARCHIVE;
+            case 9 : return Which.STREAM_CHUNK;
+            case 10 : return Which.BATCH;
             default: return Which._NOT_IN_SCHEMA;
           }
         }
@@ -776,6 +936,30 @@ public final class ControlSchemas {
           return _getPointerField(com.eventdbx.client.proto.ControlSchemas.SetAggregateArchiveResponse.factory,0,null, 0);
         }
 
+        public final boolean isStreamChunk() {
+          return which() == ControlResponse.Payload.Which.STREAM_CHUNK;
+        }
+        public boolean hasStreamChunk() {
+          return !_pointerFieldIsNull(0);
+        }
+        public com.eventdbx.client.proto.ControlSchemas.StreamChunk.Reader getStreamChunk() {
+          assert which() == ControlResponse.Payload.Which.STREAM_CHUNK:
+                      "Must check which() before get()ing a union member.";
+          return _getPointerField(com.eventdbx.client.proto.ControlSchemas.StreamChunk.factory,0,null, 0);
+        }
+
+        public final boolean isBatch() {
+          return which() == ControlResponse.Payload.Which.BATCH;
+        }
+        public boolean hasBatch() {
+          return !_pointerFieldIsNull(0);
+        }
+        public com.eventdbx.client.proto.ControlSchemas.BatchResponse.Reader getBatch() {
+          assert which() == ControlResponse.Payload.Which.BATCH:
+                      "Must check which() before get()ing a union member.";
+          return _getPointerField(com.eventdbx.client.proto.ControlSchemas.BatchResponse.factory,0,null, 0);
+        }
+
       }
 
       public enum Which {
@@ -788,6 +972,8 @@ public final class ControlSchemas {
         ERROR,
         CREATE_AGGREGATE,
         SET_AGGREGATE_ARCHIVE,
+        STREAM_CHUNK,
+        BATCH,
         _NOT_IN_SCHEMA,
       }
     }
@@ -987,7 +1173,7 @@ public final class ControlSchemas {
 
 
   public static class ListAggregatesRequest {
-    public static final org.capnproto.StructSize STRUCT_SIZE = new org.capnproto.StructSize((short)2,(short)4);
+    public static final org.capnproto.StructSize STRUCT_SIZE = new org.capnproto.StructSize((short)2,(short)6);
     public static final class Factory extends org.capnproto.StructFactory<Builder, Reader> {
       public Factory() {
       }
@@ -1123,6 +1309,47 @@ public final class ControlSchemas {
       public final org.capnproto.Text.Builder initToken(int size) {
         return _initPointerField(org.capnproto.Text.factory, 3, size);
       }
+      public final boolean hasAggregateType() {
+        return !_pointerFieldIsNull(4);
+      }
+      public final org.capnproto.Text.Builder getAggregateType() {
+        return _getPointerField(org.capnproto.Text.factory, 4, null, 0, 0);
+      }
+      public final void setAggregateType(org.capnproto.Text.Reader value) {
+        _setPointerField(org.capnproto.Text.factory, 4, value);
+      }
+      public final void setAggregateType(String value) {
+        _setPointerField(org.capnproto.Text.factory, 4, new org.capnproto.Text.Reader(value));
+      }
+      public final org.capnproto.Text.Builder initAggregateType(int size) {
+        return _initPointerField(org.capnproto.Text.factory, 4, size);
+      }
+      public final boolean getHasAggregateType() {
+        return _getBooleanField(6);
+      }
+      public final void setHasAggregateType(boolean value) {
+        _setBooleanField(6, value);
+      }
+
+      public final boolean hasAggregateIds() {
+        return !_pointerFieldIsNull(5);
+      }
+      public final org.capnproto.TextList.Builder getAggregateIds() {
+        return _getPointerField(org.capnproto.TextList.factory, 5, null, 0);
+      }
+      public final void setAggregateIds(org.capnproto.TextList.Reader value) {
+        _setPointerField(org.capnproto.TextList.factory, 5, value);
+      }
+      public final org.capnproto.TextList.Builder initAggregateIds(int size) {
+        return _initPointerField(org.capnproto.TextList.factory, 5, size);
+      }
+      public final boolean getHasAggregateIds() {
+        return _getBooleanField(7);
+      }
+      public final void setHasAggregateIds(boolean value) {
+        _setBooleanField(7, value);
+      }
+
     }
 
     public static final class Reader extends org.capnproto.StructReader {
@@ -1186,6 +1413,28 @@ public final class ControlSchemas {
         return _getPointerField(org.capnproto.Text.factory, 3, null, 0, 0);
       }
 
+      public boolean hasAggregateType() {
+        return !_pointerFieldIsNull(4);
+      }
+      public org.capnproto.Text.Reader getAggregateType() {
+        return _getPointerField(org.capnproto.Text.factory, 4, null, 0, 0);
+      }
+
+      public final boolean getHasAggregateType() {
+        return _getBooleanField(6);
+      }
+
+      public final boolean hasAggregateIds() {
+        return !_pointerFieldIsNull(5);
+      }
+      public final org.capnproto.TextList.Reader getAggregateIds() {
+        return _getPointerField(org.capnproto.TextList.factory, 5, null, 0);
+      }
+
+      public final boolean getHasAggregateIds() {
+        return _getBooleanField(7);
+      }
+
     }
 
   }
@@ -1287,7 +1536,7 @@ public final class ControlSchemas {
 
 
   public static class GetAggregateRequest {
-    public static final org.capnproto.StructSize STRUCT_SIZE = new org.capnproto.StructSize((short)0,(short)3);
+    public static final org.capnproto.StructSize STRUCT_SIZE = new org.capnproto.StructSize((short)2,(short)4);
     public static final class Factory extends org.capnproto.StructFactory<Builder, Reader> {
       public Factory() {
       }
@@ -1359,6 +1608,42 @@ public final class ControlSchemas {
       public final org.capnproto.Text.Builder initToken(int size) {
         return _initPointerField(org.capnproto.Text.factory, 2, size);
       }
+      public final long getIfVersionDiffers() {
+        return _getLongField(0);
+      }
+      public final void setIfVersionDiffers(long value) {
+        _setLongField(0, value);
+      }
+
+      public final boolean getHasIfVersionDiffers() {
+        return _getBooleanField(64);
+      }
+      public final void setHasIfVersionDiffers(boolean value) {
+        _setBooleanField(64, value);
+      }
+
+      public final boolean hasIfMerkleRootDiffers() {
+        return !_pointerFieldIsNull(3);
+      }
+      public final org.capnproto.Text.Builder getIfMerkleRootDiffers() {
+        return _getPointerField(org.capnproto.Text.factory, 3, null, 0, 0);
+      }
+      public final void setIfMerkleRootDiffers(org.capnproto.Text.Reader value) {
+        _setPointerField(org.capnproto.Text.factory, 3, value);
+      }
+      public final void setIfMerkleRootDiffers(String value) {
+        _setPointerField(org.capnproto.Text.factory, 3, new org.capnproto.Text.Reader(value));
+      }
+      public final org.capnproto.Text.Builder initIfMerkleRootDiffers(int size) {
+        return _initPointerField(org.capnproto.Text.factory, 3, size);
+      }
+      public final boolean getHasIfMerkleRootDiffers() {
+        return _getBooleanField(65);
+      }
+      public final void setHasIfMerkleRootDiffers(boolean value) {
+        _setBooleanField(65, value);
+      }
+
     }
 
     public static final class Reader extends org.capnproto.StructReader {
@@ -1387,6 +1672,25 @@ public final class ControlSchemas {
         return _getPointerField(org.capnproto.Text.factory, 2, null, 0, 0);
       }
 
+      public final long getIfVersionDiffers() {
+        return _getLongField(0);
+      }
+
+      public final boolean getHasIfVersionDiffers() {
+        return _getBooleanField(64);
+      }
+
+      public boolean hasIfMerkleRootDiffers() {
+        return !_pointerFieldIsNull(3);
+      }
+      public org.capnproto.Text.Reader getIfMerkleRootDiffers() {
+        return _getPointerField(org.capnproto.Text.factory, 3, null, 0, 0);
+      }
+
+      public final boolean getHasIfMerkleRootDiffers() {
+        return _getBooleanField(65);
+      }
+
     }
 
   }
@@ -1442,6 +1746,13 @@ public final class ControlSchemas {
       public final org.capnproto.Text.Builder initAggregateJson(int size) {
         return _initPointerField(org.capnproto.Text.factory, 0, size);
       }
+      public final boolean getNotModified() {
+        return _getBooleanField(1);
+      }
+      public final void setNotModified(boolean value) {
+        _setBooleanField(1, value);
+      }
+
     }
 
     public static final class Reader extends org.capnproto.StructReader {
@@ -1460,13 +1771,17 @@ public final class ControlSchemas {
         return _getPointerField(org.capnproto.Text.factory, 0, null, 0, 0);
       }
 
+      public final boolean getNotModified() {
+        return _getBooleanField(1);
+      }
+
     }
 
   }
 
 
   public static class ListEventsRequest {
-    public static final org.capnproto.StructSize STRUCT_SIZE = new org.capnproto.StructSize((short)2,(short)5);
+    public static final org.capnproto.StructSize STRUCT_SIZE = new org.capnproto.StructSize((short)4,(short)5);
     public static final class Factory extends org.capnproto.StructFactory<Builder, Reader> {
       public Factory() {
       }
@@ -1596,6 +1911,41 @@ public final class ControlSchemas {
       public final org.capnproto.Text.Builder initToken(int size) {
         return _initPointerField(org.capnproto.Text.factory, 4, size);
       }
+      public final long getFromVersion() {
+        return _getLongField(2);
+      }
+      public final void setFromVersion(long value) {
+        _setLongField(2, value);
+      }
+
+      public final boolean getHasFromVersion() {
+        return _getBooleanField(3);
+      }
+      public final void setHasFromVersion(boolean value) {
+        _setBooleanField(3, value);
+      }
+
+      public final long getToVersion() {
+        return _getLongField(3);
+      }
+      public final void setToVersion(long value) {
+        _setLongField(3, value);
+      }
+
+      public final boolean getHasToVersion() {
+        return _getBooleanField(4);
+      }
+      public final void setHasToVersion(boolean value) {
+        _setBooleanField(4, value);
+      }
+
+      public final boolean getHeadersOnly() {
+        return _getBooleanField(5);
+      }
+      public final void setHeadersOnly(boolean value) {
+        _setBooleanField(5, value);
+      }
+
     }
 
     public static final class Reader extends org.capnproto.StructReader {
@@ -1654,6 +2004,26 @@ public final class ControlSchemas {
         return _getPointerField(org.capnproto.Text.factory, 4, null, 0, 0);
       }
 
+      public final long getFromVersion() {
+        return _getLongField(2);
+      }
+
+      public final boolean getHasFromVersion() {
+        return _getBooleanField(3);
+      }
+
+      public final long getToVersion() {
+        return _getLongField(3);
+      }
+
+      public final boolean getHasToVersion() {
+        return _getBooleanField(4);
+      }
+
+      public final boolean getHeadersOnly() {
+        return _getBooleanField(5);
+      }
+
     }
 
   }
@@ -1755,7 +2125,7 @@ public final class ControlSchemas {
 
 
   public static class AppendEventRequest {
-    public static final org.capnproto.StructSize STRUCT_SIZE = new org.capnproto.StructSize((short)1,(short)8);
+    public static final org.capnproto.StructSize STRUCT_SIZE = new org.capnproto.StructSize((short)2,(short)9);
     public static final class Factory extends org.capnproto.StructFactory<Builder, Reader> {
       public Factory() {
       }
@@ -1921,6 +2291,42 @@ public final class ControlSchemas {
         _setBooleanField(2, value);
       }
 
+      public final long getExpectedVersion() {
+        return _getLongField(1);
+      }
+      public final void setExpectedVersion(long value) {
+        _setLongField(1, value);
+      }
+
+      public final boolean getHasExpectedVersion() {
+        return _getBooleanField(3);
+      }
+      public final void setHasExpectedVersion(boolean value) {
+        _setBooleanField(3, value);
+      }
+
+      public final boolean hasIdempotencyKey() {
+        return !_pointerFieldIsNull(8);
+      }
+      public final org.capnproto.Text.Builder getIdempotencyKey() {
+        return _getPointerField(org.capnproto.Text.factory, 8, null, 0, 0);
+      }
+      public final void setIdempotencyKey(org.capnproto.Text.Reader value) {
+        _setPointerField(org.capnproto.Text.factory, 8, value);
+      }
+      public final void setIdempotencyKey(String value) {
+        _setPointerField(org.capnproto.Text.factory, 8, new org.capnproto.Text.Reader(value));
+      }
+      public final org.capnproto.Text.Builder initIdempotencyKey(int size) {
+        return _initPointerField(org.capnproto.Text.factory, 8, size);
+      }
+      public final boolean getHasIdempotencyKey() {
+        return _getBooleanField(4);
+      }
+      public final void setHasIdempotencyKey(boolean value) {
+        _setBooleanField(4, value);
+      }
+
     }
 
     public static final class Reader extends org.capnproto.StructReader {
@@ -1996,6 +2402,25 @@ public final class ControlSchemas {
         return _getBooleanField(2);
       }
 
+      public final long getExpectedVersion() {
+        return _getLongField(1);
+      }
+
+      public final boolean getHasExpectedVersion() {
+        return _getBooleanField(3);
+      }
+
+      public boolean hasIdempotencyKey() {
+        return !_pointerFieldIsNull(8);
+      }
+      public org.capnproto.Text.Reader getIdempotencyKey() {
+        return _getPointerField(org.capnproto.Text.factory, 8, null, 0, 0);
+      }
+
+      public final boolean getHasIdempotencyKey() {
+        return _getBooleanField(4);
+      }
+
     }
 
   }
@@ -2064,7 +2489,7 @@ public final class ControlSchemas {
 
 
   public static class PatchEventRequest {
-    public static final org.capnproto.StructSize STRUCT_SIZE = new org.capnproto.StructSize((short)1,(short)8);
+    public static final org.capnproto.StructSize STRUCT_SIZE = new org.capnproto.StructSize((short)2,(short)8);
     public static final class Factory extends org.capnproto.StructFactory<Builder, Reader> {
       public Factory() {
       }
@@ -2229,6 +2654,20 @@ public final class ControlSchemas {
         _setBooleanField(2, value);
       }
 
+      public final long getExpectedVersion() {
+        return _getLongField(1);
+      }
+      public final void setExpectedVersion(long value) {
+        _setLongField(1, value);
+      }
+
+      public final boolean getHasExpectedVersion() {
+        return _getBooleanField(3);
+      }
+      public final void setHasExpectedVersion(boolean value) {
+        _setBooleanField(3, value);
+      }
+
     }
 
     public static final class Reader extends org.capnproto.StructReader {
@@ -2304,6 +2743,14 @@ public final class ControlSchemas {
         return _getBooleanField(2);
       }
 
+      public final long getExpectedVersion() {
+        return _getLongField(1);
+      }
+
+      public final boolean getHasExpectedVersion() {
+        return _getBooleanField(3);
+      }
+
     }
 
   }
@@ -2456,7 +2903,7 @@ public final class ControlSchemas {
 
 
   public static class SelectAggregateRequest {
-    public static final org.capnproto.StructSize STRUCT_SIZE = new org.capnproto.StructSize((short)0,(short)4);
+    public static final org.capnproto.StructSize STRUCT_SIZE = new org.capnproto.StructSize((short)2,(short)5);
     public static final class Factory extends org.capnproto.StructFactory<Builder, Reader> {
       public Factory() {
       }
@@ -2540,6 +2987,42 @@ public final class ControlSchemas {
       public final org.capnproto.Text.Builder initToken(int size) {
         return _initPointerField(org.capnproto.Text.factory, 3, size);
       }
+      public final long getIfVersionDiffers() {
+        return _getLongField(0);
+      }
+      public final void setIfVersionDiffers(long value) {
+        _setLongField(0, value);
+      }
+
+      public final boolean getHasIfVersionDiffers() {
+        return _getBooleanField(64);
+      }
+      public final void setHasIfVersionDiffers(boolean value) {
+        _setBooleanField(64, value);
+      }
+
+      public final boolean hasIfMerkleRootDiffers() {
+        return !_pointerFieldIsNull(4);
+      }
+      public final org.capnproto.Text.Builder getIfMerkleRootDiffers() {
+        return _getPointerField(org.capnproto.Text.factory, 4, null, 0, 0);
+      }
+      public final void setIfMerkleRootDiffers(org.capnproto.Text.Reader value) {
+        _setPointerField(org.capnproto.Text.factory, 4, value);
+      }
+      public final void setIfMerkleRootDiffers(String value) {
+        _setPointerField(org.capnproto.Text.factory, 4, new org.capnproto.Text.Reader(value));
+      }
+      public final org.capnproto.Text.Builder initIfMerkleRootDiffers(int size) {
+        return _initPointerField(org.capnproto.Text.factory, 4, size);
+      }
+      public final boolean getHasIfMerkleRootDiffers() {
+        return _getBooleanField(65);
+      }
+      public final void setHasIfMerkleRootDiffers(boolean value) {
+        _setBooleanField(65, value);
+      }
+
     }
 
     public static final class Reader extends org.capnproto.StructReader {
@@ -2575,7 +3058,26 @@ public final class ControlSchemas {
         return _getPointerField(org.capnproto.Text.factory, 3, null, 0, 0);
       }
 
-    }
+      public final long getIfVersionDiffers() {
+        return _getLongField(0);
+      }
+
+      public final boolean getHasIfVersionDiffers() {
+        return _getBooleanField(64);
+      }
+
+      public boolean hasIfMerkleRootDiffers() {
+        return !_pointerFieldIsNull(4);
+      }
+      public org.capnproto.Text.Reader getIfMerkleRootDiffers() {
+        return _getPointerField(org.capnproto.Text.factory, 4, null, 0, 0);
+      }
+
+      public final boolean getHasIfMerkleRootDiffers() {
+        return _getBooleanField(65);
+      }
+
+    }
 
   }
 
@@ -2630,6 +3132,13 @@ public final class ControlSchemas {
       public final org.capnproto.Text.Builder initSelectionJson(int size) {
         return _initPointerField(org.capnproto.Text.factory, 0, size);
       }
+      public final boolean getNotModified() {
+        return _getBooleanField(1);
+      }
+      public final void setNotModified(boolean value) {
+        _setBooleanField(1, value);
+      }
+
     }
 
     public static final class Reader extends org.capnproto.StructReader {
@@ -2648,13 +3157,17 @@ public final class ControlSchemas {
         return _getPointerField(org.capnproto.Text.factory, 0, null, 0, 0);
       }
 
+      public final boolean getNotModified() {
+        return _getBooleanField(1);
+      }
+
     }
 
   }
 
 
   public static class CreateAggregateRequest {
-    public static final org.capnproto.StructSize STRUCT_SIZE = new org.capnproto.StructSize((short)1,(short)8);
+    public static final org.capnproto.StructSize STRUCT_SIZE = new org.capnproto.StructSize((short)1,(short)9);
     public static final class Factory extends org.capnproto.StructFactory<Builder, Reader> {
       public Factory() {
       }
@@ -2819,6 +3332,28 @@ public final class ControlSchemas {
         _setBooleanField(2, value);
       }
 
+      public final boolean hasIdempotencyKey() {
+        return !_pointerFieldIsNull(8);
+      }
+      public final org.capnproto.Text.Builder getIdempotencyKey() {
+        return _getPointerField(org.capnproto.Text.factory, 8, null, 0, 0);
+      }
+      public final void setIdempotencyKey(org.capnproto.Text.Reader value) {
+        _setPointerField(org.capnproto.Text.factory, 8, value);
+      }
+      public final void setIdempotencyKey(String value) {
+        _setPointerField(org.capnproto.Text.factory, 8, new org.capnproto.Text.Reader(value));
+      }
+      public final org.capnproto.Text.Builder initIdempotencyKey(int size) {
+        return _initPointerField(org.capnproto.Text.factory, 8, size);
+      }
+      public final boolean getHasIdempotencyKey() {
+        return _getBooleanField(3);
+      }
+      public final void setHasIdempotencyKey(boolean value) {
+        _setBooleanField(3, value);
+      }
+
     }
 
     public static final class Reader extends org.capnproto.StructReader {
@@ -2894,6 +3429,17 @@ public final class ControlSchemas {
         return _getBooleanField(2);
       }
 
+      public boolean hasIdempotencyKey() {
+        return !_pointerFieldIsNull(8);
+      }
+      public org.capnproto.Text.Reader getIdempotencyKey() {
+        return _getPointerField(org.capnproto.Text.factory, 8, null, 0, 0);
+      }
+
+      public final boolean getHasIdempotencyKey() {
+        return _getBooleanField(3);
+      }
+
     }
 
   }
@@ -3385,6 +3931,444 @@ public final class ControlSchemas {
   }
 
 
+  public static class StreamEventsRequest {
+    public static final org.capnproto.StructSize STRUCT_SIZE = new org.capnproto.StructSize((short)1,(short)1);
+    public static final class Factory extends org.capnproto.StructFactory<Builder, Reader> {
+      public Factory() {
+      }
+      public final Reader constructReader(org.capnproto.SegmentReader segment, int data,int pointers, int dataSize, short pointerCount, int nestingLimit) {
+        return new Reader(segment,data,pointers,dataSize,pointerCount,nestingLimit);
+      }
+      public final Builder constructBuilder(org.capnproto.SegmentBuilder segment, int data,int pointers, int dataSize, short pointerCount) {
+        return new Builder(segment, data, pointers, dataSize, pointerCount);
+      }
+      public final org.capnproto.StructSize structSize() {
+        return StreamEventsRequest.STRUCT_SIZE;
+      }
+      public final Reader asReader(Builder builder) {
+        return builder.asReader();
+      }
+    }
+    public static final Factory factory = new Factory();
+    public static final org.capnproto.StructList.Factory<Builder,Reader> listFactory =
+      new org.capnproto.StructList.Factory<Builder, Reader>(factory);
+    public static final class Builder extends org.capnproto.StructBuilder {
+      Builder(org.capnproto.SegmentBuilder segment, int data, int pointers,int dataSize, short pointerCount){
+        super(segment, data, pointers, dataSize, pointerCount);
+      }
+      public final Reader asReader() {
+        return new Reader(segment, data, pointers, dataSize, pointerCount, 0x7fffffff);
+      }
+      public final boolean hasRequest() {
+        return !_pointerFieldIsNull(0);
+      }
+      public final com.eventdbx.client.proto.ControlSchemas.ListEventsRequest.Builder getRequest() {
+        return _getPointerField(com.eventdbx.client.proto.ControlSchemas.ListEventsRequest.factory, 0, null, 0);
+      }
+      public final void setRequest(com.eventdbx.client.proto.ControlSchemas.ListEventsRequest.Reader value) {
+        _setPointerField(com.eventdbx.client.proto.ControlSchemas.ListEventsRequest.factory,0, value);
+      }
+      public final com.eventdbx.client.proto.ControlSchemas.ListEventsRequest.Builder initRequest() {
+        return _initPointerField(com.eventdbx.client.proto.ControlSchemas.ListEventsRequest.factory,0, 0);
+      }
+      public final int getCredit() {
+        return _getIntField(0);
+      }
+      public final void setCredit(int value) {
+        _setIntField(0, value);
+      }
+
+
+    }
+
+    public static final class Reader extends org.capnproto.StructReader {
+      Reader(org.capnproto.SegmentReader segment, int data, int pointers,int dataSize, short pointerCount, int nestingLimit){
+        super(segment, data, pointers, dataSize, pointerCount, nestingLimit);
+      }
+
+      public boolean hasRequest() {
+        return !_pointerFieldIsNull(0);
+      }
+      public com.eventdbx.client.proto.ControlSchemas.ListEventsRequest.Reader getRequest() {
+        return _getPointerField(com.eventdbx.client.proto.ControlSchemas.ListEventsRequest.factory,0,null, 0);
+      }
+
+      public final int getCredit() {
+        return _getIntField(0);
+      }
+
+
+    }
+
+  }
+
+
+  public static class StreamAggregatesRequest {
+    public static final org.capnproto.StructSize STRUCT_SIZE = new org.capnproto.StructSize((short)1,(short)1);
+    public static final class Factory extends org.capnproto.StructFactory<Builder, Reader> {
+      public Factory() {
+      }
+      public final Reader constructReader(org.capnproto.SegmentReader segment, int data,int pointers, int dataSize, short pointerCount, int nestingLimit) {
+        return new Reader(segment,data,pointers,dataSize,pointerCount,nestingLimit);
+      }
+      public final Builder constructBuilder(org.capnproto.SegmentBuilder segment, int data,int pointers, int dataSize, short pointerCount) {
+        return new Builder(segment, data, pointers, dataSize, pointerCount);
+      }
+      public final org.capnproto.StructSize structSize() {
+        return StreamAggregatesRequest.STRUCT_SIZE;
+      }
+      public final Reader asReader(Builder builder) {
+        return builder.asReader();
+      }
+    }
+    public static final Factory factory = new Factory();
+    public static final org.capnproto.StructList.Factory<Builder,Reader> listFactory =
+      new org.capnproto.StructList.Factory<Builder, Reader>(factory);
+    public static final class Builder extends org.capnproto.StructBuilder {
+      Builder(org.capnproto.SegmentBuilder segment, int data, int pointers,int dataSize, short pointerCount){
+        super(segment, data, pointers, dataSize, pointerCount);
+      }
+      public final Reader asReader() {
+        return new Reader(segment, data, pointers, dataSize, pointerCount, 0x7fffffff);
+      }
+      public final boolean hasRequest() {
+        return !_pointerFieldIsNull(0);
+      }
+      public final com.eventdbx.client.proto.ControlSchemas.ListAggregatesRequest.Builder getRequest() {
+        return _getPointerField(com.eventdbx.client.proto.ControlSchemas.ListAggregatesRequest.factory, 0, null, 0);
+      }
+      public final void setRequest(com.eventdbx.client.proto.ControlSchemas.ListAggregatesRequest.Reader value) {
+        _setPointerField(com.eventdbx.client.proto.ControlSchemas.ListAggregatesRequest.factory,0, value);
+      }
+      public final com.eventdbx.client.proto.ControlSchemas.ListAggregatesRequest.Builder initRequest() {
+        return _initPointerField(com.eventdbx.client.proto.ControlSchemas.ListAggregatesRequest.factory,0, 0);
+      }
+      public final int getCredit() {
+        return _getIntField(0);
+      }
+      public final void setCredit(int value) {
+        _setIntField(0, value);
+      }
+
+
+    }
+
+    public static final class Reader extends org.capnproto.StructReader {
+      Reader(org.capnproto.SegmentReader segment, int data, int pointers,int dataSize, short pointerCount, int nestingLimit){
+        super(segment, data, pointers, dataSize, pointerCount, nestingLimit);
+      }
+
+      public boolean hasRequest() {
+        return !_pointerFieldIsNull(0);
+      }
+      public com.eventdbx.client.proto.ControlSchemas.ListAggregatesRequest.Reader getRequest() {
+        return _getPointerField(com.eventdbx.client.proto.ControlSchemas.ListAggregatesRequest.factory,0,null, 0);
+      }
+
+      public final int getCredit() {
+        return _getIntField(0);
+      }
+
+
+    }
+
+  }
+
+
+  public static class StreamCredit {
+    public static final org.capnproto.StructSize STRUCT_SIZE = new org.capnproto.StructSize((short)1,(short)0);
+    public static final class Factory extends org.capnproto.StructFactory<Builder, Reader> {
+      public Factory() {
+      }
+      public final Reader constructReader(org.capnproto.SegmentReader segment, int data,int pointers, int dataSize, short pointerCount, int nestingLimit) {
+        return new Reader(segment,data,pointers,dataSize,pointerCount,nestingLimit);
+      }
+      public final Builder constructBuilder(org.capnproto.SegmentBuilder segment, int data,int pointers, int dataSize, short pointerCount) {
+        return new Builder(segment, data, pointers, dataSize, pointerCount);
+      }
+      public final org.capnproto.StructSize structSize() {
+        return StreamCredit.STRUCT_SIZE;
+      }
+      public final Reader asReader(Builder builder) {
+        return builder.asReader();
+      }
+    }
+    public static final Factory factory = new Factory();
+    public static final org.capnproto.StructList.Factory<Builder,Reader> listFactory =
+      new org.capnproto.StructList.Factory<Builder, Reader>(factory);
+    public static final class Builder extends org.capnproto.StructBuilder {
+      Builder(org.capnproto.SegmentBuilder segment, int data, int pointers,int dataSize, short pointerCount){
+        super(segment, data, pointers, dataSize, pointerCount);
+      }
+      public final Reader asReader() {
+        return new Reader(segment, data, pointers, dataSize, pointerCount, 0x7fffffff);
+      }
+      public final int getCredit() {
+        return _getIntField(0);
+      }
+      public final void setCredit(int value) {
+        _setIntField(0, value);
+      }
+
+      public final boolean getCancel() {
+        return _getBooleanField(32);
+      }
+      public final void setCancel(boolean value) {
+        _setBooleanField(32, value);
+      }
+
+
+    }
+
+    public static final class Reader extends org.capnproto.StructReader {
+      Reader(org.capnproto.SegmentReader segment, int data, int pointers,int dataSize, short pointerCount, int nestingLimit){
+        super(segment, data, pointers, dataSize, pointerCount, nestingLimit);
+      }
+
+      public final int getCredit() {
+        return _getIntField(0);
+      }
+
+      public final boolean getCancel() {
+        return _getBooleanField(32);
+      }
+
+
+    }
+
+  }
+
+
+  public static class StreamChunk {
+    public static final org.capnproto.StructSize STRUCT_SIZE = new org.capnproto.StructSize((short)1,(short)2);
+    public static final class Factory extends org.capnproto.StructFactory<Builder, Reader> {
+      public Factory() {
+      }
+      public final Reader constructReader(org.capnproto.SegmentReader segment, int data,int pointers, int dataSize, short pointerCount, int nestingLimit) {
+        return new Reader(segment,data,pointers,dataSize,pointerCount,nestingLimit);
+      }
+      public final Builder constructBuilder(org.capnproto.SegmentBuilder segment, int data,int pointers, int dataSize, short pointerCount) {
+        return new Builder(segment, data, pointers, dataSize, pointerCount);
+      }
+      public final org.capnproto.StructSize structSize() {
+        return StreamChunk.STRUCT_SIZE;
+      }
+      public final Reader asReader(Builder builder) {
+        return builder.asReader();
+      }
+    }
+    public static final Factory factory = new Factory();
+    public static final org.capnproto.StructList.Factory<Builder,Reader> listFactory =
+      new org.capnproto.StructList.Factory<Builder, Reader>(factory);
+    public static final class Builder extends org.capnproto.StructBuilder {
+      Builder(org.capnproto.SegmentBuilder segment, int data, int pointers,int dataSize, short pointerCount){
+        super(segment, data, pointers, dataSize, pointerCount);
+      }
+      public final Reader asReader() {
+        return new Reader(segment, data, pointers, dataSize, pointerCount, 0x7fffffff);
+      }
+      public final boolean hasItemsJson() {
+        return !_pointerFieldIsNull(0);
+      }
+      public final org.capnproto.Text.Builder getItemsJson() {
+        return _getPointerField(org.capnproto.Text.factory, 0, null, 0, 0);
+      }
+      public final void setItemsJson(org.capnproto.Text.Reader value) {
+        _setPointerField(org.capnproto.Text.factory, 0, value);
+      }
+      public final void setItemsJson(String value) {
+        _setPointerField(org.capnproto.Text.factory, 0, new org.capnproto.Text.Reader(value));
+      }
+      public final org.capnproto.Text.Builder initItemsJson(int size) {
+        return _initPointerField(org.capnproto.Text.factory, 0, size);
+      }
+      public final boolean hasNextCursor() {
+        return !_pointerFieldIsNull(1);
+      }
+      public final org.capnproto.Text.Builder getNextCursor() {
+        return _getPointerField(org.capnproto.Text.factory, 1, null, 0, 0);
+      }
+      public final void setNextCursor(org.capnproto.Text.Reader value) {
+        _setPointerField(org.capnproto.Text.factory, 1, value);
+      }
+      public final void setNextCursor(String value) {
+        _setPointerField(org.capnproto.Text.factory, 1, new org.capnproto.Text.Reader(value));
+      }
+      public final org.capnproto.Text.Builder initNextCursor(int size) {
+        return _initPointerField(org.capnproto.Text.factory, 1, size);
+      }
+      public final boolean getHasNextCursor() {
+        return _getBooleanField(0);
+      }
+      public final void setHasNextCursor(boolean value) {
+        _setBooleanField(0, value);
+      }
+
+      public final boolean getEndOfStream() {
+        return _getBooleanField(1);
+      }
+      public final void setEndOfStream(boolean value) {
+        _setBooleanField(1, value);
+      }
+
+
+    }
+
+    public static final class Reader extends org.capnproto.StructReader {
+      Reader(org.capnproto.SegmentReader segment, int data, int pointers,int dataSize, short pointerCount, int nestingLimit){
+        super(segment, data, pointers, dataSize, pointerCount, nestingLimit);
+      }
+
+      public boolean hasItemsJson() {
+        return !_pointerFieldIsNull(0);
+      }
+      public org.capnproto.Text.Reader getItemsJson() {
+        return _getPointerField(org.capnproto.Text.factory, 0, null, 0, 0);
+      }
+
+      public boolean hasNextCursor() {
+        return !_pointerFieldIsNull(1);
+      }
+      public org.capnproto.Text.Reader getNextCursor() {
+        return _getPointerField(org.capnproto.Text.factory, 1, null, 0, 0);
+      }
+
+      public final boolean getHasNextCursor() {
+        return _getBooleanField(0);
+      }
+
+      public final boolean getEndOfStream() {
+        return _getBooleanField(1);
+      }
+
+
+    }
+
+  }
+
+
+  public static class BatchRequest {
+    public static final org.capnproto.StructSize STRUCT_SIZE = new org.capnproto.StructSize((short)0,(short)1);
+    public static final class Factory extends org.capnproto.StructFactory<Builder, Reader> {
+      public Factory() {
+      }
+      public final Reader constructReader(org.capnproto.SegmentReader segment, int data,int pointers, int dataSize, short pointerCount, int nestingLimit) {
+        return new Reader(segment,data,pointers,dataSize,pointerCount,nestingLimit);
+      }
+      public final Builder constructBuilder(org.capnproto.SegmentBuilder segment, int data,int pointers, int dataSize, short pointerCount) {
+        return new Builder(segment, data, pointers, dataSize, pointerCount);
+      }
+      public final org.capnproto.StructSize structSize() {
+        return BatchRequest.STRUCT_SIZE;
+      }
+      public final Reader asReader(Builder builder) {
+        return builder.asReader();
+      }
+    }
+    public static final Factory factory = new Factory();
+    public static final org.capnproto.StructList.Factory<Builder,Reader> listFactory =
+      new org.capnproto.StructList.Factory<Builder, Reader>(factory);
+    public static final class Builder extends org.capnproto.StructBuilder {
+      Builder(org.capnproto.SegmentBuilder segment, int data, int pointers,int dataSize, short pointerCount){
+        super(segment, data, pointers, dataSize, pointerCount);
+      }
+      public final Reader asReader() {
+        return new Reader(segment, data, pointers, dataSize, pointerCount, 0x7fffffff);
+      }
+      public final boolean hasRequests() {
+        return !_pointerFieldIsNull(0);
+      }
+      public final org.capnproto.StructList.Builder<com.eventdbx.client.proto.ControlSchemas.ControlRequest.Builder> getRequests() {
+        return _getPointerField(com.eventdbx.client.proto.ControlSchemas.ControlRequest.listFactory, 0, null, 0);
+      }
+      public final void setRequests(org.capnproto.StructList.Reader<com.eventdbx.client.proto.ControlSchemas.ControlRequest.Reader> value) {
+        _setPointerField(com.eventdbx.client.proto.ControlSchemas.ControlRequest.listFactory, 0, value);
+      }
+      public final org.capnproto.StructList.Builder<com.eventdbx.client.proto.ControlSchemas.ControlRequest.Builder> initRequests(int size) {
+        return _initPointerField(com.eventdbx.client.proto.ControlSchemas.ControlRequest.listFactory, 0, size);
+      }
+
+    }
+
+    public static final class Reader extends org.capnproto.StructReader {
+      Reader(org.capnproto.SegmentReader segment, int data, int pointers,int dataSize, short pointerCount, int nestingLimit){
+        super(segment, data, pointers, dataSize, pointerCount, nestingLimit);
+      }
+
+      public final boolean hasRequests() {
+        return !_pointerFieldIsNull(0);
+      }
+      public final org.capnproto.StructList.Reader<com.eventdbx.client.proto.ControlSchemas.ControlRequest.Reader> getRequests() {
+        return _getPointerField(com.eventdbx.client.proto.ControlSchemas.ControlRequest.listFactory, 0, null, 0);
+      }
+
+
+    }
+
+  }
+
+
+  public static class BatchResponse {
+    public static final org.capnproto.StructSize STRUCT_SIZE = new org.capnproto.StructSize((short)0,(short)1);
+    public static final class Factory extends org.capnproto.StructFactory<Builder, Reader> {
+      public Factory() {
+      }
+      public final Reader constructReader(org.capnproto.SegmentReader segment, int data,int pointers, int dataSize, short pointerCount, int nestingLimit) {
+        return new Reader(segment,data,pointers,dataSize,pointerCount,nestingLimit);
+      }
+      public final Builder constructBuilder(org.capnproto.SegmentBuilder segment, int data,int pointers, int dataSize, short pointerCount) {
+        return new Builder(segment, data, pointers, dataSize, pointerCount);
+      }
+      public final org.capnproto.StructSize structSize() {
+        return BatchResponse.STRUCT_SIZE;
+      }
+      public final Reader asReader(Builder builder) {
+        return builder.asReader();
+      }
+    }
+    public static final Factory factory = new Factory();
+    public static final org.capnproto.StructList.Factory<Builder,Reader> listFactory =
+      new org.capnproto.StructList.Factory<Builder, Reader>(factory);
+    public static final class Builder extends org.capnproto.StructBuilder {
+      Builder(org.capnproto.SegmentBuilder segment, int data, int pointers,int dataSize, short pointerCount){
+        super(segment, data, pointers, dataSize, pointerCount);
+      }
+      public final Reader asReader() {
+        return new Reader(segment, data, pointers, dataSize, pointerCount, 0x7fffffff);
+      }
+      public final boolean hasResponses() {
+        return !_pointerFieldIsNull(0);
+      }
+      public final org.capnproto.StructList.Builder<com.eventdbx.client.proto.ControlSchemas.ControlResponse.Builder> getResponses() {
+        return _getPointerField(com.eventdbx.client.proto.ControlSchemas.ControlResponse.listFactory, 0, null, 0);
+      }
+      public final void setResponses(org.capnproto.StructList.Reader<com.eventdbx.client.proto.ControlSchemas.ControlResponse.Reader> value) {
+        _setPointerField(com.eventdbx.client.proto.ControlSchemas.ControlResponse.listFactory, 0, value);
+      }
+      public final org.capnproto.StructList.Builder<com.eventdbx.client.proto.ControlSchemas.ControlResponse.Builder> initResponses(int size) {
+        return _initPointerField(com.eventdbx.client.proto.ControlSchemas.ControlResponse.listFactory, 0, size);
+      }
+
+    }
+
+    public static final class Reader extends org.capnproto.StructReader {
+      Reader(org.capnproto.SegmentReader segment, int data, int pointers,int dataSize, short pointerCount, int nestingLimit){
+        super(segment, data, pointers, dataSize, pointerCount, nestingLimit);
+      }
+
+      public final boolean hasResponses() {
+        return !_pointerFieldIsNull(0);
+      }
+      public final org.capnproto.StructList.Reader<com.eventdbx.client.proto.ControlSchemas.ControlResponse.Reader> getResponses() {
+        return _getPointerField(com.eventdbx.client.proto.ControlSchemas.ControlResponse.listFactory, 0, null, 0);
+      }
+
+
+    }
+
+  }
+
+
 
 public static final class Schemas {
 public static final org.capnproto.SegmentReader b_8fda33e4e41726e4 =
@@ -0,0 +1,93 @@
+package com.eventdbx.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BufferedAppenderTest {
+
+    @Mock
+    ControlClient controlClient;
+
+    @Test
+    void sendsAFullBatchWithoutWaitingForTheDelay() throws Exception {
+        answerBatches();
+        EventDbxClient client = new EventDbxClient(EventDbxConfig.builder().token("token").build(), controlClient);
+        BufferedAppenderOptions options = BufferedAppenderOptions.builder().maxBatchSize(2).maxDelay(Duration.ofMinutes(1)).build();
+
+        try (BufferedAppender appender = client.bufferedAppender(options)) {
+            CompletableFuture<EventRecord> first = appender.append("person", "p1", "renamed", null);
+            CompletableFuture<EventRecord> second = appender.append("person", "p1", "moved", null);
+
+            assertEquals("renamed", first.get(5, TimeUnit.SECONDS).eventType());
+            assertEquals("moved", second.get(5, TimeUnit.SECONDS).eventType());
+        }
+        verify(controlClient, times(1)).batch(anyList());
+    }
+
+    @Test
+    void flushAndCloseDrainTheQueue() {
+        answerBatches();
+        EventDbxClient client = new EventDbxClient(EventDbxConfig.builder().token("token").build(), controlClient);
+        BufferedAppenderOptions options = BufferedAppenderOptions.builder().maxDelay(Duration.ofMinutes(1)).build();
+        BufferedAppender appender = client.bufferedAppender(options);
+
+        CompletableFuture<EventRecord> flushed = appender.append("person", "p1", "renamed", null);
+        appender.flush();
+        assertTrue(flushed.isDone());
+
+        CompletableFuture<EventRecord> drained = appender.append("person", "p2", "renamed", null);
+        appender.close();
+        assertTrue(drained.isDone());
+        assertThrows(IllegalStateException.class, () -> appender.append("person", "p3", "renamed", null));
+    }
+
+    @Test
+    void closeWaitsForSubmittersBlockedOnQueueSpace() throws Exception {
+        when(controlClient.batch(anyList())).thenAnswer(invocation -> {
+            Thread.sleep(100);
+            List<BatchOperation> operations = invocation.getArgument(0);
+            return operations.stream().map(operation -> BatchResult.success(operation, null)).toList();
+        });
+        EventDbxClient client = new EventDbxClient(EventDbxConfig.builder().token("token").build(), controlClient);
+        BufferedAppenderOptions options = BufferedAppenderOptions.builder().capacity(1).maxBatchSize(1).build();
+        BufferedAppender appender = client.bufferedAppender(options);
+        appender.append("person", "p1", "renamed", null);
+        CompletableFuture<CompletableFuture<EventRecord>> blocked = new CompletableFuture<>();
+        Thread submitter = new Thread(() -> blocked.complete(appender.append("person", "p2", "renamed", null)));
+        submitter.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (submitter.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+
+        appender.close();
+
+        assertTrue(blocked.get(5, TimeUnit.SECONDS).isDone());
+    }
+
+    private void answerBatches() {
+        when(controlClient.batch(anyList())).thenAnswer(invocation -> {
+            List<BatchOperation> operations = invocation.getArgument(0);
+            return operations.stream()
+                    .map(operation -> BatchResult.success(operation, new EventRecord(operation.aggregateType(), operation.aggregateId(),
+                            operation.eventType(), 1, null, null, null, null, null)))
+                    .toList();
+        });
+    }
+}
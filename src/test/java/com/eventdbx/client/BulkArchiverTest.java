@@ -0,0 +1,81 @@
+package com.eventdbx.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkArchiverTest {
+
+    @Mock
+    ControlClient controlClient;
+
+    @Test
+    void archiveWhereSkipsArchivedAggregatesAndReportsFailures() {
+        when(controlClient.list(eq("person"), argThat(options -> options != null && options.includeArchived()
+                && options.filter().orElse("").equals("status = 'inactive'")))).thenReturn(new Page<>(List.of(
+                new AggregateSnapshot("person", "p1", 1, null, null, false),
+                new AggregateSnapshot("person", "p2", 1, null, null, true),
+                new AggregateSnapshot("person", "p3", 1, null, null, false)), null));
+        when(controlClient.archive(eq("person"), eq("p1"), any())).thenReturn(new AggregateSnapshot("person", "p1", 1, null, null, true));
+        when(controlClient.archive(eq("person"), eq("p3"), any())).thenThrow(new EventDbxException("Server error (forbidden): no"));
+        EventDbxClient client = new EventDbxClient(EventDbxConfig.builder().token("token").build(), controlClient);
+        List<BulkArchiveResult> progress = new ArrayList<>();
+
+        BulkArchiveResult result = client.archiveWhere("person", "status = 'inactive'",
+                BulkArchiveOptions.builder().maxPerSecond(1_000).progress(progress::add).build());
+
+        assertEquals(3, result.matched());
+        assertEquals(1, result.changed());
+        assertEquals(1, result.skipped());
+        assertEquals("p3", result.failures().get(0).operation().aggregateId());
+        assertEquals(1, progress.size());
+        verify(controlClient, never()).archive(eq("person"), eq("p2"), any());
+    }
+
+    @Test
+    void restoreWhereWalksEveryPageAndCountsUnexpectedFailures() {
+        when(controlClient.list(eq("person"), argThat(options -> options != null && options.cursor().isEmpty()))).thenReturn(new Page<>(List.of(
+                new AggregateSnapshot("person", "p1", 1, null, null, true)), "c1"));
+        when(controlClient.list(eq("person"), argThat(options -> options != null && options.cursor().isPresent()))).thenReturn(new Page<>(List.of(
+                new AggregateSnapshot("person", "p2", 1, null, null, true)), null));
+        when(controlClient.restore(eq("person"), eq("p1"), any())).thenReturn(new AggregateSnapshot("person", "p1", 1, null, null, false));
+        when(controlClient.restore(eq("person"), eq("p2"), any())).thenThrow(new IllegalStateException("boom"));
+        EventDbxClient client = new EventDbxClient(EventDbxConfig.builder().token("token").build(), controlClient);
+        List<BulkArchiveResult> progress = new ArrayList<>();
+
+        BulkArchiveResult result = client.restoreWhere("person", "status = 'inactive'",
+                BulkArchiveOptions.builder().progress(progress::add).build());
+
+        assertEquals(2, result.matched());
+        assertEquals(1, result.changed());
+        assertEquals(1, result.failures().size());
+        assertTrue(result.failures().get(0).error().getCause() instanceof IllegalStateException);
+        assertEquals(2, progress.size());
+    }
+
+    @Test
+    void archiveWhereStopsAfterThePageWithAConnectionFailure() {
+        when(controlClient.list(eq("person"), argThat(options -> options != null && options.cursor().isEmpty()))).thenReturn(new Page<>(List.of(
+                new AggregateSnapshot("person", "p1", 1, null, null, false)), "c1"));
+        when(controlClient.archive(eq("person"), eq("p1"), any())).thenThrow(new EventDbxConnectionException("reset"));
+        EventDbxClient client = new EventDbxClient(EventDbxConfig.builder().token("token").build(), controlClient);
+
+        assertThrows(EventDbxConnectionException.class, () -> client.archiveWhere("person", "status = 'inactive'", BulkArchiveOptions.builder().build()));
+        verify(controlClient, never()).list(eq("person"), argThat(options -> options != null && options.cursor().isPresent()));
+    }
+}
@@ -0,0 +1,95 @@
+package com.eventdbx.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkExporterTest {
+
+    @Mock
+    ControlClient controlClient;
+
+    @Test
+    void writesEventsInListOrderAndCheckpointsCompletion(@TempDir Path directory) throws IOException {
+        when(controlClient.list(eq("person"), any())).thenReturn(new Page<>(List.of(
+                new AggregateSnapshot("person", "p1", 1, null, null, false),
+                new AggregateSnapshot("person", "p2", 1, null, null, false)), null));
+        when(controlClient.events(eq("person"), eq("p1"), any())).thenReturn(new Page<>(List.of(
+                new EventRecord("person", "p1", "created", 1, null, null, null, null, null)), null));
+        when(controlClient.events(eq("person"), eq("p2"), any())).thenReturn(new Page<>(List.of(
+                new EventRecord("person", "p2", "created", 1, null, null, null, null, null)), null));
+        Path output = directory.resolve("person.ndjson.gz");
+        Path checkpoint = directory.resolve("checkpoint.json");
+        EventDbxClient client = new EventDbxClient(EventDbxConfig.builder().token("token").build(), controlClient);
+
+        ExportResult result = client.exportEvents("person", output, ExportOptions.builder().checkpointFile(checkpoint).build());
+
+        assertEquals(2, result.aggregates());
+        assertEquals(2, result.events());
+        String written;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(output))) {
+            written = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        List<String> lines = written.lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("\"aggregateId\":\"p1\""));
+        assertTrue(lines.get(1).contains("\"aggregateId\":\"p2\""));
+        assertTrue(Files.readString(checkpoint).contains("\"complete\":true"));
+    }
+
+    @Test
+    void resumesAfterTheLastCheckpointedPageIntoTheSameOutputOnly(@TempDir Path directory) throws IOException {
+        when(controlClient.list(eq("person"), argThat(options -> options != null && options.cursor().isEmpty()))).thenReturn(new Page<>(List.of(
+                new AggregateSnapshot("person", "p1", 1, null, null, false)), "c1"));
+        when(controlClient.list(eq("person"), argThat(options -> options != null && options.cursor().isPresent()))).thenReturn(new Page<>(List.of(
+                new AggregateSnapshot("person", "p2", 1, null, null, false)), null));
+        when(controlClient.events(eq("person"), eq("p1"), any())).thenReturn(new Page<>(List.of(
+                new EventRecord("person", "p1", "created", 1, null, null, null, null, null)), null));
+        when(controlClient.events(eq("person"), eq("p2"), any()))
+                .thenThrow(new EventDbxException("Server error (internal): try again"))
+                .thenReturn(new Page<>(List.of(new EventRecord("person", "p2", "created", 1, null, null, null, null, null)), null));
+        Path output = directory.resolve("person.ndjson.gz");
+        ExportOptions options = ExportOptions.builder().checkpointFile(directory.resolve("checkpoint.json")).build();
+        EventDbxClient client = new EventDbxClient(EventDbxConfig.builder().token("token").build(), controlClient);
+
+        assertThrows(EventDbxException.class, () -> client.exportEvents("person", output, options));
+        assertThrows(EventDbxException.class, () -> client.exportEvents("person", directory.resolve("other.ndjson.gz"), options));
+        ExportResult resumed = client.exportEvents("person", output, options);
+
+        assertTrue(resumed.resumed());
+        assertEquals(2, resumed.events());
+        assertEquals(List.of("p1", "p2"), exportedIds(output));
+
+        ExportResult again = client.exportEvents("person", output, options);
+        assertFalse(again.resumed());
+        assertEquals(List.of("p1", "p2"), exportedIds(output));
+    }
+
+    private static List<String> exportedIds(Path output) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(output))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .map(line -> line.replaceAll(".*\"aggregateId\":\"([^\"]*)\".*", "$1"))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.eventdbx.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkImporterTest {
+
+    @Mock
+    ControlClient controlClient;
+
+    @Test
+    void importsGzippedFileInOrderAndRecordsRejects(@TempDir Path directory) throws IOException {
+        List<String> written = answerBatches();
+        Path file = directory.resolve("events.ndjson.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(("{\"op\":\"create\",\"aggregateType\":\"person\",\"aggregateId\":\"p1\",\"eventType\":\"created\"}\n"
+                    + "{\"aggregateType\":\"person\",\"aggregateId\":\"p1\",\"eventType\":\"renamed\"}\n"
+                    + "\n"
+                    + "{not json\n"
+                    + "{\"aggregateType\":\"person\",\"aggregateId\":\"p1\",\"eventType\":\"moved\"}\n").getBytes(StandardCharsets.UTF_8));
+        }
+        Path rejected = directory.resolve("rejected.ndjson");
+        EventDbxClient client = new EventDbxClient(EventDbxConfig.builder().token("token").build(), controlClient);
+
+        BulkImportResult result = client.importEvents(file, BulkImportOptions.builder().rejectedFile(rejected).build());
+
+        assertEquals(List.of("created", "renamed", "moved"), written);
+        assertEquals(5, result.lines());
+        assertEquals(3, result.imported());
+        assertEquals(1, result.rejected());
+        assertTrue(Files.readString(rejected).contains("\"line\":4"));
+    }
+
+    @Test
+    void resumesFromCheckpoint(@TempDir Path directory) throws IOException {
+        List<String> written = answerBatches();
+        Path file = directory.resolve("events.ndjson");
+        Files.writeString(file, "{\"aggregateType\":\"person\",\"aggregateId\":\"p1\",\"eventType\":\"renamed\"}\n"
+                + "{\"aggregateType\":\"person\",\"aggregateId\":\"p1\",\"eventType\":\"moved\"}\n");
+        Path checkpoint = directory.resolve("checkpoint.json");
+        Files.writeString(checkpoint, "{\"importId\":\"i1\",\"file\":\"events.ndjson\",\"size\":" + Files.size(file)
+                + ",\"modified\":" + Files.getLastModifiedTime(file).toMillis()
+                + ",\"line\":1,\"offset\":" + (Files.readAllLines(file).get(0).length() + 1) + "}");
+        EventDbxClient client = new EventDbxClient(EventDbxConfig.builder().token("token").build(), controlClient);
+
+        BulkImportResult result = client.importEvents(file, BulkImportOptions.builder().checkpointFile(checkpoint).build());
+
+        assertEquals(List.of("moved"), written);
+        assertEquals(1, result.resumedAtLine());
+        assertTrue(Files.readString(checkpoint).contains("\"line\":2"));
+    }
+
+    @Test
+    void refusesCheckpointOfAnotherFileWithTheSameName(@TempDir Path directory) throws IOException {
+        List<String> keys = new ArrayList<>();
+        when(controlClient.batch(anyList())).thenAnswer(invocation -> {
+            List<BatchOperation> operations = invocation.getArgument(0);
+            List<BatchResult> results = new ArrayList<>();
+            for (BatchOperation operation : operations) {
+                keys.add(operation.appendOptions().idempotencyKey().orElseThrow());
+                results.add(BatchResult.success(operation, null));
+            }
+            return results;
+        });
+        Path file = directory.resolve("events.ndjson");
+        Path checkpoint = directory.resolve("checkpoint.json");
+        EventDbxClient client = new EventDbxClient(EventDbxConfig.builder().token("token").build(), controlClient);
+        BulkImportOptions options = BulkImportOptions.builder().checkpointFile(checkpoint).build();
+        Files.writeString(file, "{\"aggregateType\":\"person\",\"aggregateId\":\"p1\",\"eventType\":\"renamed\"}\n");
+        client.importEvents(file, options);
+
+        Files.writeString(file, "{\"aggregateType\":\"person\",\"aggregateId\":\"p2\",\"eventType\":\"renamed\"}\n"
+                + "{\"aggregateType\":\"person\",\"aggregateId\":\"p2\",\"eventType\":\"moved\"}\n");
+        assertThrows(EventDbxException.class, () -> client.importEvents(file, options));
+
+        Files.delete(checkpoint);
+        client.importEvents(file, options);
+        assertEquals(3, keys.size());
+        assertNotEquals(keys.get(0), keys.get(1));
+    }
+
+    private List<String> answerBatches() {
+        List<String> written = new ArrayList<>();
+        when(controlClient.batch(anyList())).thenAnswer(invocation -> {
+            List<BatchOperation> operations = invocation.getArgument(0);
+            List<BatchResult> results = new ArrayList<>();
+            for (BatchOperation operation : operations) {
+                written.add(operation.eventType());
+                results.add(BatchResult.success(operation, operation.kind() == BatchOperation.Kind.CREATE ? null
+                        : new EventRecord(operation.aggregateType(), operation.aggregateId(), operation.eventType(), 1, null, null, null, null, null)));
+            }
+            return results;
+        });
+        return written;
+    }
+}
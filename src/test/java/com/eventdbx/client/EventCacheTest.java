@@ -0,0 +1,79 @@
+package com.eventdbx.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class EventCacheTest {
+
+    @Test
+    void offHeapTierDropsOldestWhenFull() {
+        OffHeapEventTier tier = new OffHeapEventTier(100);
+        for (int i = 0; i < 10; i++) {
+            tier.put("k" + i, bytes(30), 0, 30);
+        }
+
+        assertEquals(3, tier.size());
+        assertNull(tier.get("k6"));
+        assertArrayEquals(bytes(30), tier.get("k9"));
+    }
+
+    @Test
+    void diskTierSurvivesReopen(@TempDir Path directory) throws Exception {
+        byte[] json = "{\"version\":1}".getBytes(StandardCharsets.UTF_8);
+        try (MappedEventSegments segments = new MappedEventSegments(directory, 1024 * 1024)) {
+            segments.put("person\u0000p1\u00001", json, 0, json.length);
+        }
+
+        try (MappedEventSegments segments = new MappedEventSegments(directory, 1024 * 1024)) {
+            assertArrayEquals(json, segments.get("person\u0000p1\u00001"));
+            assertEquals(1, segments.size());
+        }
+    }
+
+    @Test
+    void diskTierIsScopedToServerAndTenantAndReleasedOnClose(@TempDir Path directory) {
+        EventDbxConfig.Builder builder = EventDbxConfig.builder()
+                .eventCacheMemoryBytes(0)
+                .eventCacheDirectory(directory)
+                .eventCacheDiskBytes(1024 * 1024);
+        byte[] json = "{\"version\":1}".getBytes(StandardCharsets.UTF_8);
+        try (EventCache acme = EventCache.open(builder.tenantId("acme").build());
+             EventCache other = EventCache.open(builder.tenantId("other").build())) {
+            acme.put("person", "p1", 1, json, 0, json.length);
+
+            assertNull(other.get("person", "p1", 1));
+        }
+
+        try (EventCache acme = EventCache.open(builder.tenantId("acme").build())) {
+            assertArrayEquals(json, acme.get("person", "p1", 1));
+        }
+    }
+
+    @Test
+    void runStopsAtFirstGap() {
+        EventCache cache = new EventCache(new OffHeapEventTier(1024), null);
+        byte[] json = "{}".getBytes(StandardCharsets.UTF_8);
+        for (long version : new long[] {1, 2, 3, 5}) {
+            cache.put("person", "p1", version, json, 0, json.length);
+        }
+
+        assertEquals(3, cache.run("person", "p1", 1, Long.MAX_VALUE, Integer.MAX_VALUE).size());
+        assertEquals(2, cache.run("person", "p1", 1, 2, Integer.MAX_VALUE).size());
+        assertEquals(List.of(), cache.run("person", "p1", 4, Long.MAX_VALUE, Integer.MAX_VALUE));
+    }
+
+    private static byte[] bytes(int length) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) 'x');
+        return bytes;
+    }
+}
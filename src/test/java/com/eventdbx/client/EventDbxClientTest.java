@@ -2,17 +2,38 @@ package com.eventdbx.client;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -86,7 +107,7 @@ class EventDbxClientTest {
     @Test
     void applyDelegates() {
         EventRecord record = new EventRecord("person", "p1", "evt", 1, null, mapper.createObjectNode(), null, "", "");
-        AppendOptions options = AppendOptions.builder().note("n").build();
+        AppendOptions options = AppendOptions.builder().note("n").idempotencyKey("k1").build();
         when(controlClient.apply("person", "p1", "evt", options)).thenReturn(record);
 
         EventDbxClient client = new EventDbxClient(config, controlClient);
@@ -99,7 +120,7 @@ class EventDbxClientTest {
     @Test
     void createDelegates() {
         AggregateSnapshot snapshot = new AggregateSnapshot("person", "p1", 1, mapper.createObjectNode(), "root", false);
-        CreateAggregateOptions options = CreateAggregateOptions.builder().note("n").build();
+        CreateAggregateOptions options = CreateAggregateOptions.builder().note("n").idempotencyKey("k1").build();
         when(controlClient.create("person", "p1", "evt", options)).thenReturn(snapshot);
 
         EventDbxClient client = new EventDbxClient(config, controlClient);
@@ -149,6 +170,339 @@ class EventDbxClientTest {
         verify(controlClient).restore("person", "p1", options);
     }
 
+    @Test
+    void streamEventsFollowsCursors() {
+        EventRecord first = new EventRecord("person", "p1", "evt", 1, null, mapper.createObjectNode(), null, "", "");
+        EventRecord second = new EventRecord("person", "p1", "evt", 2, null, mapper.createObjectNode(), null, "", "");
+        when(controlClient.events(eq("person"), eq("p1"), any())).thenAnswer(invocation -> {
+            PageOptions options = invocation.getArgument(2);
+            return options.cursor().isEmpty()
+                    ? new Page<>(List.of(first), "c1")
+                    : new Page<>(List.of(second), null);
+        });
+
+        EventDbxClient client = new EventDbxClient(config, controlClient);
+        try (Stream<EventRecord> stream = client.streamEvents("person", "p1", PageOptions.builder().take(1).build())) {
+            assertEquals(List.of(first, second), stream.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void revalidateKeepsCachedSnapshotWhenNotModified() {
+        AggregateSnapshot cached = new AggregateSnapshot("person", "p1", 3, mapper.createObjectNode(), "root", false);
+        when(controlClient.getIfModified("person", "p1", 3L, "root")).thenReturn(ConditionalResult.notModified());
+
+        EventDbxClient client = new EventDbxClient(config, controlClient);
+
+        assertSame(cached, client.revalidate(cached));
+    }
+
+    @Test
+    void conditionalGetFallsBackToLocalComparison() {
+        AggregateSnapshot current = new AggregateSnapshot("person", "p1", 3, mapper.createObjectNode(), "root", false);
+
+        assertTrue(ConditionalResult.compare(current, 3L, null).isNotModified());
+        assertTrue(ConditionalResult.compare(current, 3L, "root").isNotModified());
+        assertSame(current, ConditionalResult.compare(current, 2L, null).value());
+        assertSame(current, ConditionalResult.compare(current, null, null).value());
+        assertNull(ConditionalResult.compare(null, 3L, null).value());
+    }
+
+    @Test
+    void snapshotCacheRevalidatesInsteadOfRefetching() {
+        EventDbxConfig cached = EventDbxConfig.builder()
+                .token("token")
+                .snapshotCacheMaxBytes(1 << 20)
+                .snapshotCacheRevalidateAfter(Duration.ZERO)
+                .build();
+        AggregateSnapshot snapshot = new AggregateSnapshot("person", "p1", 3, mapper.createObjectNode(), "root", false);
+        when(controlClient.get("person", "p1")).thenReturn(snapshot);
+        when(controlClient.getIfModified("person", "p1", 3L, "root")).thenReturn(ConditionalResult.notModified());
+
+        EventDbxClient client = new EventDbxClient(cached, controlClient);
+
+        assertSame(snapshot, client.get("person", "p1"));
+        assertSame(snapshot, client.get("person", "p1"));
+        verify(controlClient, times(1)).get("person", "p1");
+        CacheStats stats = client.snapshotCacheStats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertEquals(1, stats.revalidationCount());
+        assertEquals(1, stats.entryCount());
+    }
+
+    @Test
+    void snapshotCacheFollowsWritesAndAppends() {
+        EventDbxConfig cached = EventDbxConfig.builder()
+                .token("token")
+                .snapshotCacheMaxBytes(1 << 20)
+                .snapshotCacheRevalidateAfter(Duration.ofMinutes(1))
+                .build();
+        AggregateSnapshot created = new AggregateSnapshot("person", "p1", 1, mapper.createObjectNode(), "r1", false);
+        AggregateSnapshot current = new AggregateSnapshot("person", "p1", 2, mapper.createObjectNode(), "r2", false);
+        EventRecord event = new EventRecord("person", "p1", "evt", 2, null, mapper.createObjectNode(), null, "", "");
+        when(controlClient.create(eq("person"), eq("p1"), eq("created"), any())).thenReturn(created);
+        when(controlClient.apply(eq("person"), eq("p1"), eq("evt"), any())).thenReturn(event);
+        when(controlClient.get("person", "p1")).thenReturn(current);
+
+        EventDbxClient client = new EventDbxClient(cached, controlClient);
+        client.create("person", "p1", "created", null);
+        assertSame(created, client.get("person", "p1"));
+        verify(controlClient, never()).get("person", "p1");
+
+        client.apply("person", "p1", "evt", null);
+        assertSame(current, client.get("person", "p1"));
+        assertSame(current, client.get("person", "p1"));
+        verify(controlClient, times(1)).get("person", "p1");
+    }
+
+    @Test
+    void snapshotCacheKeepsNewerVersionStoredDuringASlowFetch() {
+        EventDbxConfig cached = EventDbxConfig.builder()
+                .token("token")
+                .snapshotCacheMaxBytes(1 << 20)
+                .snapshotCacheRevalidateAfter(Duration.ofMinutes(1))
+                .build();
+        AggregateSnapshot stale = new AggregateSnapshot("person", "p1", 1, mapper.createObjectNode(), "r1", false);
+        AggregateSnapshot newer = new AggregateSnapshot("person", "p1", 2, mapper.createObjectNode(), "r2", false);
+        EventDbxClient client = new EventDbxClient(cached, controlClient);
+        when(controlClient.create(eq("person"), eq("p1"), eq("created"), any())).thenReturn(newer);
+        when(controlClient.get("person", "p1")).thenAnswer(invocation -> {
+            client.create("person", "p1", "created", null);
+            return stale;
+        });
+
+        assertSame(stale, client.get("person", "p1"));
+        assertSame(newer, client.get("person", "p1"));
+        verify(controlClient, times(1)).get("person", "p1");
+    }
+
+    @Test
+    void snapshotCacheDisabledByDefault() {
+        EventDbxClient client = new EventDbxClient(config, controlClient);
+        assertNull(client.snapshotCacheStats());
+    }
+
+    @Test
+    void getAllBatchesIdsAndKeepsRequestOrder() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            ids.add("p" + i);
+        }
+        when(controlClient.getAll(eq("person"), any())).thenAnswer(invocation -> {
+            Collection<String> batch = invocation.getArgument(1);
+            Map<String, AggregateSnapshot> found = new LinkedHashMap<>();
+            for (String id : batch) {
+                found.put(id, new AggregateSnapshot("person", id, 1, mapper.createObjectNode(), "", false));
+            }
+            return found;
+        });
+
+        EventDbxClient client = new EventDbxClient(config, controlClient);
+        Map<String, AggregateSnapshot> found = client.getAll("person", ids);
+
+        assertEquals(ids, List.copyOf(found.keySet()));
+        verify(controlClient).getAll("person", ids.subList(0, 100));
+        verify(controlClient).getAll("person", ids.subList(100, 150));
+    }
+
+    @Test
+    void selectAllFansOutAcrossConnections() {
+        EventDbxConfig pooled = EventDbxConfig.builder().token("token").connectionPoolSize(4).build();
+        JsonNode selection = mapper.createObjectNode().put("status", "active");
+        when(controlClient.select(eq("person"), any(), eq(List.of("status"))))
+                .thenAnswer(invocation -> "missing".equals(invocation.getArgument(1)) ? null : selection);
+
+        EventDbxClient client = new EventDbxClient(pooled, controlClient);
+        Map<String, JsonNode> found = client.selectAll("person", List.of("p1", "missing", "p2", "p3", "p4", "p5"), List.of("status"));
+
+        assertEquals(List.of("p1", "p2", "p3", "p4", "p5"), List.copyOf(found.keySet()));
+        assertSame(selection, found.get("p3"));
+    }
+
+    @Test
+    void applyRetriesConnectionFailuresWithTheSameIdempotencyKey() {
+        EventDbxConfig retrying = EventDbxConfig.builder()
+                .token("token")
+                .retryPolicy(RetryPolicy.builder().maxAttempts(3).initialDelay(Duration.ZERO).build())
+                .build();
+        EventRecord record = new EventRecord("person", "p1", "evt", 1, null, mapper.createObjectNode(), null, "", "");
+        ArgumentCaptor<AppendOptions> sent = ArgumentCaptor.forClass(AppendOptions.class);
+        when(controlClient.apply(eq("person"), eq("p1"), eq("evt"), sent.capture()))
+                .thenThrow(new EventDbxConnectionException("reset"))
+                .thenReturn(record);
+
+        EventDbxClient client = new EventDbxClient(retrying, controlClient);
+
+        assertSame(record, client.apply("person", "p1", "evt", null));
+        List<AppendOptions> attempts = sent.getAllValues();
+        assertEquals(2, attempts.size());
+        assertTrue(attempts.get(0).idempotencyKey().isPresent());
+        assertEquals(attempts.get(0).idempotencyKey(), attempts.get(1).idempotencyKey());
+    }
+
+    @Test
+    void perItemBatchStopsAtTheFirstConnectionFailure() {
+        EventRecord record = new EventRecord("person", "p1", "renamed", 1, null, mapper.createObjectNode(), null, "", "");
+        when(controlClient.batch(any())).thenCallRealMethod();
+        when(controlClient.apply(eq("person"), eq("p1"), eq("renamed"), any())).thenReturn(record);
+        when(controlClient.apply(eq("person"), eq("p1"), eq("moved"), any())).thenThrow(new EventDbxConnectionException("reset"));
+
+        EventDbxClient client = new EventDbxClient(config, controlClient);
+        List<BatchResult> results = client.batch()
+                .append("person", "p1", "renamed", null)
+                .append("person", "p1", "moved", null)
+                .append("person", "p2", "renamed", null)
+                .execute();
+
+        assertTrue(results.get(0).isSuccess());
+        assertTrue(results.get(1).error() instanceof EventDbxConnectionException);
+        assertSame(results.get(1).error(), results.get(2).error());
+        verify(controlClient, never()).apply(eq("person"), eq("p2"), any(), any());
+    }
+
+    @Test
+    void applySpoolsWritesWhileServerIsUnreachable(@TempDir Path directory) {
+        EventDbxConfig spooling = EventDbxConfig.builder()
+                .token("token")
+                .spoolDirectory(directory)
+                .retryPolicy(RetryPolicy.builder().initialDelay(Duration.ofMinutes(1)).maxDelay(Duration.ofMinutes(1)).build())
+                .build();
+        when(controlClient.apply(eq("person"), eq("p1"), eq("renamed"), any())).thenThrow(new EventDbxConnectionException("down"));
+
+        try (EventDbxClient client = new EventDbxClient(spooling, controlClient)) {
+            assertNull(client.apply("person", "p1", "renamed", null));
+            assertNull(client.apply("person", "p1", "moved", null));
+
+            assertEquals(2, client.spooledWrites());
+            verify(controlClient, never()).apply(eq("person"), eq("p1"), eq("moved"), any());
+        }
+    }
+
+    @Test
+    void writesSpooledBeforeARestartReplayWithoutConnect(@TempDir Path directory) throws Exception {
+        try (WriteSpool spool = new WriteSpool(directory, 1024 * 1024)) {
+            spool.append(BatchOperation.append("person", "p1", "renamed", null));
+        }
+        when(controlClient.batch(any())).thenAnswer(invocation -> {
+            List<BatchOperation> operations = invocation.getArgument(0);
+            return operations.stream().map(operation -> BatchResult.success(operation, null)).toList();
+        });
+
+        try (EventDbxClient client = new EventDbxClient(EventDbxConfig.builder().token("token").spoolDirectory(directory).build(), controlClient)) {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (client.spooledWrites() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(0, client.spooledWrites());
+            verify(controlClient, never()).connect();
+        }
+    }
+
+    @Test
+    void writesWithTheirOwnTokenAreNeverSpooled(@TempDir Path directory) {
+        EventDbxConfig spooling = EventDbxConfig.builder()
+                .token("token")
+                .spoolDirectory(directory)
+                .retryPolicy(RetryPolicy.builder().maxAttempts(1).initialDelay(Duration.ofMinutes(1)).maxDelay(Duration.ofMinutes(1)).build())
+                .build();
+        when(controlClient.apply(eq("person"), eq("p1"), any(), any())).thenThrow(new EventDbxConnectionException("down"));
+
+        try (EventDbxClient client = new EventDbxClient(spooling, controlClient)) {
+            AppendOptions scoped = AppendOptions.builder().token("per-call").build();
+            assertThrows(EventDbxConnectionException.class, () -> client.apply("person", "p1", "renamed", scoped));
+            assertEquals(0, client.spooledWrites());
+
+            assertNull(client.apply("person", "p1", "renamed", null));
+            assertThrows(EventDbxException.class, () -> client.apply("person", "p1", "moved", scoped));
+            assertEquals(1, client.spooledWrites());
+        }
+    }
+
+    @Test
+    void patchesWithoutAnExpectedVersionAreNeverSpooled(@TempDir Path directory) {
+        EventDbxConfig spooling = EventDbxConfig.builder()
+                .token("token")
+                .spoolDirectory(directory)
+                .retryPolicy(RetryPolicy.builder().initialDelay(Duration.ofMinutes(1)).maxDelay(Duration.ofMinutes(1)).build())
+                .build();
+        when(controlClient.patch(eq("person"), eq("p1"), any(), any(), any()))
+                .thenThrow(new EventDbxConnectionException("Failed to read control frame"));
+        List<JsonPatchOperation> operations = List.of(new JsonPatchOperation("add", "/tags/-", null, mapper.valueToTree("vip")));
+
+        try (EventDbxClient client = new EventDbxClient(spooling, controlClient)) {
+            assertThrows(EventDbxConnectionException.class,
+                    () -> client.patch("person", "p1", "tagged", operations, null));
+            assertEquals(0, client.spooledWrites());
+
+            assertNull(client.patch("person", "p1", "tagged", operations, PatchOptions.builder().expectedVersion(3L).build()));
+            assertEquals(1, client.spooledWrites());
+            assertThrows(EventDbxException.class, () -> client.patch("person", "p1", "tagged", operations, null));
+            assertEquals(1, client.spooledWrites());
+        }
+    }
+
+    @Test
+    void getAfterAWriteDoesNotJoinAReadStartedBeforeIt() throws Exception {
+        AggregateSnapshot before = new AggregateSnapshot("person", "p1", 1, mapper.createObjectNode(), "root", false);
+        AggregateSnapshot after = new AggregateSnapshot("person", "p1", 2, mapper.createObjectNode(), "root", false);
+        EventRecord event = new EventRecord("person", "p1", "renamed", 2, null, mapper.createObjectNode(), null, "", "");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(controlClient.get("person", "p1")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return before;
+        }).thenReturn(after);
+        when(controlClient.apply(eq("person"), eq("p1"), eq("renamed"), any())).thenReturn(event);
+        EventDbxClient client = new EventDbxClient(config, controlClient);
+
+        CompletableFuture<AggregateSnapshot> stale = CompletableFuture.supplyAsync(() -> client.get("person", "p1"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        client.apply("person", "p1", "renamed", null);
+        CompletableFuture<AggregateSnapshot> fresh = CompletableFuture.supplyAsync(() -> client.get("person", "p1"));
+
+        assertSame(after, fresh.get(5, TimeUnit.SECONDS));
+        release.countDown();
+        assertSame(before, stale.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void publishEventsDeliversOnTheClientsOwnThreads() throws InterruptedException {
+        EventRecord record = new EventRecord("person", "p1", "evt", 1, null, mapper.createObjectNode(), null, "", "");
+        when(controlClient.events(eq("person"), eq("p1"), any())).thenReturn(new Page<>(List.of(record), null));
+        EventDbxClient client = new EventDbxClient(config, controlClient);
+        List<String> threads = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+
+        client.publishEvents("person", "p1", null).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(EventRecord item) {
+                threads.add(Thread.currentThread().getName());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                done.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                done.countDown();
+            }
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, threads.size());
+        assertTrue(threads.get(0).startsWith("eventdbx-publish-"));
+    }
+
     @Test
     void closeDisconnects() {
         EventDbxClient client = new EventDbxClient(config, controlClient);
@@ -40,6 +40,12 @@ class EventDbxConfigTest {
         assertThrows(IllegalArgumentException.class, () -> EventDbxConfig.builder().port(70000));
     }
 
+    @Test
+    void rejectsSpoolSmallerThanOneSegment() {
+        assertThrows(IllegalArgumentException.class, () -> EventDbxConfig.builder().spoolMaxBytes(64 * 1024 - 1));
+        assertEquals(64 * 1024, EventDbxConfig.builder().spoolMaxBytes(64 * 1024).build().spoolMaxBytes());
+    }
+
     @Test
     void buildsCustomValues() {
         EventDbxConfig config = EventDbxConfig.builder()
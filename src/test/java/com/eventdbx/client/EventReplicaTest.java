@@ -0,0 +1,65 @@
+package com.eventdbx.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventReplicaTest {
+
+    @Mock
+    EventDbxClient client;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void catchesUpIncrementallyAcrossRestarts(@TempDir Path directory) {
+        when(client.list(eq("person"), any()))
+                .thenReturn(new Page<>(List.of(snapshot(2)), null))
+                .thenReturn(new Page<>(List.of(snapshot(3)), null));
+        when(client.events(eq("person"), eq("p1"), argThat(options -> options.fromVersion().orElse(0L) == 1L)))
+                .thenReturn(new Page<>(List.of(event(1), event(2)), null));
+        when(client.events(eq("person"), eq("p1"), argThat(options -> options.fromVersion().orElse(0L) == 3L)))
+                .thenReturn(new Page<>(List.of(event(3)), null));
+
+        try (EventReplica replica = EventReplica.open(client, directory, List.of("person"))) {
+            assertEquals(2, replica.catchUp());
+        }
+
+        try (EventReplica replica = EventReplica.open(client, directory, List.of("person"))) {
+            assertEquals(2, replica.version("person", "p1"));
+            assertEquals(Set.of("p1"), replica.aggregateIds("person"));
+
+            assertEquals(1, replica.catchUp());
+
+            List<EventRecord> events = replica.events("person", "p1");
+            assertEquals(List.of(1L, 2L, 3L), events.stream().map(EventRecord::version).toList());
+            assertEquals("alice", events.get(2).metadata().issuedBy().user());
+            assertEquals(3L, replica.events("person", "p1", 3).get(0).version());
+        }
+    }
+
+    private AggregateSnapshot snapshot(long version) {
+        return new AggregateSnapshot("person", "p1", version, mapper.createObjectNode(), "root", false);
+    }
+
+    private EventRecord event(long version) {
+        EventMetadata metadata = new EventMetadata("e" + version, Instant.parse("2024-01-01T00:00:00Z"), new ActorClaims("staff", "alice"), null);
+        return new EventRecord("person", "p1", "updated", version, null, mapper.createObjectNode().put("n", version), metadata, "h" + version, "r" + version);
+    }
+}
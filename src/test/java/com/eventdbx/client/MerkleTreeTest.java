@@ -0,0 +1,56 @@
+package com.eventdbx.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class MerkleTreeTest {
+
+    @Test
+    void carriesUnpairedNodesUp() throws NoSuchAlgorithmException {
+        List<byte[]> leaves = leaves(3);
+        MerkleTree tree = new MerkleTree();
+        tree.append(leaves, ForkJoinPool.commonPool());
+
+        assertArrayEquals(sha(sha(leaves.get(0), leaves.get(1)), leaves.get(2)), tree.root(3));
+        assertArrayEquals(sha(leaves.get(0), leaves.get(1)), tree.root(2));
+        assertArrayEquals(leaves.get(0), tree.root(1));
+    }
+
+    @Test
+    void appendingMatchesBuildingAtOnce() throws NoSuchAlgorithmException {
+        List<byte[]> leaves = leaves(2_500);
+        MerkleTree whole = new MerkleTree();
+        whole.append(leaves, ForkJoinPool.commonPool());
+        MerkleTree grown = new MerkleTree();
+        grown.append(leaves.subList(0, 7), ForkJoinPool.commonPool());
+        grown.append(leaves.subList(7, 1_200), ForkJoinPool.commonPool());
+        grown.append(leaves.subList(1_200, 2_500), ForkJoinPool.commonPool());
+
+        assertArrayEquals(whole.root(2_500), grown.root(2_500));
+        assertArrayEquals(whole.root(1_201), grown.root(1_201));
+    }
+
+    private static List<byte[]> leaves(int count) throws NoSuchAlgorithmException {
+        List<byte[]> leaves = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            leaves.add(sha(("event-" + i).getBytes(StandardCharsets.UTF_8)));
+        }
+        return leaves;
+    }
+
+    private static byte[] sha(byte[]... parts) throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        for (byte[] part : parts) {
+            digest.update(part);
+        }
+        return digest.digest();
+    }
+}
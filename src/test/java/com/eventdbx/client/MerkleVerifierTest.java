@@ -0,0 +1,114 @@
+package com.eventdbx.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MerkleVerifierTest {
+    private static final HexFormat HEX = HexFormat.of();
+
+    @Mock
+    ControlClient controlClient;
+
+    @Test
+    void verifyLocallyChecksEveryEventAgainstTheChain() throws NoSuchAlgorithmException {
+        List<EventRecord> events = events(3);
+        String root = events.get(2).merkleRoot();
+        when(controlClient.get("person", "p1")).thenReturn(new AggregateSnapshot("person", "p1", 3, null, root, false));
+        when(controlClient.events(eq("person"), eq("p1"), any())).thenReturn(new Page<>(events, null));
+        EventDbxClient client = new EventDbxClient(EventDbxConfig.builder().token("token").build(), controlClient);
+
+        VerificationResult result = client.verifyLocally("person", "p1");
+
+        assertTrue(result.valid());
+        assertEquals(root, result.merkleRoot());
+        assertEquals(Optional.empty(), result.firstInvalidVersion());
+    }
+
+    @Test
+    void verifyLocallyFetchesOnlyEventsAppendedSinceTheLastVerification() throws NoSuchAlgorithmException {
+        List<EventRecord> events = events(5);
+        List<Long> fetchedFrom = new ArrayList<>();
+        when(controlClient.get("person", "p1")).thenReturn(
+                new AggregateSnapshot("person", "p1", 3, null, events.get(2).merkleRoot(), false),
+                new AggregateSnapshot("person", "p1", 5, null, events.get(4).merkleRoot(), false));
+        when(controlClient.events(eq("person"), eq("p1"), any())).thenAnswer(invocation -> {
+            PageOptions options = invocation.getArgument(2);
+            long from = options.fromVersion().orElseThrow();
+            fetchedFrom.add(from);
+            return new Page<>(events.subList((int) from - 1, options.toVersion().orElseThrow().intValue()), null);
+        });
+        EventDbxClient client = new EventDbxClient(EventDbxConfig.builder().token("token").build(), controlClient);
+
+        assertTrue(client.verifyLocally("person", "p1").valid());
+        VerificationResult result = client.verifyLocally("person", "p1");
+
+        assertTrue(result.valid());
+        assertEquals(5, result.version());
+        assertEquals(List.of(1L, 4L), fetchedFrom);
+    }
+
+    @Test
+    void verifyLocallyReportsTheFirstTamperedEvent() throws NoSuchAlgorithmException {
+        List<EventRecord> events = new ArrayList<>(events(3));
+        EventRecord second = events.get(1);
+        events.set(1, new EventRecord("person", "p1", "updated", 2, null, null, null,
+                HEX.formatHex(sha("forged".getBytes(StandardCharsets.UTF_8))), second.merkleRoot()));
+        when(controlClient.get("person", "p1")).thenReturn(new AggregateSnapshot("person", "p1", 3, null, events.get(2).merkleRoot(), false));
+        when(controlClient.events(eq("person"), eq("p1"), any())).thenReturn(new Page<>(events, null));
+        EventDbxClient client = new EventDbxClient(EventDbxConfig.builder().token("token").build(), controlClient);
+
+        VerificationResult result = client.verifyLocally("person", "p1");
+
+        assertFalse(result.valid());
+        assertEquals(Optional.of(2L), result.firstInvalidVersion());
+    }
+
+    private static List<EventRecord> events(int count) throws NoSuchAlgorithmException {
+        List<EventRecord> events = new ArrayList<>();
+        List<byte[]> leaves = new ArrayList<>();
+        for (int version = 1; version <= count; version++) {
+            byte[] leaf = sha(("event-" + version).getBytes(StandardCharsets.UTF_8));
+            leaves.add(leaf);
+            events.add(new EventRecord("person", "p1", "updated", version, null, null, null,
+                    HEX.formatHex(leaf), HEX.formatHex(root(leaves))));
+        }
+        return events;
+    }
+
+    private static byte[] root(List<byte[]> nodes) throws NoSuchAlgorithmException {
+        while (nodes.size() > 1) {
+            List<byte[]> parents = new ArrayList<>();
+            for (int i = 0; i < nodes.size(); i += 2) {
+                parents.add(i + 1 < nodes.size() ? sha(nodes.get(i), nodes.get(i + 1)) : nodes.get(i));
+            }
+            nodes = parents;
+        }
+        return nodes.get(0);
+    }
+
+    private static byte[] sha(byte[]... parts) throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        for (byte[] part : parts) {
+            digest.update(part);
+        }
+        return digest.digest();
+    }
+}
@@ -0,0 +1,67 @@
+package com.eventdbx.client;
+
+import org.junit.jupiter.api.Test;
+
+import com.eventdbx.client.proto.ControlSchemas;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessageArenaTest {
+
+    @Test
+    void encodeMatchesStandardSerialization() throws IOException {
+        MessageArena arena = new MessageArena(16 * 1024 * 1024);
+        org.capnproto.MessageBuilder message = arena.newMessage();
+        ControlSchemas.ControlRequest.Builder request = message.initRoot(ControlSchemas.ControlRequest.factory);
+        request.setId(7);
+        ControlSchemas.AppendEventRequest.Builder body = request.getPayload().initAppendEvent();
+        body.setAggregateType("person");
+        body.setAggregateId("p-1");
+        body.setEventType("person_updated");
+        body.setPayloadJson("{\"name\":\"Jane\"}");
+
+        ByteBuffer encoded = arena.encode(message);
+        byte[] actual = new byte[encoded.remaining()];
+        encoded.get(actual);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        WritableByteChannel channel = Channels.newChannel(baos);
+        org.capnproto.Serialize.write(channel, message);
+        channel.close();
+
+        assertArrayEquals(baos.toByteArray(), actual);
+    }
+
+    @Test
+    void firstSegmentGrowsToFitLargeRequests() {
+        MessageArena arena = new MessageArena(16 * 1024 * 1024);
+        org.capnproto.MessageBuilder message = arena.newMessage();
+        ControlSchemas.ControlRequest.Builder request = message.initRoot(ControlSchemas.ControlRequest.factory);
+        request.getPayload().initAppendEvent().setPayloadJson("x".repeat(64 * 1024));
+        arena.encode(message);
+
+        assertTrue(arena.firstSegmentWords() >= (64 * 1024) / 8);
+    }
+
+    @Test
+    void firstSegmentDecaysTowardsSmallRequests() {
+        MessageArena arena = new MessageArena(16 * 1024 * 1024);
+        int initial = arena.firstSegmentWords();
+        for (int i = 0; i < 200; i++) {
+            org.capnproto.MessageBuilder message = arena.newMessage();
+            message.initRoot(ControlSchemas.ControlRequest.factory).setId(i);
+            arena.encode(message);
+        }
+
+        assertEquals(MessageArena.DEFAULT_FIRST_SEGMENT_WORDS, initial);
+        assertEquals(MessageArena.MIN_FIRST_SEGMENT_WORDS, arena.firstSegmentWords());
+    }
+}
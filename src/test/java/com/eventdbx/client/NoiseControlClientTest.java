@@ -2,11 +2,30 @@ package com.eventdbx.client;
 
 import org.junit.jupiter.api.Test;
 
+import com.eventdbx.client.proto.ControlSchemas;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class NoiseControlClientTest {
 
@@ -28,4 +47,373 @@ class NoiseControlClientTest {
 
         assertThrows(EventDbxException.class, client::connect);
     }
+
+    @Test
+    void streamsEventPagesWithCreditFlowControl() throws Exception {
+        try (StubServer server = new StubServer(5);
+             NoiseControlClient client = new NoiseControlClient(server.config())) {
+            List<Long> versions = new ArrayList<>();
+            try (PageStream<EventRecord> pages = client.streamEventPages("person", "p1", PageOptions.builder().take(1).build(), 2)) {
+                assertThrows(EventDbxException.class, () -> client.get("person", "p1"));
+                while (pages.hasNext()) {
+                    pages.next().items().forEach(event -> versions.add(event.version()));
+                }
+            }
+
+            assertEquals(List.of(1L, 2L, 3L, 4L, 5L), versions);
+            assertEquals(2, server.initialCredit);
+            assertFalse(server.grants.isEmpty());
+            assertTrue(server.maxAhead <= 2, "server ran " + server.maxAhead + " chunks ahead");
+            assertNull(client.get("person", "p1"));
+        }
+    }
+
+    @Test
+    void closingStreamEarlyCancelsAndFreesConnection() throws Exception {
+        try (StubServer server = new StubServer(100);
+             NoiseControlClient client = new NoiseControlClient(server.config())) {
+            try (PageStream<EventRecord> pages = client.streamEventPages("person", "p1", PageOptions.builder().take(1).build(), 4)) {
+                assertEquals(1L, pages.next().items().get(0).version());
+            }
+
+            assertTrue(server.cancelled);
+            assertNull(client.get("person", "p1"));
+        }
+    }
+
+    @Test
+    void listSendsAggregateTypeAndFiltersOlderServerResponses() throws Exception {
+        try (StubServer server = new StubServer(0);
+             NoiseControlClient client = new NoiseControlClient(server.config())) {
+            Page<AggregateSnapshot> page = client.list("person", PageOptions.builder().build());
+
+            assertEquals("person", server.listedType);
+            assertEquals(1, page.items().size());
+            assertEquals("p1", page.items().get(0).aggregateId());
+        }
+    }
+
+    @Test
+    void getAllSendsIdsInOneListRequest() throws Exception {
+        try (StubServer server = new StubServer(0);
+             NoiseControlClient client = new NoiseControlClient(server.config())) {
+            Map<String, AggregateSnapshot> found = client.getAll("person", List.of("p1", "p2"));
+
+            assertEquals(List.of("p1", "p2"), server.listedIds);
+            assertEquals(List.of("p1"), List.copyOf(found.keySet()));
+
+            assertTrue(client.getAll("person", List.of("p2")).isEmpty());
+        }
+    }
+
+    @Test
+    void batchSendsItemsInOneFrameWithPerItemResults() throws Exception {
+        try (StubServer server = new StubServer(0);
+             NoiseControlClient client = new NoiseControlClient(server.config())) {
+            List<BatchResult> results = client.batch(List.of(
+                    BatchOperation.append("person", "p1", "renamed", null),
+                    BatchOperation.get("person", "p2"),
+                    BatchOperation.archive("person", "p3", null)));
+
+            assertEquals(List.of(3), server.batchSizes);
+            assertEquals(3, results.size());
+            assertEquals("renamed", results.get(0).event().eventType());
+            assertTrue(results.get(1).isSuccess());
+            assertNull(results.get(1).aggregate());
+            assertFalse(results.get(2).isSuccess());
+            assertThrows(EventDbxException.class, () -> results.get(2).aggregate());
+        }
+    }
+
+    @Test
+    void batchFallsBackOnlyWhenTheServerDoesNotSupportIt() throws Exception {
+        try (StubServer server = new StubServer(0);
+             NoiseControlClient client = new NoiseControlClient(server.config())) {
+            server.batchError = "unsupported";
+            List<BatchResult> results = client.batch(List.of(BatchOperation.append("person", "p1", "renamed", null)));
+            assertEquals("renamed", results.get(0).event().eventType());
+            assertEquals(1, server.expectedVersions.size());
+
+            server.batchError = "forbidden";
+            EventDbxException error = assertThrows(EventDbxException.class,
+                    () -> client.batch(List.of(BatchOperation.append("person", "p1", "renamed", null))));
+            assertTrue(error.getMessage().contains("forbidden"));
+            assertEquals(1, server.expectedVersions.size());
+        }
+    }
+
+    @Test
+    void applySendsExpectedVersionAndReportsConflicts() throws Exception {
+        try (StubServer server = new StubServer(0);
+             NoiseControlClient client = new NoiseControlClient(server.config())) {
+            EventRecord record = client.apply("person", "p1", "renamed", AppendOptions.builder().expectedVersion(1L).build());
+            assertEquals(2, record.version());
+
+            EventDbxConflictException conflict = assertThrows(EventDbxConflictException.class,
+                    () -> client.apply("person", "p1", "renamed", AppendOptions.builder().expectedVersion(0L).build()));
+            assertEquals("conflict", conflict.code());
+            assertEquals(List.of(1L, 0L), server.expectedVersions);
+        }
+    }
+
+    @Test
+    void eventsSendsVersionRangeAndTrimsOlderServerResponses() throws Exception {
+        try (StubServer server = new StubServer(0);
+             NoiseControlClient client = new NoiseControlClient(server.config())) {
+            PageOptions options = PageOptions.builder().fromVersion(2L).toVersion(3L).includePayload(false).build();
+
+            Page<EventRecord> page = client.events("person", "p1", options);
+
+            assertEquals(List.of(2L, 3L), server.listedRange);
+            assertTrue(server.headersOnly);
+            assertEquals(2, page.items().size());
+            assertEquals(2L, page.items().get(0).version());
+
+            EventBatch batch = client.eventBatch("person", "p1", options);
+            assertEquals(2, batch.size());
+            assertEquals(3L, batch.version(1));
+        }
+    }
+
+    @Test
+    void eventsServesCachedVersionRangesWithoutRefetching() throws Exception {
+        try (StubServer server = new StubServer(0);
+             NoiseControlClient client = new NoiseControlClient(server.configBuilder().eventCacheMemoryBytes(64 * 1024).build())) {
+            assertEquals(5, client.events("person", "p1", null).items().size());
+            server.listedRange = null;
+
+            Page<EventRecord> page = client.events("person", "p1", PageOptions.builder().fromVersion(2L).toVersion(4L).build());
+
+            assertNull(server.listedRange);
+            assertEquals(List.of(2L, 3L, 4L), page.items().stream().map(EventRecord::version).toList());
+            assertNull(page.nextCursor());
+        }
+    }
+
+    @Test
+    void eventsFallBackToTheServerWhenItIgnoresTheCachedRangesEnd() throws Exception {
+        try (StubServer server = new StubServer(0);
+             NoiseControlClient client = new NoiseControlClient(server.configBuilder().eventCacheMemoryBytes(64 * 1024).build())) {
+            Page<EventRecord> first = client.events("person", "p1", PageOptions.builder().take(3).build());
+            assertEquals(List.of(1L, 2L, 3L), first.items().stream().map(EventRecord::version).toList());
+
+            Page<EventRecord> page = client.events("person", "p1", PageOptions.builder().take(2).build());
+            assertEquals(List.of(1L, 2L), page.items().stream().map(EventRecord::version).toList());
+            assertEquals("2", page.nextCursor());
+
+            Page<EventRecord> next = client.events("person", "p1", PageOptions.builder().cursor(page.nextCursor()).build());
+            assertEquals(List.of(3L, 4L, 5L), next.items().stream().map(EventRecord::version).toList());
+        }
+    }
+
+    /**
+     * Plain-frame control server that answers {@code streamEvents} with one event per chunk while
+     * honouring credit, reports every {@code getAggregate} as not found, answers batched appends
+     * and gets (failing any other batch item, or the whole frame when {@code batchError} is set),
+     * and ignores the {@code listAggregates} type and id filters and {@code listEvents} version
+     * bounds like a server that predates them, while paging events by cursor and take.
+     */
+    private static final class StubServer implements AutoCloseable {
+        private final ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        private final int totalChunks;
+        private final Thread thread;
+        private final List<Integer> grants = new CopyOnWriteArrayList<>();
+        private volatile int initialCredit;
+        private volatile int maxAhead;
+        private volatile boolean cancelled;
+        private volatile String listedType;
+        private volatile List<String> listedIds;
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private final List<Long> expectedVersions = new CopyOnWriteArrayList<>();
+        private volatile List<Long> listedRange;
+        private volatile boolean headersOnly;
+        private volatile String batchError;
+
+        StubServer(int totalChunks) throws IOException {
+            this.totalChunks = totalChunks;
+            this.thread = new Thread(this::serve, "stub-control-server");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        EventDbxConfig config() {
+            return configBuilder().build();
+        }
+
+        EventDbxConfig.Builder configBuilder() {
+            return EventDbxConfig.builder()
+                    .host(serverSocket.getInetAddress().getHostAddress())
+                    .port(serverSocket.getLocalPort())
+                    .token("token")
+                    .noNoise(true);
+        }
+
+        private void serve() {
+            try (Socket socket = serverSocket.accept()) {
+                DataInputStream in = new DataInputStream(socket.getInputStream());
+                DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+                org.capnproto.Serialize.read(Channels.newChannel(in));
+                org.capnproto.MessageBuilder hello = new org.capnproto.MessageBuilder();
+                ControlSchemas.ControlHelloResponse.Builder helloResponse = hello.initRoot(ControlSchemas.ControlHelloResponse.factory);
+                helloResponse.setAccepted(true);
+                helloResponse.setNoNoise(true);
+                org.capnproto.Serialize.write(Channels.newChannel(out), hello);
+                out.flush();
+
+                while (true) {
+                    ControlSchemas.ControlRequest.Reader request = readRequest(in);
+                    switch (request.getPayload().which()) {
+                        case STREAM_EVENTS -> stream(in, out, request.getId(), request.getPayload().getStreamEvents().getCredit());
+                        case GET_AGGREGATE -> {
+                            org.capnproto.MessageBuilder message = new org.capnproto.MessageBuilder();
+                            ControlSchemas.ControlResponse.Builder response = message.initRoot(ControlSchemas.ControlResponse.factory);
+                            response.setId(request.getId());
+                            response.getPayload().initGetAggregate().setFound(false);
+                            writeResponse(out, message);
+                        }
+                        case APPEND_EVENT -> {
+                            ControlSchemas.AppendEventRequest.Reader append = request.getPayload().getAppendEvent();
+                            expectedVersions.add(append.getHasExpectedVersion() ? append.getExpectedVersion() : null);
+                            org.capnproto.MessageBuilder message = new org.capnproto.MessageBuilder();
+                            ControlSchemas.ControlResponse.Builder response = message.initRoot(ControlSchemas.ControlResponse.factory);
+                            response.setId(request.getId());
+                            if (append.getHasExpectedVersion() && append.getExpectedVersion() != 1) {
+                                ControlSchemas.ControlError.Builder error = response.getPayload().initError();
+                                error.setCode("conflict");
+                                error.setMessage("aggregate is at version 1");
+                            } else {
+                                response.getPayload().initAppendEvent().setEventJson(
+                                        "{\"aggregateType\":\"person\",\"aggregateId\":\"p1\",\"eventType\":\"renamed\",\"version\":2}");
+                            }
+                            writeResponse(out, message);
+                        }
+                        case LIST_AGGREGATES -> {
+                            ControlSchemas.ListAggregatesRequest.Reader list = request.getPayload().getListAggregates();
+                            listedType = list.getHasAggregateType() ? list.getAggregateType().toString() : null;
+                            listedIds = new ArrayList<>();
+                            for (int i = 0; list.getHasAggregateIds() && i < list.getAggregateIds().size(); i++) {
+                                listedIds.add(list.getAggregateIds().get(i).toString());
+                            }
+                            org.capnproto.MessageBuilder message = new org.capnproto.MessageBuilder();
+                            ControlSchemas.ControlResponse.Builder response = message.initRoot(ControlSchemas.ControlResponse.factory);
+                            response.setId(request.getId());
+                            response.getPayload().initListAggregates().setAggregatesJson(
+                                    "[{\"aggregateType\":\"person\",\"aggregateId\":\"p1\"},"
+                                            + "{\"aggregateType\":\"order\",\"aggregateId\":\"o1\"}]");
+                            writeResponse(out, message);
+                        }
+                        case LIST_EVENTS -> {
+                            ControlSchemas.ListEventsRequest.Reader list = request.getPayload().getListEvents();
+                            listedRange = List.of(list.getFromVersion(), list.getToVersion());
+                            headersOnly = list.getHeadersOnly();
+                            int after = list.getHasCursor() ? Integer.parseInt(list.getCursor().toString()) : 0;
+                            int last = list.getHasTake() ? (int) Math.min(5, after + list.getTake()) : 5;
+                            StringBuilder events = new StringBuilder("[");
+                            for (int version = after + 1; version <= last; version++) {
+                                events.append(version == after + 1 ? "" : ",").append("{\"version\":").append(version).append('}');
+                            }
+                            org.capnproto.MessageBuilder message = new org.capnproto.MessageBuilder();
+                            ControlSchemas.ControlResponse.Builder response = message.initRoot(ControlSchemas.ControlResponse.factory);
+                            response.setId(request.getId());
+                            ControlSchemas.ListEventsResponse.Builder body = response.getPayload().initListEvents();
+                            body.setEventsJson(events.append(']').toString());
+                            body.setHasNextCursor(last < 5);
+                            body.setNextCursor(String.valueOf(last));
+                            writeResponse(out, message);
+                        }
+                        case BATCH -> {
+                            org.capnproto.StructList.Reader<ControlSchemas.ControlRequest.Reader> items = request.getPayload().getBatch().getRequests();
+                            batchSizes.add(items.size());
+                            org.capnproto.MessageBuilder message = new org.capnproto.MessageBuilder();
+                            ControlSchemas.ControlResponse.Builder response = message.initRoot(ControlSchemas.ControlResponse.factory);
+                            response.setId(request.getId());
+                            if (batchError != null) {
+                                ControlSchemas.ControlError.Builder error = response.getPayload().initError();
+                                error.setCode(batchError);
+                                error.setMessage("batch rejected");
+                                writeResponse(out, message);
+                                continue;
+                            }
+                            org.capnproto.StructList.Builder<ControlSchemas.ControlResponse.Builder> results =
+                                    response.getPayload().initBatch().initResponses(items.size());
+                            for (int i = 0; i < items.size(); i++) {
+                                ControlSchemas.ControlRequest.Reader item = items.get(i);
+                                ControlSchemas.ControlResponse.Builder result = results.get(i);
+                                result.setId(item.getId());
+                                switch (item.getPayload().which()) {
+                                    case APPEND_EVENT -> {
+                                        ControlSchemas.AppendEventRequest.Reader append = item.getPayload().getAppendEvent();
+                                        result.getPayload().initAppendEvent().setEventJson(
+                                                "{\"aggregateType\":\"" + append.getAggregateType() + "\",\"aggregateId\":\"" + append.getAggregateId()
+                                                        + "\",\"eventType\":\"" + append.getEventType() + "\",\"version\":1}");
+                                    }
+                                    case GET_AGGREGATE -> result.getPayload().initGetAggregate().setFound(false);
+                                    default -> {
+                                        ControlSchemas.ControlError.Builder error = result.getPayload().initError();
+                                        error.setCode("unsupported");
+                                        error.setMessage("not supported in a batch");
+                                    }
+                                }
+                            }
+                            writeResponse(out, message);
+                        }
+                        default -> {
+                            // Late credit grants for a finished stream need no answer.
+                        }
+                    }
+                }
+            } catch (IOException ignored) {
+                // Client went away.
+            }
+        }
+
+        private void stream(DataInputStream in, DataOutputStream out, long id, int credit) throws IOException {
+            initialCredit = credit;
+            for (int sent = 0; sent < totalChunks; sent++) {
+                while (credit == 0) {
+                    ControlSchemas.StreamCredit.Reader grant = readRequest(in).getPayload().getStreamCredit();
+                    if (grant.getCancel()) {
+                        cancelled = true;
+                        writeChunk(out, id, "[]", true);
+                        return;
+                    }
+                    grants.add(grant.getCredit());
+                    credit += grant.getCredit();
+                }
+                maxAhead = Math.max(maxAhead, credit);
+                String events = "[{\"aggregateType\":\"person\",\"aggregateId\":\"p1\",\"eventType\":\"updated\",\"version\":" + (sent + 1) + "}]";
+                writeChunk(out, id, events, sent == totalChunks - 1);
+                credit--;
+            }
+        }
+
+        private static ControlSchemas.ControlRequest.Reader readRequest(DataInputStream in) throws IOException {
+            byte[] frame = new byte[in.readInt()];
+            in.readFully(frame);
+            return org.capnproto.Serialize.read(ByteBuffer.wrap(frame)).getRoot(ControlSchemas.ControlRequest.factory);
+        }
+
+        private static void writeChunk(DataOutputStream out, long id, String itemsJson, boolean end) throws IOException {
+            org.capnproto.MessageBuilder message = new org.capnproto.MessageBuilder();
+            ControlSchemas.ControlResponse.Builder response = message.initRoot(ControlSchemas.ControlResponse.factory);
+            response.setId(id);
+            ControlSchemas.StreamChunk.Builder chunk = response.getPayload().initStreamChunk();
+            chunk.setItemsJson(itemsJson);
+            chunk.setEndOfStream(end);
+            writeResponse(out, message);
+        }
+
+        private static void writeResponse(DataOutputStream out, org.capnproto.MessageBuilder message) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            org.capnproto.Serialize.write(Channels.newChannel(bytes), message);
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+        }
+    }
 }
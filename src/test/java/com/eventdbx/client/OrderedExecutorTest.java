@@ -0,0 +1,89 @@
+package com.eventdbx.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderedExecutorTest {
+
+    @Test
+    void runsOneAggregatesTasksInSubmissionOrder() throws Exception {
+        List<Integer> seen = new ArrayList<>();
+        try (OrderedExecutor executor = new OrderedExecutor(4)) {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                int value = i;
+                futures.add(executor.execute("person", "p1", () -> seen.add(value)));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(i, seen.get(i));
+        }
+    }
+
+    @Test
+    void otherAggregatesProceedWhileOneIsBlocked() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (OrderedExecutor executor = new OrderedExecutor(2)) {
+            CompletableFuture<Void> blocked = executor.execute("person", "p1", () -> await(release));
+            CompletableFuture<String> other = executor.submit("person", findOtherStripe(), () -> "done");
+
+            assertEquals("done", other.get(5, TimeUnit.SECONDS));
+            assertFalse(blocked.isDone());
+            release.countDown();
+            blocked.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void closeWaitsForSubmittedTasksAndRejectsNewOnes() {
+        OrderedExecutor executor = new OrderedExecutor(1);
+        CompletableFuture<String> future = executor.submit("person", "p1", () -> "done");
+
+        executor.close();
+
+        assertTrue(future.isDone());
+        assertThrows(IllegalStateException.class, () -> executor.submit("person", "p1", () -> "late"));
+    }
+
+    @Test
+    void taskRejectedByTheExecutorFailsWithoutBlockingClose() {
+        OrderedExecutor executor = new OrderedExecutor(task -> {
+            throw new RejectedExecutionException("saturated");
+        }, 4);
+
+        assertThrows(RejectedExecutionException.class, () -> executor.submit("person", "p1", () -> "never"));
+
+        executor.close();
+    }
+
+    private static String findOtherStripe() {
+        int stripes = 2 * 16;
+        int blocked = OrderedExecutor.stripe("person", "p1", stripes);
+        for (int i = 2; ; i++) {
+            if (OrderedExecutor.stripe("person", "p" + i, stripes) != blocked) {
+                return "p" + i;
+            }
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.eventdbx.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PagePublisherTest {
+
+    private final List<Integer> takes = new ArrayList<>();
+
+    /** Serves integers 0..9 from a cursor that is simply the next offset. */
+    private final BiFunction<String, Integer, Page<Integer>> fetcher = (cursor, take) -> {
+        takes.add(take);
+        int offset = cursor == null ? 0 : Integer.parseInt(cursor);
+        List<Integer> items = new ArrayList<>();
+        for (int i = offset; i < Math.min(10, offset + take); i++) {
+            items.add(i);
+        }
+        int next = offset + items.size();
+        return new Page<>(items, next >= 10 ? null : Integer.toString(next));
+    };
+
+    @Test
+    void demandDrivesPageTake() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new PagePublisher<>(fetcher, null, 4, Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(2);
+        assertEquals(List.of(0, 1), subscriber.items);
+        assertEquals(List.of(2), takes);
+
+        subscriber.subscription.request(3);
+        assertEquals(List.of(0, 1, 2, 3, 4), subscriber.items);
+        assertEquals(List.of(2, 3), takes);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertEquals(10, subscriber.items.size());
+        assertEquals(List.of(2, 3, 4, 4), takes);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void cancelStopsFetching() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new PagePublisher<>(fetcher, null, 10, Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(5);
+
+        assertEquals(List.of(0), subscriber.items);
+        assertEquals(List.of(1), takes);
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    void nonPositiveRequestSignalsError() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new PagePublisher<>(fetcher, null, 10, Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+        assertTrue(takes.isEmpty());
+    }
+
+    @Test
+    void fetchFailureSignalsError() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        new PagePublisher<Integer>((cursor, take) -> {
+            throw new EventDbxException("boom");
+        }, null, 10, Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+
+        assertInstanceOf(EventDbxException.class, subscriber.error);
+        assertFalse(subscriber.completed);
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<Integer> {
+        private final List<Integer> items = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.eventdbx.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PooledControlClientTest {
+
+    @Mock
+    ControlClient first;
+
+    @Mock
+    ControlClient second;
+
+    @Mock
+    PageStream<EventRecord> stream;
+
+    @Test
+    void streamHoldsItsConnectionUntilClosed() {
+        when(first.streamEventPages(eq("person"), eq("p1"), any(), anyInt())).thenReturn(stream);
+        AggregateSnapshot snapshot = new AggregateSnapshot("person", "p1", 1, null, "", false);
+        when(second.get("person", "p1")).thenReturn(snapshot);
+        PooledControlClient pool = new PooledControlClient(List.of(first, second), Duration.ofMillis(50));
+
+        PageStream<EventRecord> pages = pool.streamEventPages("person", "p1", PageOptions.builder().build(), 1);
+        assertSame(snapshot, pool.get("person", "p1"));
+
+        pages.close();
+        verify(stream).close();
+        assertSame(snapshot, pool.get("person", "p1"));
+    }
+
+    @Test
+    void acquireTimesOutWhenEveryConnectionIsBusy() {
+        when(first.streamEventPages(eq("person"), eq("p1"), any(), anyInt())).thenReturn(stream);
+        PooledControlClient pool = new PooledControlClient(List.of(first), Duration.ofMillis(50));
+
+        pool.streamEventPages("person", "p1", PageOptions.builder().build(), 1);
+
+        assertThrows(EventDbxException.class, () -> pool.get("person", "p1"));
+    }
+}
@@ -0,0 +1,162 @@
+package com.eventdbx.client;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecordDecoderTest {
+
+    private final RecordDecoder decoder = new RecordDecoder(new ObjectMapper(), new StringDictionary(64));
+
+    @Test
+    void decodesEventsAndSharesRepeatedStrings() {
+        byte[] json = ("["
+                + "{\"aggregateType\":\"person\",\"aggregateId\":\"p1\",\"eventType\":\"person_registered\",\"version\":1,"
+                + "\"sequence\":10,\"payload\":{\"name\":\"Jane\"},\"metadata\":{\"event_id\":\"e1\","
+                + "\"created_at\":\"2024-01-01T00:00:00Z\",\"issuedBy\":{\"group\":\"admins\",\"user\":\"jane\"}},"
+                + "\"hash\":\"h1\",\"merkleRoot\":\"m1\"},"
+                + "{\"aggregateType\":\"person\",\"aggregateId\":\"p1\",\"eventType\":\"person_registered\",\"version\":2,"
+                + "\"unknown\":{\"nested\":[1,2,3]},\"metadata\":{\"eventId\":\"e2\",\"issuedBy\":{\"group\":\"admins\",\"user\":\"jane\"},"
+                + "\"note\":\"n\"}}"
+                + "]").getBytes(StandardCharsets.UTF_8);
+
+        List<EventRecord> events = decoder.decodeEvents(json, 0, json.length);
+
+        assertEquals(2, events.size());
+        EventRecord first = events.get(0);
+        EventRecord second = events.get(1);
+        assertEquals("person", first.aggregateType());
+        assertEquals(1, first.version());
+        assertEquals(10L, first.sequence());
+        assertEquals("Jane", first.payload().path("name").asText());
+        assertEquals("e1", first.metadata().eventId());
+        assertEquals(Instant.parse("2024-01-01T00:00:00Z"), first.metadata().createdAt());
+        assertEquals("h1", first.hash());
+        assertNull(second.sequence());
+        assertTrue(second.payload().isObject());
+        assertEquals(Instant.EPOCH, second.metadata().createdAt());
+        assertEquals("n", second.metadata().note());
+
+        assertSame(first.aggregateType(), second.aggregateType());
+        assertSame(first.eventType(), second.eventType());
+        assertSame(first.aggregateId(), second.aggregateId());
+        assertSame(first.metadata().issuedBy(), second.metadata().issuedBy());
+    }
+
+    @Test
+    void decodesAggregatesWithDefaults() {
+        byte[] json = "[{\"aggregateType\":\"person\",\"aggregateId\":\"p1\",\"version\":3,\"archived\":true},{}]"
+                .getBytes(StandardCharsets.UTF_8);
+
+        List<AggregateSnapshot> aggregates = decoder.decodeAggregates(json, 0, json.length);
+
+        assertEquals(2, aggregates.size());
+        assertEquals(3, aggregates.get(0).version());
+        assertTrue(aggregates.get(0).archived());
+        assertTrue(aggregates.get(0).state().isObject());
+        assertEquals("", aggregates.get(0).merkleRoot());
+        assertEquals("", aggregates.get(1).aggregateId());
+    }
+
+    @Test
+    void decodesEventsIntoColumns() {
+        byte[] json = ("["
+                + "{\"eventType\":\"created\",\"version\":1,\"sequence\":7,\"payload\":{\"name\":\"Jane\"},"
+                + "\"metadata\":{\"createdAt\":\"2024-01-01T00:00:00Z\"}},"
+                + "{\"eventType\":\"renamed\",\"version\":2,\"payload\":\"text\"},"
+                + "{\"eventType\":\"created\",\"version\":3}"
+                + "]").getBytes(StandardCharsets.UTF_8);
+
+        EventBatch batch = decoder.decodeEventBatch("person", "p1", json, 0, json.length, "next");
+
+        assertEquals(3, batch.size());
+        assertEquals(List.of("created", "renamed"), batch.eventTypes());
+        assertEquals(0, batch.eventTypeCode(0));
+        assertEquals(1, batch.eventTypeCode(1));
+        assertEquals(0, batch.eventTypeCode(2));
+        assertEquals(7, batch.sequence(0));
+        assertEquals(EventBatch.NO_SEQUENCE, batch.sequence(1));
+        assertEquals(Instant.parse("2024-01-01T00:00:00Z").toEpochMilli(), batch.createdAtMillis(0));
+        assertEquals(0, batch.createdAtMillis(1));
+        assertEquals(3, batch.version(2));
+        assertEquals("{\"name\":\"Jane\"}", utf8(batch.payload(0)));
+        assertEquals("\"text\"", utf8(batch.payload(1)));
+        assertEquals("{}", utf8(batch.payload(2)));
+        assertEquals(batch.payloadOffset(1), batch.payloadOffset(0) + batch.payloadLength(0));
+        assertEquals("next", batch.nextCursor());
+    }
+
+    @Test
+    void parallelDecodePreservesOrder() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 5000; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"eventType\":\"e").append(i % 3).append("\",\"version\":").append(i)
+                    .append(",\"payload\":{\"text\":\"a,]}\\\\\\\"[{\",\"nested\":[1,{\"x\":[]}]}}");
+        }
+        json.append(']');
+        byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            RecordDecoder parallel = new RecordDecoder(new ObjectMapper(), new StringDictionary(64), pool, 1);
+
+            List<EventRecord> expected = decoder.decodeEvents(bytes, 0, bytes.length);
+            List<EventRecord> actual = parallel.decodeEvents(bytes, 0, bytes.length);
+
+            assertTrue(RecordDecoder.splitArray(bytes, 0, bytes.length, 64 * 1024).size() > 1);
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(i, actual.get(i).version());
+                assertEquals(expected.get(i).payload(), actual.get(i).payload());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void splitArrayRejectsIncompleteDocuments() {
+        assertNull(RecordDecoder.splitArray("[1,2".getBytes(StandardCharsets.UTF_8), 0, 4, 1));
+        assertEquals(3, RecordDecoder.splitArray("[1,2,3]".getBytes(StandardCharsets.UTF_8), 0, 7, 1).size());
+        assertTrue(RecordDecoder.splitArray("[ ]".getBytes(StandardCharsets.UTF_8), 0, 3, 1).isEmpty());
+    }
+
+    @Test
+    void nonArrayDocumentsDecodeAsEmptyPages() {
+        byte[] json = "{}".getBytes(StandardCharsets.UTF_8);
+
+        assertTrue(decoder.decodeEvents(json, 0, json.length).isEmpty());
+        assertTrue(decoder.decodeAggregates(new byte[0], 0, 0).isEmpty());
+    }
+
+    @Test
+    void dictionaryCanBeDisabled() {
+        RecordDecoder plain = new RecordDecoder(new ObjectMapper(), new StringDictionary(0));
+        byte[] json = "[{\"eventType\":\"a\"},{\"eventType\":\"a\"}]".getBytes(StandardCharsets.UTF_8);
+
+        List<EventRecord> events = plain.decodeEvents(json, 0, json.length);
+
+        assertEquals(events.get(0).eventType(), events.get(1).eventType());
+        assertNotSame(events.get(0).eventType(), events.get(1).eventType());
+    }
+
+    private static String utf8(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
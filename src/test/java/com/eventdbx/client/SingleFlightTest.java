@@ -0,0 +1,69 @@
+package com.eventdbx.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentCallersShareOneCall() throws Exception {
+        SingleFlight flight = new SingleFlight();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Object result = new Object();
+        AtomicReference<Object> leaderResult = new AtomicReference<>();
+        AtomicReference<Object> followerResult = new AtomicReference<>();
+
+        Thread leader = new Thread(() -> leaderResult.set(flight.run("k", () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return result;
+        })));
+        leader.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread follower = new Thread(() -> followerResult.set(flight.run("k", () -> {
+            calls.incrementAndGet();
+            return new Object();
+        })));
+        follower.start();
+        while (follower.getState() != Thread.State.WAITING && follower.isAlive()) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        leader.join(5_000);
+        follower.join(5_000);
+
+        assertSame(result, leaderResult.get());
+        assertSame(result, followerResult.get());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void failuresPropagateAndAreNotRemembered() {
+        SingleFlight flight = new SingleFlight();
+
+        assertThrows(EventDbxException.class, () -> flight.run("k", () -> {
+            throw new EventDbxException("boom");
+        }));
+        assertEquals("ok", flight.run("k", () -> "ok"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
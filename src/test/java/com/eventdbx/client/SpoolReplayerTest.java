@@ -0,0 +1,60 @@
+package com.eventdbx.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SpoolReplayerTest {
+
+    @Mock
+    ControlClient controlClient;
+
+    @Test
+    void batchRejectedAsAWholeIsReplayedOneWriteAtATime(@TempDir Path directory) throws Exception {
+        when(controlClient.batch(anyList())).thenAnswer(invocation -> {
+            List<BatchOperation> operations = invocation.getArgument(0);
+            if (operations.size() > 1) {
+                throw new EventDbxException("Batch response has 1 results for " + operations.size() + " requests");
+            }
+            BatchOperation operation = operations.get(0);
+            return List.of(operation.aggregateId().equals("p2")
+                    ? BatchResult.failure(operation, new EventDbxException("invalid event"))
+                    : BatchResult.success(operation, null));
+        });
+        List<BatchResult> replayed = new CopyOnWriteArrayList<>();
+        Path rejected = directory.resolve("rejected.ndjson");
+        try (WriteSpool spool = new WriteSpool(directory, 1024 * 1024)) {
+            spool.append(BatchOperation.append("person", "p1", "renamed", null));
+            spool.append(BatchOperation.append("person", "p2", "renamed", null));
+            spool.append(BatchOperation.append("person", "p3", "renamed", null));
+            SpoolReplayer replayer = new SpoolReplayer(spool, controlClient, RetryPolicy.builder().build(), rejected, replayed::add);
+
+            replayer.wake();
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (spool.pending() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            replayer.stop();
+
+            assertEquals(0, spool.pending());
+        }
+
+        assertEquals(List.of("p1", "p3"), replayed.stream().map(result -> result.operation().aggregateId()).toList());
+        List<String> lines = Files.readAllLines(rejected);
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains("\"p2\""));
+    }
+}
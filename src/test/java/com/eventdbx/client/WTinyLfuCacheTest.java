@@ -0,0 +1,56 @@
+package com.eventdbx.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WTinyLfuCacheTest {
+
+    @Test
+    void staysWithinWeightBudget() {
+        WTinyLfuCache<String, Long> cache = new WTinyLfuCache<>(1_000, 100, Long::longValue);
+        for (int i = 0; i < 500; i++) {
+            cache.put("k" + i, 10L);
+        }
+
+        assertTrue(cache.weight() <= 1_000);
+        assertEquals(100, cache.size());
+        assertEquals(400, cache.evictions());
+    }
+
+    @Test
+    void frequentEntriesSurviveOneOffScan() {
+        WTinyLfuCache<String, Long> cache = new WTinyLfuCache<>(1_000, 100, Long::longValue);
+        for (int i = 0; i < 50; i++) {
+            cache.put("hot" + i, 10L);
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                assertNotNull(cache.get("hot" + i));
+            }
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.put("scan" + i, 10L);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            assertNotNull(cache.peek("hot" + i), "hot" + i);
+        }
+    }
+
+    @Test
+    void rejectsEntriesLargerThanBudget() {
+        WTinyLfuCache<String, Long> cache = new WTinyLfuCache<>(100, 10, Long::longValue);
+        cache.put("small", 10L);
+        cache.put("small", 1_000L);
+        cache.put("huge", 1_000L);
+
+        assertNull(cache.peek("small"));
+        assertNull(cache.peek("huge"));
+        assertEquals(0, cache.weight());
+    }
+}
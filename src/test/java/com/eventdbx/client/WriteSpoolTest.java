@@ -0,0 +1,57 @@
+package com.eventdbx.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteSpoolTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void unacknowledgedWritesSurviveReopenInOrder(@TempDir Path directory) throws Exception {
+        try (WriteSpool spool = new WriteSpool(directory, 1024 * 1024)) {
+            spool.append(BatchOperation.append("person", "p1", "renamed",
+                    AppendOptions.builder().payload(mapper.createObjectNode().put("name", "Ada")).note("first").build()));
+            spool.append(BatchOperation.create("person", "p2", "created", null));
+            spool.append(BatchOperation.patch("person", "p1", "patched",
+                    List.of(new JsonPatchOperation("replace", "/name", null, mapper.valueToTree("Grace"))), null));
+            spool.acknowledge(spool.peek(1));
+        }
+
+        try (WriteSpool spool = new WriteSpool(directory, 1024 * 1024)) {
+            List<WriteSpool.Entry> entries = spool.peek(10);
+
+            assertEquals(2, spool.pending());
+            assertEquals(List.of("created", "patched"), entries.stream().map(entry -> entry.operation.eventType()).toList());
+            assertEquals("/name", entries.get(1).operation.operations().get(0).path());
+            assertTrue(spool.hasPending("person", "p1"));
+
+            spool.acknowledge(entries);
+            assertEquals(0, spool.pending());
+            assertFalse(spool.hasPending("person", "p1"));
+        }
+    }
+
+    @Test
+    void refusesWritesBeyondItsBudget(@TempDir Path directory) throws Exception {
+        try (WriteSpool spool = new WriteSpool(directory, 64 * 1024)) {
+            AppendOptions options = AppendOptions.builder().payload(mapper.createObjectNode().put("blob", "x".repeat(1000))).build();
+
+            assertThrows(EventDbxException.class, () -> {
+                for (int i = 0; i < 100; i++) {
+                    spool.append(BatchOperation.append("person", "p1", "renamed", options));
+                }
+            });
+        }
+    }
+}